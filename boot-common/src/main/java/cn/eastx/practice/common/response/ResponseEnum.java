@@ -33,6 +33,7 @@ public enum ResponseEnum implements IResponseAssert{
 
     /** 当前系统业务错误码 */
     SERVER_ERROR("B0001", "服务异常"),
+    SERVER_BUSY("B0002", "服务繁忙，请稍后重试"),
 
     /** 第三方服务错误码 */
     REMOTE_ERROR("C0001", "远程服务调用异常:{}"),
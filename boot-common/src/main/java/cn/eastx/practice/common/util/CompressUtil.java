@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.zip.GZIPInputStream;
@@ -98,4 +99,19 @@ public class CompressUtil {
         return JsonUtil.defFacade().parseObject(jsonStr, clazz);
     }
 
+    /**
+     * 输入流解压缩为对象
+     *  边读取边解码、解压、反序列化，不生成完整的解压字符串，适用于大对象
+     *
+     * @param compressedIn 压缩字符串字节输入流
+     * @param clazz 对象类型
+     * @return 解压后的对象
+     * @throws IOException 读取、解压或解析失败
+     */
+    public static <T> T uncompressObj(InputStream compressedIn, Class<T> clazz) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(Base64.getDecoder().wrap(compressedIn))) {
+            return JsonUtil.defFacade().getObjectMapper().readValue(gzip, clazz);
+        }
+    }
+
 }
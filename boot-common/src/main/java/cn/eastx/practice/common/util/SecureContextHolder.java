@@ -16,6 +16,8 @@ public class SecureContextHolder {
 
     public static final String TRACE_ID = "secure_trace_id";
 
+    public static final String TENANT_ID = "secure_tenant_id";
+
     private static final TransmittableThreadLocal<Map<String, Object>> THREAD_LOCAL = new TransmittableThreadLocal<>();
 
     public static String get(String key) {
@@ -75,4 +77,18 @@ public class SecureContextHolder {
     public static void setTraceId(String traceId) {
         set(TRACE_ID, traceId);
     }
+
+    /**
+     * 获取租户ID
+     */
+    public static String getTenantId() {
+        return get(TENANT_ID);
+    }
+
+    /**
+     * 设置租户ID
+     */
+    public static void setTenantId(String tenantId) {
+        set(TENANT_ID, tenantId);
+    }
 }
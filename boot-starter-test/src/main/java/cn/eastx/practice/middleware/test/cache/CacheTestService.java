@@ -1,5 +1,7 @@
 package cn.eastx.practice.middleware.test.cache;
 
+import cn.eastx.practice.middleware.cache.L2CacheBreaker;
+import cn.eastx.practice.middleware.cache.MethodCacheEvict;
 import cn.eastx.practice.middleware.cache.MethodCacheable;
 import org.apache.commons.lang3.RandomUtils;
 import org.slf4j.Logger;
@@ -7,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 缓存测试业务
@@ -19,6 +22,11 @@ public class CacheTestService {
 
     private Logger logger = LoggerFactory.getLogger(CacheTestService.class);
 
+    /**
+     * {@link #rejected(Long)} 执行次数
+     */
+    private final AtomicInteger rejectedCount = new AtomicInteger();
+
     /**
      * 测试 DEFAULT 格式 key 缓存
      *  key=aop:method:cache:hello-world
@@ -132,4 +140,61 @@ public class CacheTestService {
         return "custom:default:" + id;
     }
 
+    /**
+     * 测试 命名空间 缓存
+     *  key=test:namespace:{版本号}:custom:namespace:10086
+     *
+     * @param id 传入id
+     * @return 返回结果
+     */
+    @MethodCacheable(key = "custom:namespace:${#id}", namespace = "test:namespace", useLocal = true)
+    public String namespace(Long id) {
+        id += RandomUtils.nextLong();
+        logger.info("custom:namespace:{}", id);
+        return "custom:namespace:" + id;
+    }
+
+    /**
+     * 测试 标签 缓存
+     *  key=custom:tag:10086 ，tag=test:tag:10086
+     *
+     * @param id 传入id
+     * @return 返回结果
+     */
+    @MethodCacheable(key = "custom:tag:${#id}", tags = "test:tag:${#id}", useLocal = true)
+    public String tag(Long id) {
+        id += RandomUtils.nextLong();
+        logger.info("custom:tag:{}", id);
+        return "custom:tag:" + id;
+    }
+
+    /**
+     * 测试 标签 缓存失效
+     *  tag=test:tag:10086
+     *
+     * @param id 传入id
+     */
+    @MethodCacheEvict(tags = "test:tag:${#id}")
+    public void evictTag(Long id) {
+        logger.info("custom:evict-tag:{}", id);
+    }
+
+    /**
+     * 测试 方法自身抛出熔断拒绝异常，不应触发降级重复执行
+     *  key=aop:method:cache:custom:rejected:10086
+     *
+     * @param id 传入id
+     * @return 返回结果
+     */
+    @MethodCacheable(key = "custom:rejected:${#id}", useLocal = false)
+    public String rejected(Long id) {
+        rejectedCount.incrementAndGet();
+        logger.info("custom:rejected:{}", id);
+        throw new L2CacheBreaker.RejectedException("business", null);
+    }
+
+    public int getRejectedCount() {
+        return rejectedCount.get();
+    }
+
 }
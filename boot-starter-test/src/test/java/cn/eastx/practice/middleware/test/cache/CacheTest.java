@@ -1,8 +1,19 @@
 package cn.eastx.practice.middleware.test.cache;
 
 import cn.eastx.practice.common.util.JsonUtil;
+import cn.eastx.practice.middleware.cache.CacheProperties;
+import cn.eastx.practice.middleware.cache.L2CacheBreaker;
+import cn.eastx.practice.middleware.cache.L2CacheAccessRecorder;
+import cn.eastx.practice.middleware.cache.L2CacheBucketUtil;
+import cn.eastx.practice.middleware.cache.L2CacheReplicaRouter;
+import cn.eastx.practice.middleware.cache.L2CacheSimulator;
+import cn.eastx.practice.middleware.cache.L2CacheUtil;
 import cn.eastx.practice.middleware.cache.LocalCacheUtil;
 import cn.eastx.practice.middleware.cache.RedisUtil;
+import cn.eastx.practice.middleware.cache.tier.CacheTier;
+import cn.eastx.practice.middleware.cache.tier.CacheTierChain;
+import cn.eastx.practice.middleware.cache.tier.CacheTierPolicy;
+import cn.hutool.core.util.RandomUtil;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,8 +22,16 @@ import org.springframework.util.Assert;
 
 import javax.annotation.Resource;
 import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 缓存相关测试
@@ -50,6 +69,289 @@ public class CacheTest {
         logger.debug("localCacheMap={}", LocalCacheUtil.getCache().asMap());
     }
 
+    @Test
+    public void test_namespace_invalidate() {
+        String res1 = cacheTestService.namespace(10086L);
+        String res2 = cacheTestService.namespace(10086L);
+        logger.debug("res1={}, res2={}", res1, res2);
+        Assert.isTrue(Objects.equals(res1, res2), "两次执行返回不一致");
+
+        long gen = L2CacheUtil.invalidateNamespace("test:namespace");
+        String res3 = cacheTestService.namespace(10086L);
+        logger.debug("gen={}, res3={}", gen, res3);
+        Assert.isTrue(!Objects.equals(res1, res3), "命名空间失效后返回仍一致");
+    }
+
+    @Test
+    public void test_tag_evict() {
+        String res1 = cacheTestService.tag(10086L);
+        String res2 = cacheTestService.tag(10086L);
+        logger.debug("res1={}, res2={}", res1, res2);
+        Assert.isTrue(Objects.equals(res1, res2), "两次执行返回不一致");
+
+        cacheTestService.evictTag(10086L);
+        Assert.isTrue(LocalCacheUtil.get("custom:tag:10086") == null, "标签失效后本地缓存仍存在");
+        String res3 = cacheTestService.tag(10086L);
+        logger.debug("res3={}", res3);
+        Assert.isTrue(!Objects.equals(res1, res3), "标签失效后返回仍一致");
+    }
+
+    @Test
+    public void test_tag_prune_bucket() {
+        CacheProperties.Bucket bucket = new CacheProperties.Bucket();
+        bucket.setEnabled(true);
+        new CacheProperties().setBucket(bucket);
+        new CacheProperties().setTagMaxSize(1);
+        L2CacheUtil.Config config = L2CacheUtil.Config.builder().useL1(false).bucket(true).build();
+        String tagKey = "l2:cache:tag:test:tag:prune";
+        try {
+            L2CacheUtil.set("test:tag:prune:bucket", "ok", 60, config);
+            // 标签下 key 数量超出上限时清理，分桶中的 key 不被清理，不存在的 key 被清理
+            L2CacheUtil.addTags(Arrays.asList("test:tag:prune"),
+                    Arrays.asList("test:tag:prune:bucket", "test:tag:prune:missing"), 60);
+            Assert.isTrue(Boolean.TRUE.equals(RedisUtil.strOpsSet().isMember(tagKey, "test:tag:prune:bucket")),
+                    "分桶中的 key 被清理");
+            Assert.isTrue(!Boolean.TRUE.equals(RedisUtil.strOpsSet().isMember(tagKey, "test:tag:prune:missing")),
+                    "不存在的 key 未清理");
+
+            L2CacheUtil.evictTags(Arrays.asList("test:tag:prune"));
+            Assert.isTrue(L2CacheUtil.get("test:tag:prune:bucket", config) == null, "标签失效后分桶中的 key 仍存在");
+        } finally {
+            L2CacheUtil.delete(Arrays.asList("test:tag:prune:bucket", tagKey));
+            new CacheProperties().setTagMaxSize(10000);
+            new CacheProperties().setBucket(new CacheProperties.Bucket());
+        }
+    }
+
+    @Test
+    public void test_access_simulate() throws Exception {
+        Path path = Files.createTempFile("l2cache-access", ".bin");
+        CacheProperties.Recorder config = new CacheProperties.Recorder();
+        config.setPath(path.toString());
+        new CacheProperties().setRecorder(config);
+
+        L2CacheAccessRecorder recorder = new L2CacheAccessRecorder();
+        recorder.start();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                // 少量热点 key + 大量冷 key
+                String key = "test:simulate:" + (i % 2 == 0 ? i % 10 : i);
+                if (L2CacheUtil.get(key) == null) {
+                    L2CacheUtil.set(key, i, 60);
+                }
+            }
+        } finally {
+            recorder.stop();
+            new CacheProperties().setRecorder(new CacheProperties.Recorder());
+        }
+
+        List<L2CacheSimulator.Result> results = L2CacheSimulator.simulate(path, Arrays.asList(
+                L2CacheSimulator.Config.parse("name=small,localMaxSize=5"),
+                L2CacheSimulator.Config.parse("name=large,localMaxSize=1000,policy=LRU")));
+        results.forEach(result -> logger.debug("{}", result));
+        Assert.isTrue(results.get(0).getRequests() == 1000, "记录的读取次数不一致");
+        Assert.isTrue(results.get(1).getLocalHitRatio() >= results.get(0).getLocalHitRatio(),
+                "本地缓存数量增大后命中率降低");
+        Files.deleteIfExists(path);
+    }
+
+    @Test
+    public void test_cost_local_admission() {
+        CacheProperties.Cost config = new CacheProperties.Cost();
+        config.setEnabled(true);
+        config.setLocalMinLatency(0L);
+        new CacheProperties().setCost(config);
+        try {
+            LocalCacheUtil.clear();
+            // 未开启本地缓存的方法加载后准入本地缓存，之后读取本地缓存
+            long id = RandomUtil.randomLong(100000L, Long.MAX_VALUE);
+            String res1 = cacheTestService.methodParam(id);
+            Assert.isTrue(LocalCacheUtil.getCache().asMap().keySet().stream()
+                    .anyMatch(key -> key.contains(String.valueOf(id))), "准入后未写入本地缓存");
+            String res2 = cacheTestService.methodParam(id);
+            logger.debug("res1={}, res2={}", res1, res2);
+            Assert.isTrue(Objects.equals(res1, res2), "两次执行返回不一致");
+        } finally {
+            new CacheProperties().setCost(new CacheProperties.Cost());
+        }
+    }
+
+    @Test
+    public void test_bucket_size() {
+        CacheProperties.Bucket config = new CacheProperties.Bucket();
+        config.setEnabled(true);
+        config.setExpectedKeys(96000L);
+        Assert.isTrue(config.getActualBucketNum() == 1000, "分桶数量未按预计缓存数量计算");
+        config.setBucketNum(16);
+        Assert.isTrue(config.getActualBucketNum() == 16, "指定的分桶数量未生效");
+        config.setMaxValueSize(64);
+
+        new CacheProperties().setBucket(config);
+        try {
+            // 多字节字符按 UTF-8 字节计算，超出时使用普通 key 存储
+            Assert.isTrue(L2CacheBucketUtil.set(Arrays.asList("test:bucket:small"), "ok", 60),
+                    "小值未写入分桶");
+            String wideVal = "缓存值缓存值缓存值缓存值缓存值缓存值缓存值缓存值";
+            Assert.isTrue(!L2CacheBucketUtil.set(Arrays.asList("test:bucket:wide"), wideVal, 60),
+                    "超出分桶大小的值写入了分桶");
+            Assert.isTrue(L2CacheBucketUtil.get("test:bucket:wide") == null, "超出分桶大小的值未清除");
+            Assert.isTrue(L2CacheBucketUtil.get("test:bucket:small") != null, "分桶读取失败");
+        } finally {
+            L2CacheBucketUtil.delete(Arrays.asList("test:bucket:small", "test:bucket:wide"));
+            new CacheProperties().setBucket(new CacheProperties.Bucket());
+        }
+    }
+
+    @Test
+    public void test_chunk_replace() {
+        CacheProperties.Chunk config = new CacheProperties.Chunk();
+        config.setThreshold(16);
+        config.setSize(16);
+        new CacheProperties().setChunk(config);
+        String key = "test:chunk:replace";
+        String refKey = "l2:cache:chunk:ref:" + key;
+        try {
+            L2CacheUtil.set(key, RandomUtil.randomString(256), 60);
+            String ref = RedisUtil.strOpsValue().get(refKey);
+            Assert.isTrue(ref != null, "分块引用未记录");
+
+            // 替换后旧分块只保留较短时长
+            String value = RandomUtil.randomString(256);
+            L2CacheUtil.set(key, value, 60);
+            String oldChunkKey = "{l2:cache:chunk:" + ref.substring(0, ref.lastIndexOf(':')) + "}:0";
+            Long oldTtl = RedisUtil.strTemplate().getExpire(oldChunkKey);
+            logger.debug("oldChunkKey={}, oldTtl={}", oldChunkKey, oldTtl);
+            Assert.isTrue(oldTtl != null && oldTtl <= 5, "替换后旧分块未回收");
+            LocalCacheUtil.delete(key);
+            Assert.isTrue(Objects.equals(value, L2CacheUtil.get(key)), "分块读取结果不一致");
+
+            // 删除后分块只保留较短时长
+            ref = RedisUtil.strOpsValue().get(refKey);
+            L2CacheUtil.delete(key);
+            String chunkKey = "{l2:cache:chunk:" + ref.substring(0, ref.lastIndexOf(':')) + "}:0";
+            Long chunkTtl = RedisUtil.strTemplate().getExpire(chunkKey);
+            Assert.isTrue(chunkTtl != null && chunkTtl <= 5, "删除后分块未回收");
+            Assert.isTrue(RedisUtil.strOpsValue().get(refKey) == null, "删除后分块引用仍存在");
+
+            // 非分块存储的值不记录分块引用
+            config.setThreshold(1024 * 1024);
+            L2CacheUtil.set(key, value, 60);
+            Assert.isTrue(RedisUtil.strOpsValue().get(refKey) == null, "非分块存储的值记录了分块引用");
+        } finally {
+            L2CacheUtil.delete(key);
+            new CacheProperties().setChunk(new CacheProperties.Chunk());
+        }
+    }
+
+    @Test
+    public void test_business_rejected() {
+        long id = RandomUtil.randomLong(100000L, Long.MAX_VALUE);
+        int count = cacheTestService.getRejectedCount();
+        try {
+            cacheTestService.rejected(id);
+            Assert.isTrue(false, "方法异常未抛出");
+        } catch (L2CacheBreaker.RejectedException e) {
+            logger.debug("rejected, e={}", e.getMessage());
+        } finally {
+            L2CacheUtil.delete("custom:rejected:" + id);
+        }
+
+        // 方法自身抛出的熔断拒绝异常不触发降级，方法只执行一次
+        Assert.isTrue(cacheTestService.getRejectedCount() == count + 1, "方法被重复执行");
+    }
+
+    @Test
+    public void test_replica_local_ttl() throws InterruptedException {
+        String key = "test:replica:local:" + RandomUtil.randomString(8);
+        // 从节点落后 1s ，允许最大延迟 3s ，本地缓存最多保留 2s
+        long ttl = L2CacheReplicaRouter.localTtl(3L, 1L, 600L);
+        Assert.isTrue(ttl == 2L, "本地缓存时长未按复制延迟限制");
+        // 从节点落后已达到允许的最大延迟，不写入本地缓存
+        Assert.isTrue(L2CacheReplicaRouter.localTtl(3L, 3L, 600L) <= 0L, "落后超过允许延迟仍写入本地缓存");
+        // 主节点读取不限制
+        Assert.isTrue(L2CacheReplicaRouter.localTtl(RedisUtil.defTemplate(), 3L, 600L) == 600L, "主节点读取被限制");
+
+        // 失效通知先于从节点旧值到达，旧值写入本地缓存
+        L2CacheUtil.delete(key);
+        LocalCacheUtil.set(key, "old", ttl);
+        Assert.isTrue(Objects.equals("old", LocalCacheUtil.get(key)), "写入本地缓存失败");
+
+        // 超过允许的最大延迟后旧值不再由本地缓存提供
+        Thread.sleep(TimeUnit.SECONDS.toMillis(3L - 1L) + 200L);
+        Assert.isTrue(LocalCacheUtil.get(key) == null, "失效后旧值在本地缓存中保留超过允许的最大延迟");
+    }
+
+    @Test
+    public void test_tier_write_order() {
+        List<String> writeList = new ArrayList<>();
+        MapTier top = new MapTier("top", 0, false, writeList);
+        MapTier broken = new MapTier("broken", 100, true, writeList);
+        MapTier bottom = new MapTier("bottom", 200, false, writeList);
+        CacheTierChain chain = new CacheTierChain(Arrays.asList(top, bottom, broken));
+
+        broken.map.put("test:tier", "old");
+        chain.set("test:tier", "new", 60);
+        // 由下往上依次写入，写入失败的层级清除旧值
+        Assert.isTrue(Objects.equals(Arrays.asList("bottom", "broken", "top"), writeList), "写入顺序不一致");
+        Assert.isTrue(!broken.map.containsKey("test:tier"), "写入失败的层级旧值未清除");
+
+        top.map.clear();
+        Assert.isTrue(Objects.equals("new", chain.get("test:tier")), "读取下层失败");
+        Assert.isTrue(Objects.equals("new", top.map.get("test:tier")), "未回填到上层");
+    }
+
+    /**
+     * 测试用缓存层级，可模拟写入失败
+     */
+    private static class MapTier implements CacheTier {
+        private final String name;
+        private final int order;
+        private final boolean failSet;
+        private final List<String> writeList;
+        private final Map<String, Object> map = new HashMap<>();
+
+        MapTier(String name, int order, boolean failSet, List<String> writeList) {
+            this.name = name;
+            this.order = order;
+            this.failSet = failSet;
+            this.writeList = writeList;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public CacheTierPolicy getPolicy() {
+            return CacheTierPolicy.builder().build();
+        }
+
+        @Override
+        public int getOrder() {
+            return order;
+        }
+
+        @Override
+        public Object get(String key) {
+            return map.get(key);
+        }
+
+        @Override
+        public void set(String key, Object value, long duration) {
+            writeList.add(name);
+            if (failSet) {
+                throw new IllegalStateException("set failed");
+            }
+            map.put(key, value);
+        }
+
+        @Override
+        public void delete(String key) {
+            map.remove(key);
+        }
+    }
+
     /**
      * 校验处理
      *
@@ -0,0 +1,41 @@
+package cn.eastx.practice.middleware.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存指标导出到 Micrometer
+ *  注意：需要引入依赖 io.micrometer:micrometer-core
+ *
+ * @see CacheMetrics 缓存指标工具类
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class CacheMeterBinder implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheMetrics.setListener(new CacheMetrics.MeterListener() {
+            @Override
+            public void onCounter(CacheMetrics.MeterId id, LongAdder adder) {
+                FunctionCounter.builder(id.getName(), adder, LongAdder::doubleValue)
+                        .tags(id.getTags())
+                        .register(registry);
+            }
+
+            @Override
+            public void onGauge(CacheMetrics.MeterId id, AtomicLong gauge) {
+                Gauge.builder(id.getName(), gauge, AtomicLong::doubleValue)
+                        .tags(id.getTags())
+                        .register(registry);
+            }
+        });
+    }
+
+}
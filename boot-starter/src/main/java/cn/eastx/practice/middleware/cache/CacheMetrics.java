@@ -0,0 +1,195 @@
+package cn.eastx.practice.middleware.cache;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 缓存指标工具类
+ *  记录计数器与瞬时值，不依赖具体指标实现
+ *  引入 Micrometer 时通过 {@link CacheMeterBinder} 导出
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class CacheMetrics {
+
+    /** 计数器 */
+    private static final Map<MeterId, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    /** 瞬时值 */
+    private static final Map<MeterId, AtomicLong> GAUGES = new ConcurrentHashMap<>();
+
+    /** 指标注册监听，新指标创建时回调 */
+    private static volatile MeterListener listener;
+
+    private CacheMetrics() {}
+
+    /**
+     * 计数器加一
+     *
+     * @param name 指标名称
+     * @param tags 指标标签，按 key、value 交替排列
+     */
+    public static void increment(String name, String... tags) {
+        add(name, 1L, tags);
+    }
+
+    /**
+     * 计数器增加指定值
+     *
+     * @param name 指标名称
+     * @param delta 增加值
+     * @param tags 指标标签，按 key、value 交替排列
+     */
+    public static void add(String name, long delta, String... tags) {
+        MeterId id = new MeterId(name, tags);
+        LongAdder adder = COUNTERS.get(id);
+        if (adder == null) {
+            LongAdder newAdder = new LongAdder();
+            adder = COUNTERS.putIfAbsent(id, newAdder);
+            if (adder == null) {
+                adder = newAdder;
+                notifyCounter(id, adder);
+            }
+        }
+
+        adder.add(delta);
+    }
+
+    /**
+     * 设置瞬时值
+     *
+     * @param name 指标名称
+     * @param value 瞬时值
+     * @param tags 指标标签，按 key、value 交替排列
+     */
+    public static void gauge(String name, long value, String... tags) {
+        MeterId id = new MeterId(name, tags);
+        AtomicLong gauge = GAUGES.get(id);
+        if (gauge == null) {
+            AtomicLong newGauge = new AtomicLong();
+            gauge = GAUGES.putIfAbsent(id, newGauge);
+            if (gauge == null) {
+                gauge = newGauge;
+                notifyGauge(id, gauge);
+            }
+        }
+
+        gauge.set(value);
+    }
+
+    /**
+     * 获取所有指标当前值
+     *
+     * @return 指标标识与值对应Map
+     */
+    public static Map<String, Long> snapshot() {
+        Map<String, Long> resultMap = new TreeMap<>();
+        COUNTERS.forEach((id, adder) -> resultMap.put(id.toString(), adder.sum()));
+        GAUGES.forEach((id, gauge) -> resultMap.put(id.toString(), gauge.get()));
+        return resultMap;
+    }
+
+    /**
+     * 设置指标注册监听，已存在的指标会立即回调
+     *
+     * @param meterListener 指标注册监听
+     */
+    public static synchronized void setListener(MeterListener meterListener) {
+        listener = meterListener;
+        COUNTERS.forEach(meterListener::onCounter);
+        GAUGES.forEach(meterListener::onGauge);
+    }
+
+    private static void notifyCounter(MeterId id, LongAdder adder) {
+        MeterListener theListener = listener;
+        if (theListener != null) {
+            theListener.onCounter(id, adder);
+        }
+    }
+
+    private static void notifyGauge(MeterId id, AtomicLong gauge) {
+        MeterListener theListener = listener;
+        if (theListener != null) {
+            theListener.onGauge(id, gauge);
+        }
+    }
+
+    /**
+     * 指标注册监听
+     */
+    public interface MeterListener {
+
+        /**
+         * 计数器创建
+         */
+        void onCounter(MeterId id, LongAdder adder);
+
+        /**
+         * 瞬时值创建
+         */
+        void onGauge(MeterId id, AtomicLong gauge);
+
+    }
+
+    /**
+     * 指标标识
+     */
+    public static class MeterId {
+        /**
+         * 指标名称
+         */
+        private final String name;
+        /**
+         * 指标标签，按 key、value 交替排列
+         */
+        private final String[] tags;
+
+        public MeterId(String name, String[] tags) {
+            this.name = name;
+            this.tags = tags;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String[] getTags() {
+            return tags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            MeterId meterId = (MeterId) o;
+            return name.equals(meterId.name) && Arrays.equals(tags, meterId.tags);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * name.hashCode() + Arrays.hashCode(tags);
+        }
+
+        @Override
+        public String toString() {
+            if (tags.length == 0) {
+                return name;
+            }
+
+            StringJoiner joiner = new StringJoiner(",", name + "{", "}");
+            for (int i = 0; i + 1 < tags.length; i += 2) {
+                joiner.add(tags[i] + "=" + tags[i + 1]);
+            }
+
+            return joiner.toString();
+        }
+    }
+
+}
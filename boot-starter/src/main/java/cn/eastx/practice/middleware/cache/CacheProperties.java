@@ -4,6 +4,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 缓存相关配置
  *
@@ -19,6 +24,38 @@ public class CacheProperties {
     private static Integer localMaxSize = 500;
     /** 本地缓存最长过期时间，单位分钟 */
     private static Integer localMaxTtl = 5;
+    /** 单个缓存标签最多记录的缓存 key 数量，超出将清理已失效的 key */
+    private static Integer tagMaxSize = 10000;
+    /** 逻辑过期缓存在逻辑时长基础上额外延长的物理过期时长，单位秒 */
+    private static Long logicalExtraTtl = 86400L;
+    /** 方法缓存成本感知策略 */
+    private static Cost cost = new Cost();
+    /** 本地缓存内存压力自适应配置 */
+    private static LocalMemory localMemory = new LocalMemory();
+    /** 节点间本地缓存分片配置 */
+    private static Peer peer = new Peer();
+    /** 大值分块存储配置 */
+    private static Chunk chunk = new Chunk();
+    /** 小值分桶存储配置 */
+    private static Bucket bucket = new Bucket();
+    /** 多级缓存链配置 */
+    private static Tier tier = new Tier();
+    /** Redis 缓存熔断配置 */
+    private static Breaker breaker = new Breaker();
+    /** Redis 从节点读取配置 */
+    private static Replica replica = new Replica();
+    /** Redis 连接策略配置 */
+    private static Connection connection = new Connection();
+    /** 服务端辅助失效配置 */
+    private static Tracking tracking = new Tracking();
+    /** 失效日志配置 */
+    private static InvalidationLog invalidationLog = new InvalidationLog();
+    /** 本地缓存租户分区配置 */
+    private static Tenant tenant = new Tenant();
+    /** 缓存决策跟踪配置 */
+    private static Trace trace = new Trace();
+    /** 两级缓存访问记录配置 */
+    private static Recorder recorder = new Recorder();
 
     public static Integer getLocalMaxSize() {
         return localMaxSize;
@@ -35,4 +72,1176 @@ public class CacheProperties {
     public void setLocalMaxTtl(Integer localMaxTtl) {
         CacheProperties.localMaxTtl = localMaxTtl;
     }
+
+    public static Integer getTagMaxSize() {
+        return tagMaxSize;
+    }
+
+    public void setTagMaxSize(Integer tagMaxSize) {
+        CacheProperties.tagMaxSize = tagMaxSize;
+    }
+
+    public static Long getLogicalExtraTtl() {
+        return logicalExtraTtl;
+    }
+
+    public void setLogicalExtraTtl(Long logicalExtraTtl) {
+        CacheProperties.logicalExtraTtl = logicalExtraTtl;
+    }
+
+    public static Cost getCost() {
+        return cost;
+    }
+
+    public void setCost(Cost cost) {
+        CacheProperties.cost = cost;
+    }
+
+    public static LocalMemory getLocalMemory() {
+        return localMemory;
+    }
+
+    public void setLocalMemory(LocalMemory localMemory) {
+        CacheProperties.localMemory = localMemory;
+    }
+
+    public static Peer getPeer() {
+        return peer;
+    }
+
+    public void setPeer(Peer peer) {
+        CacheProperties.peer = peer;
+    }
+
+    public static Chunk getChunk() {
+        return chunk;
+    }
+
+    public void setChunk(Chunk chunk) {
+        CacheProperties.chunk = chunk;
+    }
+
+    public static Bucket getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(Bucket bucket) {
+        CacheProperties.bucket = bucket;
+    }
+
+    public static Tier getTier() {
+        return tier;
+    }
+
+    public void setTier(Tier tier) {
+        CacheProperties.tier = tier;
+    }
+
+    public static Breaker getBreaker() {
+        return breaker;
+    }
+
+    public void setBreaker(Breaker breaker) {
+        CacheProperties.breaker = breaker;
+    }
+
+    public static Replica getReplica() {
+        return replica;
+    }
+
+    public void setReplica(Replica replica) {
+        CacheProperties.replica = replica;
+    }
+
+    public static Connection getConnection() {
+        return connection;
+    }
+
+    public void setConnection(Connection connection) {
+        CacheProperties.connection = connection;
+    }
+
+    public static Tracking getTracking() {
+        return tracking;
+    }
+
+    public void setTracking(Tracking tracking) {
+        CacheProperties.tracking = tracking;
+    }
+
+    public static InvalidationLog getInvalidationLog() {
+        return invalidationLog;
+    }
+
+    public void setInvalidationLog(InvalidationLog invalidationLog) {
+        CacheProperties.invalidationLog = invalidationLog;
+    }
+
+    public static Tenant getTenant() {
+        return tenant;
+    }
+
+    public void setTenant(Tenant tenant) {
+        CacheProperties.tenant = tenant;
+    }
+
+    public static Trace getTrace() {
+        return trace;
+    }
+
+    public void setTrace(Trace trace) {
+        CacheProperties.trace = trace;
+    }
+
+    public static Recorder getRecorder() {
+        return recorder;
+    }
+
+    public void setRecorder(Recorder recorder) {
+        CacheProperties.recorder = recorder;
+    }
+
+    /**
+     * 方法缓存成本感知策略配置
+     *  根据方法加载耗时与结果大小调整缓存时长及是否使用本地缓存
+     *
+     * @see MethodCacheCostPolicy 方法缓存成本感知策略
+     */
+    public static class Cost {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** 加载耗时基准，单位毫秒，耗时等于基准时缓存时长倍数为 1 */
+        private long latencyBaseline = 100L;
+        /** 结果大小基准，单位字节，超过基准时按比例缩短缓存时长 */
+        private long sizeBaseline = 10240L;
+        /** 缓存时长最小倍数 */
+        private double minFactor = 0.5D;
+        /** 缓存时长最大倍数 */
+        private double maxFactor = 4D;
+        /** 自动使用本地缓存的最小加载耗时，单位毫秒 */
+        private long localMinLatency = 200L;
+        /** 自动使用本地缓存的最大结果大小，单位字节 */
+        private long localMaxSize = 4096L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getLatencyBaseline() {
+            return latencyBaseline;
+        }
+
+        public void setLatencyBaseline(long latencyBaseline) {
+            this.latencyBaseline = latencyBaseline;
+        }
+
+        public long getSizeBaseline() {
+            return sizeBaseline;
+        }
+
+        public void setSizeBaseline(long sizeBaseline) {
+            this.sizeBaseline = sizeBaseline;
+        }
+
+        public double getMinFactor() {
+            return minFactor;
+        }
+
+        public void setMinFactor(double minFactor) {
+            this.minFactor = minFactor;
+        }
+
+        public double getMaxFactor() {
+            return maxFactor;
+        }
+
+        public void setMaxFactor(double maxFactor) {
+            this.maxFactor = maxFactor;
+        }
+
+        public long getLocalMinLatency() {
+            return localMinLatency;
+        }
+
+        public void setLocalMinLatency(long localMinLatency) {
+            this.localMinLatency = localMinLatency;
+        }
+
+        public long getLocalMaxSize() {
+            return localMaxSize;
+        }
+
+        public void setLocalMaxSize(long localMaxSize) {
+            this.localMaxSize = localMaxSize;
+        }
+    }
+
+    /**
+     * 本地缓存内存压力自适应配置
+     *  堆内存使用率超过阈值时缩小本地缓存最大数量，压力解除后逐步恢复
+     *  默认关闭：内存池使用阈值为 JVM 全局设置，可能与 APM 等其它组件冲突，开启时跳过已设置阈值的内存池
+     *
+     * @see LocalCacheMemoryGuard 本地缓存内存压力监控
+     */
+    public static class LocalMemory {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** 堆内存使用率高水位，超过触发缩容 */
+        private double highRatio = 0.85D;
+        /** 堆内存使用率低水位，GC 后低于此值触发扩容 */
+        private double lowRatio = 0.6D;
+        /** 每次缩容比例 */
+        private double shrinkRatio = 0.5D;
+        /** 缩容后最小数量 */
+        private long minSize = 50L;
+        /** 压力解除检查间隔，单位秒 */
+        private long checkInterval = 10L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getHighRatio() {
+            return highRatio;
+        }
+
+        public void setHighRatio(double highRatio) {
+            this.highRatio = highRatio;
+        }
+
+        public double getLowRatio() {
+            return lowRatio;
+        }
+
+        public void setLowRatio(double lowRatio) {
+            this.lowRatio = lowRatio;
+        }
+
+        public double getShrinkRatio() {
+            return shrinkRatio;
+        }
+
+        public void setShrinkRatio(double shrinkRatio) {
+            this.shrinkRatio = shrinkRatio;
+        }
+
+        public long getMinSize() {
+            return minSize;
+        }
+
+        public void setMinSize(long minSize) {
+            this.minSize = minSize;
+        }
+
+        public long getCheckInterval() {
+            return checkInterval;
+        }
+
+        public void setCheckInterval(long checkInterval) {
+            this.checkInterval = checkInterval;
+        }
+    }
+
+    /**
+     * 节点间本地缓存分片配置
+     *  节点通过 Redis 注册发现，一致性哈希确定 key 的归属节点，非归属节点从归属节点获取数据
+     *
+     * @see L2CachePeerGroup 节点分组
+     */
+    public static class Peer {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** 对外通告的节点地址，默认本机 IP，HTTP 服务只绑定该地址 */
+        private String host;
+        /** 节点间通信端口 */
+        private int port = 18090;
+        /** 节点间通信共享密钥，请求及响应均使用该密钥签名，未配置时不开启节点分组 */
+        private String secret;
+        /** 允许加入分组的节点地址（host），为空时只校验地址格式 */
+        private List<String> allowedHosts = new ArrayList<>();
+        /** 心跳间隔，单位秒，超过 3 个间隔未心跳的节点被移除 */
+        private long heartbeatInterval = 10L;
+        /** 一致性哈希每个节点的虚拟节点数量 */
+        private int virtualNodes = 160;
+        /** 节点间请求超时时长，单位毫秒 */
+        private int timeout = 200;
+        /** 转发到归属节点加载的超时时长，单位毫秒，超时后本地执行方法加载 */
+        private int loadTimeout = 3000;
+        /** 节点间请求允许的最大时钟偏差，单位秒，请求时间戳超出时拒绝，窗口内重复的请求视为重放 */
+        private long maxClockSkew = 30L;
+        /** 热点 key 判定：统计窗口内从其它节点获取次数达到此值则本地复制 */
+        private int hotThreshold = 10;
+        /** 热点 key 统计窗口，单位秒 */
+        private long hotWindow = 10L;
+        /** 热点 key 本地复制时长，单位秒 */
+        private long hotTtl = 10L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public void setPort(int port) {
+            this.port = port;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+
+        public List<String> getAllowedHosts() {
+            return allowedHosts;
+        }
+
+        public void setAllowedHosts(List<String> allowedHosts) {
+            this.allowedHosts = allowedHosts;
+        }
+
+        public long getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(long heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public int getVirtualNodes() {
+            return virtualNodes;
+        }
+
+        public void setVirtualNodes(int virtualNodes) {
+            this.virtualNodes = virtualNodes;
+        }
+
+        public int getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(int timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getLoadTimeout() {
+            return loadTimeout;
+        }
+
+        public void setLoadTimeout(int loadTimeout) {
+            this.loadTimeout = loadTimeout;
+        }
+
+        public long getMaxClockSkew() {
+            return maxClockSkew;
+        }
+
+        public void setMaxClockSkew(long maxClockSkew) {
+            this.maxClockSkew = maxClockSkew;
+        }
+
+        public int getHotThreshold() {
+            return hotThreshold;
+        }
+
+        public void setHotThreshold(int hotThreshold) {
+            this.hotThreshold = hotThreshold;
+        }
+
+        public long getHotWindow() {
+            return hotWindow;
+        }
+
+        public void setHotWindow(long hotWindow) {
+            this.hotWindow = hotWindow;
+        }
+
+        public long getHotTtl() {
+            return hotTtl;
+        }
+
+        public void setHotTtl(long hotTtl) {
+            this.hotTtl = hotTtl;
+        }
+    }
+
+    /**
+     * 大值分块存储配置
+     *  压缩后超过阈值的缓存值拆分为多个分块 key 存储，缓存 key 只保存分块清单
+     *
+     * @see L2CacheChunkUtil 分块存储工具类
+     */
+    public static class Chunk {
+        /** 是否开启 */
+        private boolean enabled = true;
+        /** 分块阈值，单位字节，压缩后大小超过阈值时分块存储 */
+        private int threshold = 1024 * 1024;
+        /** 单个分块大小，单位字节 */
+        private int size = 256 * 1024;
+        /** 读取时每次管道获取的分块数量 */
+        private int readBatch = 4;
+        /**
+         * 清单被替换或删除后旧分块的保留时长，单位秒
+         *  需大于读取单个分块值的最长耗时，读取期间旧分块过期时视为缓存不存在
+         */
+        private long graceTtl = 5L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(int threshold) {
+            this.threshold = threshold;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(int size) {
+            this.size = size;
+        }
+
+        public int getReadBatch() {
+            return readBatch;
+        }
+
+        public void setReadBatch(int readBatch) {
+            this.readBatch = readBatch;
+        }
+
+        public long getGraceTtl() {
+            return graceTtl;
+        }
+
+        public void setGraceTtl(long graceTtl) {
+            this.graceTtl = graceTtl;
+        }
+    }
+
+    /**
+     * 小值分桶存储配置
+     *  小值按缓存 key 哈希写入 Redis Hash 分桶，分桶元素数量及值大小需小于 Redis
+     *  hash-max-listpack-entries 及 hash-max-listpack-value 配置，以使用紧凑编码
+     *
+     * @see L2CacheBucketUtil 分桶存储工具类
+     */
+    public static class Bucket {
+        /** 分桶负载因子 */
+        private static final double BUCKET_LOAD_FACTOR = 0.75D;
+
+        /** 是否开启，开启后读取及删除缓存时会同时处理分桶 */
+        private boolean enabled = false;
+        /** 分桶数量，小于等于 0 时根据预计缓存数量计算；修改后已写入分桶的缓存将无法读取 */
+        private int bucketNum = 0;
+        /** 预计分桶存储的缓存数量，用于计算分桶数量 */
+        private long expectedKeys = 1000000L;
+        /** 单个分桶的最大字段数量，需与 Redis hash-max-listpack-entries 一致 */
+        private int maxBucketEntries = 128;
+        /**
+         * 分桶字段及值的最大大小，单位字节，超出使用普通 key 存储
+         *  需与 Redis hash-max-listpack-value 一致（Redis 默认 64，需同步调整为 256），否则分桶不使用紧凑编码
+         *  值为 过期时间|带类型信息的 JSON ，如 "ok" 约 13 字节，含 4 个字段（Long、String、Integer、Date）
+         *  的小对象约 170 字节（类型信息占一半以上），默认 256 可容纳常见的小对象
+         */
+        private int maxValueSize = 256;
+        /** 是否使用 HPEXPIRE 设置字段过期（Redis 7.4+），否则写入时清除分桶内过期字段，读取时惰性清除 */
+        private boolean fieldExpire = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBucketNum() {
+            return bucketNum;
+        }
+
+        public void setBucketNum(int bucketNum) {
+            this.bucketNum = bucketNum;
+        }
+
+        /**
+         * 获取实际使用的分桶数量
+         *  未指定时按 预计缓存数量 / (单个分桶最大字段数量 * 0.75) 计算，预留哈希分布不均的余量
+         *
+         * @return 分桶数量
+         */
+        public int getActualBucketNum() {
+            if (bucketNum > 0) {
+                return bucketNum;
+            }
+
+            long capacity = Math.max(1L, (long) (maxBucketEntries * BUCKET_LOAD_FACTOR));
+            long num = (Math.max(1L, expectedKeys) + capacity - 1) / capacity;
+            return (int) Math.min(Integer.MAX_VALUE, num);
+        }
+
+        public long getExpectedKeys() {
+            return expectedKeys;
+        }
+
+        public void setExpectedKeys(long expectedKeys) {
+            this.expectedKeys = expectedKeys;
+        }
+
+        public int getMaxBucketEntries() {
+            return maxBucketEntries;
+        }
+
+        public void setMaxBucketEntries(int maxBucketEntries) {
+            this.maxBucketEntries = maxBucketEntries;
+        }
+
+        public int getMaxValueSize() {
+            return maxValueSize;
+        }
+
+        public void setMaxValueSize(int maxValueSize) {
+            this.maxValueSize = maxValueSize;
+        }
+
+        public boolean isFieldExpire() {
+            return fieldExpire;
+        }
+
+        public void setFieldExpire(boolean fieldExpire) {
+            this.fieldExpire = fieldExpire;
+        }
+    }
+
+    /**
+     * 多级缓存链配置
+     *  层级顺序：Caffeine → Memcached（配置地址且引入 Folsom 依赖时生效） → Redis
+     *  开启后 {@link MethodCacheable#tier()} 开启的方法缓存通过多级缓存链读写，
+     *  {@link L2CacheUtil#delete} 同时删除 Memcached 等两级缓存以外层级中的缓存
+     *
+     * @see cn.eastx.practice.middleware.cache.tier.CacheTierChain 多级缓存链
+     */
+    public static class Tier {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** 本地缓存最大缓存时长（包括回填），单位秒 */
+        private long localTtl = 60L;
+        /** Memcached 地址，为空不使用 Memcached 层级 */
+        private String memcachedHost;
+        /** Memcached 端口 */
+        private int memcachedPort = 11211;
+        /** Memcached 请求超时时长，单位毫秒 */
+        private long memcachedTimeout = 200L;
+        /** Memcached 最大缓存时长，单位秒 */
+        private long memcachedMaxTtl = 3600L;
+        /** Memcached 回填缓存时长，单位秒 */
+        private long memcachedPromoteTtl = 600L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getLocalTtl() {
+            return localTtl;
+        }
+
+        public void setLocalTtl(long localTtl) {
+            this.localTtl = localTtl;
+        }
+
+        public String getMemcachedHost() {
+            return memcachedHost;
+        }
+
+        public void setMemcachedHost(String memcachedHost) {
+            this.memcachedHost = memcachedHost;
+        }
+
+        public int getMemcachedPort() {
+            return memcachedPort;
+        }
+
+        public void setMemcachedPort(int memcachedPort) {
+            this.memcachedPort = memcachedPort;
+        }
+
+        public long getMemcachedTimeout() {
+            return memcachedTimeout;
+        }
+
+        public void setMemcachedTimeout(long memcachedTimeout) {
+            this.memcachedTimeout = memcachedTimeout;
+        }
+
+        public long getMemcachedMaxTtl() {
+            return memcachedMaxTtl;
+        }
+
+        public void setMemcachedMaxTtl(long memcachedMaxTtl) {
+            this.memcachedMaxTtl = memcachedMaxTtl;
+        }
+
+        public long getMemcachedPromoteTtl() {
+            return memcachedPromoteTtl;
+        }
+
+        public void setMemcachedPromoteTtl(long memcachedPromoteTtl) {
+            this.memcachedPromoteTtl = memcachedPromoteTtl;
+        }
+    }
+
+    /**
+     * Redis 缓存熔断配置
+     *  方法缓存访问 Redis 超时或异常达到阈值后熔断，熔断期间只使用本地缓存，方法调用通过并发隔离限制
+     *
+     * @see L2CacheBreaker 熔断器
+     */
+    public static class Breaker {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** 单次访问 Redis 超时时长，单位毫秒 */
+        private long timeout = 100L;
+        /** 连续失败次数阈值，达到后熔断 */
+        private int failureThreshold = 5;
+        /** 熔断时长，单位毫秒，到期后进入半开状态 */
+        private long openDuration = 10000L;
+        /** 半开状态允许的探测次数，探测全部成功后恢复 */
+        private int halfOpenPermits = 3;
+        /** 访问 Redis 的最大并发数 */
+        private int maxConcurrent = 32;
+        /** 熔断期间直接调用方法的最大并发数 */
+        private int bulkhead = 20;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(long timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getFailureThreshold() {
+            return failureThreshold;
+        }
+
+        public void setFailureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+        }
+
+        public long getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(long openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenPermits() {
+            return halfOpenPermits;
+        }
+
+        public void setHalfOpenPermits(int halfOpenPermits) {
+            this.halfOpenPermits = halfOpenPermits;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getBulkhead() {
+            return bulkhead;
+        }
+
+        public void setBulkhead(int bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+    }
+
+    /**
+     * Redis 从节点读取配置
+     *  两级缓存读取使用独立的只读连接，写入、失效、锁仍使用主节点
+     *  集群及哨兵模式自动发现从节点，单机模式需配置从节点地址
+     *
+     * @see L2CacheReplicaRouter 从节点读取路由
+     */
+    public static class Replica {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** 读取节点策略，参考 io.lettuce.core.ReadFrom#valueOf(String)，如 replicaPreferred、nearest */
+        private String readFrom = "replicaPreferred";
+        /** 单机模式从节点地址，格式 host:port */
+        private List<String> nodes = new ArrayList<>();
+        /** 复制延迟检测间隔，单位秒，复制延迟按检测间隔估算并额外加上检测间隔，需小于缓存允许的最大复制延迟 */
+        private long lagCheckInterval = 5L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getReadFrom() {
+            return readFrom;
+        }
+
+        public void setReadFrom(String readFrom) {
+            this.readFrom = readFrom;
+        }
+
+        public List<String> getNodes() {
+            return nodes;
+        }
+
+        public void setNodes(List<String> nodes) {
+            this.nodes = nodes;
+        }
+
+        public long getLagCheckInterval() {
+            return lagCheckInterval;
+        }
+
+        public void setLagCheckInterval(long lagCheckInterval) {
+            this.lagCheckInterval = lagCheckInterval;
+        }
+    }
+
+    /**
+     * Redis 连接策略配置
+     *  shared：所有操作共享一个原生连接，命令在连接上多路复用，适合高吞吐的普通命令；
+     *  管道操作（executePipelined）按阈值批量刷新写出，只是管道刷新策略，非管道命令仍逐条发送，不做客户端命令合并
+     *  pooled：操作从连接池获取独占连接，适合阻塞命令及事务，需引入 commons-pool2 并配置 spring.redis.lettuce.pool
+     *  连接不做使用前校验，由 TCP keepalive、后台健康检查及断线重连保证连接可用
+     *
+     * @see RedisConnectionGuard Redis 连接守护
+     */
+    public static class Connection {
+        /** 连接模式，shared 或 pooled */
+        private String mode = "shared";
+        /** 是否开启 TCP keepalive */
+        private boolean keepAlive = true;
+        /** 健康检查间隔，单位秒，小于等于 0 不检查 */
+        private long healthCheckInterval = 30L;
+        /** 健康检查连续失败次数达到该值时重置连接 */
+        private int healthCheckFailures = 3;
+        /** shared 模式管道操作每批刷新写出的命令数（PipeliningFlushPolicy.buffered），不影响非管道命令 */
+        private int pipelineFlushThreshold = 64;
+        /** 集群模式拓扑定时刷新间隔，单位秒 */
+        private long clusterRefreshPeriod = 60L;
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public boolean isPooled() {
+            return "pooled".equalsIgnoreCase(mode);
+        }
+
+        public boolean isKeepAlive() {
+            return keepAlive;
+        }
+
+        public void setKeepAlive(boolean keepAlive) {
+            this.keepAlive = keepAlive;
+        }
+
+        public long getHealthCheckInterval() {
+            return healthCheckInterval;
+        }
+
+        public void setHealthCheckInterval(long healthCheckInterval) {
+            this.healthCheckInterval = healthCheckInterval;
+        }
+
+        public int getHealthCheckFailures() {
+            return healthCheckFailures;
+        }
+
+        public void setHealthCheckFailures(int healthCheckFailures) {
+            this.healthCheckFailures = healthCheckFailures;
+        }
+
+        public int getPipelineFlushThreshold() {
+            return pipelineFlushThreshold;
+        }
+
+        public void setPipelineFlushThreshold(int pipelineFlushThreshold) {
+            this.pipelineFlushThreshold = pipelineFlushThreshold;
+        }
+
+        public long getClusterRefreshPeriod() {
+            return clusterRefreshPeriod;
+        }
+
+        public void setClusterRefreshPeriod(long clusterRefreshPeriod) {
+            this.clusterRefreshPeriod = clusterRefreshPeriod;
+        }
+    }
+
+    /**
+     * 服务端辅助失效配置（RESP3 CLIENT TRACKING），需 Redis 6.0 以上且为单机模式
+     *  Redis 推送所有客户端对已读取 key 的修改，不经过两级缓存工具的写入也能清除本地缓存
+     *
+     * @see L2CacheTracking 服务端辅助失效
+     */
+    public static class Tracking {
+        /** 是否开启 */
+        private boolean enabled = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * 失效日志配置（Redis Stream），各节点需保持一致
+     *  订阅断开期间丢失的失效消息在恢复后补偿，无法补偿时清空本地缓存
+     *
+     * @see L2CacheInvalidationLog 失效日志
+     */
+    public static class InvalidationLog {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** Stream 长度上限（近似裁剪） */
+        private long maxLen = 100000L;
+        /** 拉取间隔，单位毫秒 */
+        private long pollInterval = 200L;
+        /** 每次拉取的消息数量 */
+        private int batchSize = 500;
+        /** 允许补偿的最大中断时长，单位秒，超过时清空本地缓存 */
+        private long maxGap = 60L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getMaxLen() {
+            return maxLen;
+        }
+
+        public void setMaxLen(long maxLen) {
+            this.maxLen = maxLen;
+        }
+
+        public long getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(long pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getMaxGap() {
+            return maxGap;
+        }
+
+        public void setMaxGap(long maxGap) {
+            this.maxGap = maxGap;
+        }
+    }
+
+    /**
+     * 本地缓存租户分区配置，租户标识取自 SecureContextHolder
+     *  配额按缓存数量计算，本地缓存值为解析后的对象，无法准确计算占用字节
+     *
+     * @see LocalCacheTenants 租户分区
+     */
+    public static class Tenant {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** 默认租户分区数量配额 */
+        private long defaultQuota = 200L;
+        /** 指定租户分区数量配额，key 为租户标识 */
+        private Map<String, Long> quotas = new HashMap<>();
+        /** 共享溢出池数量 */
+        private long overflowSize = 500L;
+        /** 单个租户可占用溢出池的比例 */
+        private double overflowShare = 0.5D;
+        /** 租户分区数量上限，超过后新租户使用默认分区 */
+        private int maxTenants = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getDefaultQuota() {
+            return defaultQuota;
+        }
+
+        public void setDefaultQuota(long defaultQuota) {
+            this.defaultQuota = defaultQuota;
+        }
+
+        public Map<String, Long> getQuotas() {
+            return quotas;
+        }
+
+        public void setQuotas(Map<String, Long> quotas) {
+            this.quotas = quotas;
+        }
+
+        public long getOverflowSize() {
+            return overflowSize;
+        }
+
+        public void setOverflowSize(long overflowSize) {
+            this.overflowSize = overflowSize;
+        }
+
+        public double getOverflowShare() {
+            return overflowShare;
+        }
+
+        public void setOverflowShare(double overflowShare) {
+            this.overflowShare = overflowShare;
+        }
+
+        public int getMaxTenants() {
+            return maxTenants;
+        }
+
+        public void setMaxTenants(int maxTenants) {
+            this.maxTenants = maxTenants;
+        }
+    }
+
+    /**
+     * 缓存决策跟踪配置
+     *
+     * @see CacheTrace 缓存决策跟踪
+     */
+    public static class Trace {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** 采样率，0 - 1 */
+        private double sampleRate = 0.01D;
+        /** 单次跟踪记录的步骤数量上限 */
+        private int maxSteps = 64;
+        /** 保留最近的跟踪记录数量 */
+        private long recentSize = 200L;
+        /** 跟踪记录保留时长，单位秒 */
+        private long recentTtl = 600L;
+        /** 查询接口路径 */
+        private String path = "/cache/trace";
+        /** 信任的请求来源地址，来自这些地址的请求才沿用请求头中的跟踪标识及强制采样，默认为空不信任 */
+        private List<String> trustedAddresses = new ArrayList<>();
+        /** 查询接口允许访问的本地端口（如独立的管理端口连接器），小于等于 0 表示不按端口放行 */
+        private int managementPort = -1;
+        /** 查询接口允许访问的角色，通过 HttpServletRequest#isUserInRole 校验，为空表示不按角色放行 */
+        private String role = "CACHE_ADMIN";
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public int getMaxSteps() {
+            return maxSteps;
+        }
+
+        public void setMaxSteps(int maxSteps) {
+            this.maxSteps = maxSteps;
+        }
+
+        public long getRecentSize() {
+            return recentSize;
+        }
+
+        public void setRecentSize(long recentSize) {
+            this.recentSize = recentSize;
+        }
+
+        public long getRecentTtl() {
+            return recentTtl;
+        }
+
+        public void setRecentTtl(long recentTtl) {
+            this.recentTtl = recentTtl;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public List<String> getTrustedAddresses() {
+            return trustedAddresses;
+        }
+
+        public void setTrustedAddresses(List<String> trustedAddresses) {
+            this.trustedAddresses = trustedAddresses;
+        }
+
+        public int getManagementPort() {
+            return managementPort;
+        }
+
+        public void setManagementPort(int managementPort) {
+            this.managementPort = managementPort;
+        }
+
+        public String getRole() {
+            return role;
+        }
+
+        public void setRole(String role) {
+            this.role = role;
+        }
+    }
+
+    /**
+     * 两级缓存访问记录配置，记录文件供离线模拟使用
+     *
+     * @see L2CacheAccessRecorder 访问记录
+     * @see L2CacheSimulator 离线模拟
+     */
+    public static class Recorder {
+        /** 是否开启 */
+        private boolean enabled = false;
+        /** 记录文件路径 */
+        private String path = "logs/l2cache-access.bin";
+        /** 按 key 采样率，0 - 1 */
+        private double sampleRate = 1.0D;
+        /** 内存队列长度，已满时丢弃 */
+        private int queueSize = 65536;
+        /** 写入间隔，单位毫秒 */
+        private long flushInterval = 1000L;
+        /** 文件大小上限，单位字节 */
+        private long maxFileSize = 512L * 1024 * 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public long getFlushInterval() {
+            return flushInterval;
+        }
+
+        public void setFlushInterval(long flushInterval) {
+            this.flushInterval = flushInterval;
+        }
+
+        public long getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        public void setMaxFileSize(long maxFileSize) {
+            this.maxFileSize = maxFileSize;
+        }
+    }
 }
@@ -0,0 +1,245 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.util.JsonUtil;
+import cn.eastx.practice.common.util.SecureContextHolder;
+import com.alibaba.ttl.TransmittableThreadLocal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 缓存决策跟踪
+ *  按请求采样记录每个缓存步骤（本地缓存、Redis、等待加载、方法加载等）及耗时，请求结束时输出结构化日志并保留最近的跟踪记录，
+ *  以 {@link SecureContextHolder#getTraceId()} 作为跟踪标识
+ *  未采样的请求只有一次 ThreadLocal 读取；使用 TransmittableThreadLocal ，
+ *  经 TtlExecutors 包装的线程池（如熔断器超时执行、异步重建）中的步骤记录到提交任务的请求
+ *
+ * 使用：
+ *  1. Web 请求由 {@link CacheTraceFilter} 开启及结束，可通过 {@link CacheTraceController} 查询
+ *  2. 其它场景（定时任务、消息消费）可手动调用 {@link #begin(String)}、{@link #end()}
+ *  3. 未经 TtlExecutors 包装的异步线程中的缓存操作不记录，跟踪结束后提交线程中的步骤不再记录
+ *
+ * @see CacheProperties.Trace 配置
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class CacheTrace {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheTrace.class);
+
+    /** 步骤结果：命中 */
+    public static final String HIT = "hit";
+    /** 步骤结果：未命中 */
+    public static final String MISS = "miss";
+
+    /** 当前线程跟踪记录，未采样时为 null */
+    private static final TransmittableThreadLocal<Trace> CURRENT = new TransmittableThreadLocal<>();
+    /** 最近的跟踪记录 */
+    private static volatile Cache<String, Trace> recent;
+
+    private CacheTrace() {}
+
+    /**
+     * 按采样率开启当前线程跟踪
+     *
+     * @param name 跟踪名称，如请求路径
+     * @return 是否采样
+     */
+    public static boolean begin(String name) {
+        return begin(name, false);
+    }
+
+    /**
+     * 开启当前线程跟踪
+     *
+     * @param name 跟踪名称，如请求路径
+     * @param force 是否强制采样
+     * @return 是否采样
+     */
+    public static boolean begin(String name, boolean force) {
+        CacheProperties.Trace config = CacheProperties.getTrace();
+        if (!config.isEnabled()
+                || (!force && ThreadLocalRandom.current().nextDouble() >= config.getSampleRate())) {
+            CURRENT.remove();
+            return false;
+        }
+
+        CURRENT.set(new Trace(SecureContextHolder.getTraceId(), name, System.currentTimeMillis(), System.nanoTime()));
+        return true;
+    }
+
+    /**
+     * 当前线程是否正在跟踪
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * 步骤开始
+     *
+     * @return 开始时间（纳秒），未跟踪时返回 0
+     */
+    public static long start() {
+        return CURRENT.get() == null ? 0L : System.nanoTime();
+    }
+
+    /**
+     * 记录步骤
+     *
+     * @param step 步骤名称
+     * @param key 缓存Key或Key集合
+     * @param result 步骤结果
+     * @param startNanos 开始时间，{@link #start()} 返回值
+     */
+    public static void record(String step, Object key, String result, long startNanos) {
+        if (startNanos == 0L) {
+            return;
+        }
+
+        Trace trace = CURRENT.get();
+        if (trace == null) {
+            return;
+        }
+
+        long costMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        // 异步线程与请求线程共享跟踪记录
+        synchronized (trace) {
+            if (trace.ended) {
+                return;
+            }
+
+            if (trace.steps.size() >= CacheProperties.getTrace().getMaxSteps()) {
+                trace.truncated++;
+                return;
+            }
+
+            trace.steps.add(new Step(step, String.valueOf(key), result, costMicros));
+        }
+    }
+
+    /**
+     * 结束当前线程跟踪，输出结构化日志并保存
+     *
+     * @return 跟踪记录，未采样时返回 null
+     */
+    @Nullable
+    public static Trace end() {
+        Trace trace = CURRENT.get();
+        if (trace == null) {
+            return null;
+        }
+
+        CURRENT.remove();
+        synchronized (trace) {
+            trace.ended = true;
+            trace.costMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - trace.startNanos);
+        }
+
+        getRecent().put(trace.traceId, trace);
+        logger.info("[CacheTrace]{}", JsonUtil.toSimpleStr(trace));
+        return trace;
+    }
+
+    /**
+     * 根据跟踪标识获取跟踪记录
+     *
+     * @param traceId 跟踪标识
+     * @return 跟踪记录，不存在返回 null
+     */
+    @Nullable
+    public static Trace get(String traceId) {
+        return getRecent().getIfPresent(traceId);
+    }
+
+    /**
+     * 获取最近的跟踪记录，按开始时间倒序
+     *
+     * @param limit 数量
+     * @return 跟踪记录集合
+     */
+    public static List<Trace> listRecent(int limit) {
+        return getRecent().asMap().values().stream()
+                .sorted(Comparator.comparingLong(Trace::getStartTime).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static Cache<String, Trace> getRecent() {
+        if (recent == null) {
+            synchronized (CacheTrace.class) {
+                if (recent == null) {
+                    CacheProperties.Trace config = CacheProperties.getTrace();
+                    recent = Caffeine.newBuilder()
+                            .maximumSize(config.getRecentSize())
+                            .expireAfterWrite(config.getRecentTtl(), TimeUnit.SECONDS)
+                            .build();
+                }
+            }
+        }
+
+        return recent;
+    }
+
+    /**
+     * 跟踪记录
+     */
+    @Getter
+    public static class Trace {
+        /** 跟踪标识 */
+        private final String traceId;
+        /** 跟踪名称 */
+        private final String name;
+        /** 开始时间戳，单位毫秒 */
+        private final long startTime;
+        /** 总耗时，单位毫秒 */
+        private long costMillis;
+        /** 超过步骤上限未记录的数量 */
+        private int truncated;
+        /** 步骤集合 */
+        private final List<Step> steps = new ArrayList<>();
+
+        @Getter(AccessLevel.NONE)
+        private final long startNanos;
+        /** 是否已结束，结束后不再记录步骤 */
+        @Getter(AccessLevel.NONE)
+        private boolean ended;
+
+        Trace(String traceId, String name, long startTime, long startNanos) {
+            this.traceId = traceId;
+            this.name = name;
+            this.startTime = startTime;
+            this.startNanos = startNanos;
+        }
+    }
+
+    /**
+     * 跟踪步骤
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Step {
+        /** 步骤名称 */
+        private final String step;
+        /** 缓存Key */
+        private final String key;
+        /** 步骤结果 */
+        private final String result;
+        /** 耗时，单位微秒 */
+        private final long costMicros;
+    }
+
+}
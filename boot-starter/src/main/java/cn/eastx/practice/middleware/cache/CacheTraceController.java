@@ -0,0 +1,69 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.util.GeneralUtil;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.List;
+
+/**
+ * 缓存决策跟踪查询接口
+ *  路径通过 practice.middleware.cache.trace.path 配置，默认 /cache/trace
+ *  跟踪记录包含缓存 key ，只允许通过管理端口（trace.management-port）或具有指定角色（trace.role）的请求访问，否则返回 403
+ *
+ * @see CacheTrace 缓存决策跟踪
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+@RestController
+@RequestMapping("${practice.middleware.cache.trace.path:/cache/trace}")
+public class CacheTraceController {
+
+    /**
+     * 获取最近的跟踪记录
+     *
+     * @param limit 数量
+     * @return 跟踪记录集合，按开始时间倒序
+     */
+    @GetMapping
+    public List<CacheTrace.Trace> listRecent(@RequestParam(defaultValue = "20") int limit,
+                                             HttpServletRequest request) {
+        checkAccess(request);
+        return CacheTrace.listRecent(limit);
+    }
+
+    /**
+     * 根据跟踪标识获取跟踪记录
+     *
+     * @param traceId 跟踪标识
+     * @return 跟踪记录，不存在返回 null
+     */
+    @GetMapping("/{traceId}")
+    public CacheTrace.Trace get(@PathVariable String traceId, HttpServletRequest request) {
+        checkAccess(request);
+        return CacheTrace.get(traceId);
+    }
+
+    /**
+     * 校验访问权限：请求到达管理端口或具有指定角色
+     *
+     * @param request 请求
+     * @throws ResponseStatusException 无权限时返回 403
+     */
+    private static void checkAccess(HttpServletRequest request) {
+        CacheProperties.Trace config = CacheProperties.getTrace();
+        boolean allowed = (config.getManagementPort() > 0 && request.getLocalPort() == config.getManagementPort())
+                || (GeneralUtil.isNotEmpty(config.getRole()) && request.isUserInRole(config.getRole()));
+        if (!allowed) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.util.GeneralUtil;
+import cn.eastx.practice.common.util.SecureContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 缓存决策跟踪请求过滤器
+ *  请求开始时设置跟踪标识并按采样率开启跟踪，请求结束时输出跟踪记录
+ *  来源地址在信任列表（practice.middleware.cache.trace.trusted-addresses）中的请求，
+ *  请求头携带 {@link #HEADER_TRACE_ID} 时沿用该跟踪标识，携带 {@link #HEADER_FORCE} 为 true 时强制采样，
+ *  其它请求忽略这两个请求头（防止伪造跟踪标识覆盖他人记录或强制采样放大开销）；采样时响应头返回跟踪标识
+ *
+ * @see CacheTrace 缓存决策跟踪
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class CacheTraceFilter extends OncePerRequestFilter {
+
+    /** 跟踪标识请求头 */
+    public static final String HEADER_TRACE_ID = "X-Trace-Id";
+    /** 强制采样请求头 */
+    public static final String HEADER_FORCE = "X-Cache-Trace";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // 线程复用，清除上一个请求的跟踪标识
+        boolean trusted = CacheProperties.getTrace().getTrustedAddresses().contains(request.getRemoteAddr());
+        String traceId = trusted ? request.getHeader(HEADER_TRACE_ID) : null;
+        SecureContextHolder.setTraceId(GeneralUtil.isEmpty(traceId) ? null : traceId);
+        if (CacheTrace.begin(request.getMethod() + " " + request.getRequestURI(),
+                trusted && Boolean.parseBoolean(request.getHeader(HEADER_FORCE)))) {
+            response.setHeader(HEADER_TRACE_ID, SecureContextHolder.getTraceId());
+        }
+
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            CacheTrace.end();
+            SecureContextHolder.setTraceId(null);
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+package cn.eastx.practice.middleware.cache;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级缓存访问记录
+ *  记录 {@link L2CacheUtil} 的读取、写入、删除操作到紧凑的二进制文件，供 {@link L2CacheSimulator} 离线回放，
+ *  评估本地缓存数量、淘汰策略、缓存时长等配置调整的效果
+ *
+ * 文件格式（DataOutputStream，大端序）：
+ *  文件头：魔数 int、版本 int、开始时间戳 long（毫秒）、采样率 double
+ *  记录（17 字节）：操作 byte、距开始时间的偏移 int（毫秒）、key 哈希 long、缓存时长 int（秒，仅写入）
+ *
+ * 注意：
+ *  1. 只记录 key 的哈希值，不记录 key 及数据
+ *  2. 按 key 哈希采样，同一 key 的访问全部记录或全部不记录，保持单 key 访问序列完整
+ *  3. 记录在内存队列中异步写入，队列已满时丢弃，文件达到大小上限后停止记录
+ *
+ * @see CacheProperties.Recorder 配置
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class L2CacheAccessRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(L2CacheAccessRecorder.class);
+
+    /** 文件魔数 */
+    static final int MAGIC = 0x4C324352;
+    /** 文件格式版本 */
+    static final int VERSION = 1;
+    /** 单条记录字节数 */
+    static final int RECORD_BYTES = 17;
+
+    /** 操作：读取 */
+    public static final byte OP_GET = 1;
+    /** 操作：写入 */
+    public static final byte OP_SET = 2;
+    /** 操作：删除 */
+    public static final byte OP_DELETE = 3;
+
+    /** 记录丢弃次数指标名称 */
+    public static final String METRIC_DROP = "practice.cache.recorder.drop";
+
+    /** 当前记录实例，未开启时为 null */
+    private static volatile L2CacheAccessRecorder instance;
+
+    private final BlockingQueue<Access> queue;
+    private final long sampleBound;
+    private ScheduledExecutorService scheduler;
+    private DataOutputStream out;
+    private long startTime;
+    private long written;
+
+    public L2CacheAccessRecorder() {
+        CacheProperties.Recorder config = CacheProperties.getRecorder();
+        this.queue = new ArrayBlockingQueue<>(config.getQueueSize());
+        this.sampleBound = (long) (config.getSampleRate() * (1L << 16));
+    }
+
+    /**
+     * 记录单个 key 的访问
+     *
+     * @param op 操作
+     * @param key 缓存Key
+     * @param ttl 缓存时长，单位秒，非写入操作传 0
+     */
+    public static void record(byte op, String key, long ttl) {
+        L2CacheAccessRecorder recorder = instance;
+        if (recorder != null) {
+            recorder.offer(op, key, ttl);
+        }
+    }
+
+    /**
+     * 记录多个 key 的访问
+     *
+     * @param op 操作
+     * @param keys 缓存Key集合
+     * @param ttl 缓存时长，单位秒，非写入操作传 0
+     */
+    public static void record(byte op, Collection<String> keys, long ttl) {
+        L2CacheAccessRecorder recorder = instance;
+        if (recorder != null) {
+            for (String key : keys) {
+                recorder.offer(op, key, ttl);
+            }
+        }
+    }
+
+    /**
+     * 启动：创建记录文件，定时批量写入
+     */
+    public void start() throws IOException {
+        CacheProperties.Recorder config = CacheProperties.getRecorder();
+        Path path = Paths.get(config.getPath());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        startTime = System.currentTimeMillis();
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(startTime);
+        out.writeDouble(config.getSampleRate());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("l2-cache-access-recorder").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::flush, config.getFlushInterval(), config.getFlushInterval(),
+                TimeUnit.MILLISECONDS);
+        instance = this;
+        logger.info("[L2CacheAccessRecorder]开始记录缓存访问, path={}", path.toAbsolutePath());
+    }
+
+    /**
+     * 停止：写入剩余记录并关闭文件
+     */
+    public void stop() {
+        instance = null;
+        if (scheduler != null) {
+            scheduler.shutdown();
+            try {
+                scheduler.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (out != null) {
+            flush();
+            try {
+                out.close();
+            } catch (IOException e) {
+                logger.warn("[L2CacheAccessRecorder]关闭记录文件失败, e={}", e.toString());
+            }
+        }
+    }
+
+    private void offer(byte op, String key, long ttl) {
+        long hash = Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8).asLong();
+        if ((hash & 0xFFFF) >= sampleBound) {
+            return;
+        }
+
+        if (!queue.offer(new Access(op, System.currentTimeMillis(), hash, ttl))) {
+            CacheMetrics.increment(METRIC_DROP);
+        }
+    }
+
+    /**
+     * 批量写入队列中的记录
+     */
+    private synchronized void flush() {
+        List<Access> accessList = new ArrayList<>();
+        queue.drainTo(accessList);
+        if (accessList.isEmpty() || out == null) {
+            return;
+        }
+
+        long maxRecords = CacheProperties.getRecorder().getMaxFileSize() / RECORD_BYTES;
+        try {
+            for (Access access : accessList) {
+                if (written >= maxRecords) {
+                    logger.warn("[L2CacheAccessRecorder]记录文件已达大小上限，停止记录");
+                    instance = null;
+                    break;
+                }
+
+                out.writeByte(access.op);
+                out.writeInt((int) (access.time - startTime));
+                out.writeLong(access.hash);
+                out.writeInt((int) Math.min(access.ttl, Integer.MAX_VALUE));
+                written++;
+            }
+
+            out.flush();
+        } catch (IOException e) {
+            logger.warn("[L2CacheAccessRecorder]写入记录失败，停止记录, e={}", e.toString());
+            instance = null;
+        }
+    }
+
+    /**
+     * 访问记录
+     */
+    private static class Access {
+        private final byte op;
+        private final long time;
+        private final long hash;
+        private final long ttl;
+
+        Access(byte op, long time, long hash, long ttl) {
+            this.op = op;
+            this.time = time;
+            this.hash = hash;
+            this.ttl = ttl;
+        }
+    }
+
+}
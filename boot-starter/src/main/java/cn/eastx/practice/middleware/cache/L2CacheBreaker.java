@@ -0,0 +1,289 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.response.ResponseEnum;
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Redis 缓存熔断器
+ *  关闭：访问 Redis 在独立线程池中执行并限制超时，连续失败（超时、异常、线程池满）达到阈值后熔断
+ *  熔断：不访问 Redis，到期后进入半开状态
+ *  半开：放行有限次数的探测，全部成功后关闭，任一失败重新熔断
+ *  熔断期间调用方只使用本地缓存，直接调用方法时通过 {@link #tryAcquireBulkhead()} 限制并发
+ *
+ * @see CacheProperties.Breaker 配置
+ * @see MethodCacheAspect 方法缓存降级处理
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class L2CacheBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(L2CacheBreaker.class);
+
+    /** 熔断器状态指标名称 */
+    public static final String METRIC_STATE = "practice.cache.breaker.state";
+    /** 熔断器拒绝次数指标名称 */
+    public static final String METRIC_REJECTED = "practice.cache.breaker.rejected";
+
+    private static final AtomicReference<State> STATE = new AtomicReference<>(State.CLOSED);
+    /** 连续失败次数 */
+    private static final AtomicInteger FAILURE_COUNT = new AtomicInteger();
+    /** 半开状态剩余探测次数 */
+    private static final AtomicInteger PROBE_PERMITS = new AtomicInteger();
+    /** 半开状态探测成功次数 */
+    private static final AtomicInteger PROBE_SUCCESS = new AtomicInteger();
+    /** 熔断开始时间，单位毫秒 */
+    private static volatile long openTime;
+
+    private static volatile ExecutorService executor;
+    private static volatile Semaphore bulkhead;
+
+    private L2CacheBreaker() {}
+
+    /**
+     * 是否开启熔断
+     */
+    public static boolean isEnabled() {
+        return CacheProperties.getBreaker().isEnabled();
+    }
+
+    /**
+     * 当前是否允许访问 Redis
+     *  熔断到期时转换为半开状态并分配探测次数
+     *
+     * @return 是否允许访问
+     */
+    public static boolean allowRequest() {
+        if (!isEnabled()) {
+            return true;
+        }
+
+        CacheProperties.Breaker config = CacheProperties.getBreaker();
+        State state = STATE.get();
+        if (state == State.CLOSED) {
+            return true;
+        } else if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openTime < config.getOpenDuration()) {
+                return false;
+            }
+
+            if (STATE.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                PROBE_SUCCESS.set(0);
+                PROBE_PERMITS.set(config.getHalfOpenPermits());
+                recordState(State.HALF_OPEN);
+            }
+        }
+
+        return PROBE_PERMITS.getAndDecrement() > 0;
+    }
+
+    /**
+     * 通过熔断器访问 Redis
+     *
+     * @param supplier Redis 访问
+     * @return 访问结果
+     * @throws RejectedException 熔断中、超时、线程池满或访问异常
+     */
+    public static <T> T call(Supplier<T> supplier) {
+        if (!isEnabled()) {
+            return supplier.get();
+        }
+
+        if (!allowRequest()) {
+            CacheMetrics.increment(METRIC_REJECTED, "reason", "open");
+            throw new RejectedException("open", null);
+        }
+
+        // 半开状态下已占用探测次数，调用方线程中断（非 Redis 异常）时需归还
+        boolean probe = STATE.get() == State.HALF_OPEN;
+        Future<T> future;
+        try {
+            future = getExecutor().submit(supplier::get);
+        } catch (RejectedExecutionException e) {
+            onFailure();
+            CacheMetrics.increment(METRIC_REJECTED, "reason", "full");
+            throw new RejectedException("full", e);
+        }
+
+        try {
+            T result = future.get(CacheProperties.getBreaker().getTimeout(), TimeUnit.MILLISECONDS);
+            onSuccess();
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            onFailure();
+            CacheMetrics.increment(METRIC_REJECTED, "reason", "timeout");
+            throw new RejectedException("timeout", e);
+        } catch (ExecutionException e) {
+            onFailure();
+            CacheMetrics.increment(METRIC_REJECTED, "reason", "error");
+            throw new RejectedException("error", e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            if (probe) {
+                PROBE_PERMITS.incrementAndGet();
+            }
+
+            Thread.currentThread().interrupt();
+            CacheMetrics.increment(METRIC_REJECTED, "reason", "interrupted");
+            throw new RejectedException("interrupted", e);
+        }
+    }
+
+    /**
+     * 通过熔断器访问 Redis（无返回值）
+     *
+     * @param runnable Redis 访问
+     * @throws RejectedException 熔断中、超时、线程池满或访问异常
+     */
+    public static void run(Runnable runnable) {
+        call(() -> {
+            runnable.run();
+            return null;
+        });
+    }
+
+    /**
+     * 获取直接调用方法的并发许可，获取成功后需调用 {@link #releaseBulkhead()} 释放
+     *
+     * @return 是否获取成功
+     */
+    public static boolean tryAcquireBulkhead() {
+        boolean acquired = getBulkhead().tryAcquire();
+        if (!acquired) {
+            CacheMetrics.increment(METRIC_REJECTED, "reason", "bulkhead");
+        }
+
+        return acquired;
+    }
+
+    /**
+     * 获取直接调用方法的并发许可，获取失败抛出服务繁忙异常
+     */
+    public static void acquireBulkhead() {
+        if (!tryAcquireBulkhead()) {
+            throw ResponseEnum.SERVER_BUSY.newException();
+        }
+    }
+
+    /**
+     * 释放直接调用方法的并发许可
+     */
+    public static void releaseBulkhead() {
+        getBulkhead().release();
+    }
+
+    /**
+     * 获取当前状态
+     */
+    public static State getState() {
+        return STATE.get();
+    }
+
+    private static void onSuccess() {
+        State state = STATE.get();
+        if (state == State.CLOSED) {
+            FAILURE_COUNT.set(0);
+        } else if (state == State.HALF_OPEN
+                && PROBE_SUCCESS.incrementAndGet() >= CacheProperties.getBreaker().getHalfOpenPermits()
+                && STATE.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            FAILURE_COUNT.set(0);
+            recordState(State.CLOSED);
+            logger.info("[L2CacheBreaker]探测成功，熔断关闭");
+        }
+    }
+
+    private static void onFailure() {
+        State state = STATE.get();
+        if (state == State.HALF_OPEN) {
+            open(State.HALF_OPEN);
+        } else if (state == State.CLOSED
+                && FAILURE_COUNT.incrementAndGet() >= CacheProperties.getBreaker().getFailureThreshold()) {
+            open(State.CLOSED);
+        }
+    }
+
+    private static void open(State from) {
+        if (STATE.compareAndSet(from, State.OPEN)) {
+            openTime = System.currentTimeMillis();
+            FAILURE_COUNT.set(0);
+            recordState(State.OPEN);
+            logger.warn("[L2CacheBreaker]Redis 访问失败达到阈值，熔断开启, from={}", from);
+        }
+    }
+
+    private static void recordState(State state) {
+        CacheMetrics.gauge(METRIC_STATE, state.getCode());
+    }
+
+    /**
+     * 获取 Redis 访问线程池，线程满时直接拒绝
+     */
+    private static ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (L2CacheBreaker.class) {
+                if (executor == null) {
+                    int maxConcurrent = CacheProperties.getBreaker().getMaxConcurrent();
+                    executor = TtlExecutors.getTtlExecutorService(new ThreadPoolExecutor(
+                            maxConcurrent, maxConcurrent, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                            new ThreadFactoryBuilder().setNameFormat("l2-cache-breaker-%d").setDaemon(true).build(),
+                            new ThreadPoolExecutor.AbortPolicy()));
+                }
+            }
+        }
+
+        return executor;
+    }
+
+    private static Semaphore getBulkhead() {
+        if (bulkhead == null) {
+            synchronized (L2CacheBreaker.class) {
+                if (bulkhead == null) {
+                    bulkhead = new Semaphore(CacheProperties.getBreaker().getBulkhead());
+                }
+            }
+        }
+
+        return bulkhead;
+    }
+
+    /**
+     * 熔断器状态
+     */
+    @Getter
+    @AllArgsConstructor
+    public enum State {
+        /** 关闭，正常访问 */
+        CLOSED(0),
+        /** 熔断，不访问 */
+        OPEN(1),
+        /** 半开，有限探测 */
+        HALF_OPEN(2),
+        ;
+
+        /** 指标值 */
+        private final int code;
+    }
+
+    /**
+     * 熔断器拒绝访问异常
+     */
+    public static class RejectedException extends RuntimeException {
+
+        public RejectedException(String reason, Throwable cause) {
+            super("l2 cache rejected: " + reason, cause);
+        }
+
+    }
+
+}
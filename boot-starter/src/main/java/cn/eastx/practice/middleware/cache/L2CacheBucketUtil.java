@@ -0,0 +1,324 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.util.GeneralUtil;
+import cn.eastx.practice.common.util.JsonUtil;
+import com.google.common.hash.Hashing;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.lang.Nullable;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级缓存小值分桶存储工具类
+ *  小值按缓存 key 哈希写入 Redis Hash 分桶，字段为缓存 key，值为 过期时间|存储值JSON，
+ *  分桶使用 listpack 紧凑编码，避免每个小值单独占用一个 key 的额外内存
+ *  分桶数量根据预计缓存数量计算，保证单个分桶字段数量不超过 hash-max-listpack-entries，
+ *  字段（缓存 key）及值（过期时间|存储值JSON）按 UTF-8 字节计算大小，不超过 hash-max-listpack-value
+ *  字段过期：开启 fieldExpire 时使用 HPEXPIRE（Redis 7.4+），否则写入时清除分桶内过期字段、读取时惰性清除，
+ *  分桶存活时长只延长不缩短，长期无写入的分桶整体过期
+ *
+ * @see CacheProperties.Bucket 配置
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class L2CacheBucketUtil {
+
+    /** 分桶 key 前缀，完整 key 为 前缀 + 分桶序号 */
+    private static final String BUCKET_PREFIX = "l2:cache:bucket:";
+    /** 过期时间与存储值分隔符 */
+    private static final char SEPARATOR = '|';
+    /** 写入时清除过期字段最多检查的字段数量倍数（相对单个分桶最大字段数量） */
+    private static final int SWEEP_FACTOR = 2;
+
+    /**
+     * 分桶写入脚本
+     */
+    private static final DefaultRedisScript<Long> BUCKET_SET_SCRIPT;
+    /**
+     * 分桶过期字段清除脚本
+     */
+    private static final DefaultRedisScript<Long> BUCKET_EXPIRE_SCRIPT;
+
+    static {
+        BUCKET_SET_SCRIPT = new DefaultRedisScript<>();
+        BUCKET_SET_SCRIPT.setScriptSource(new ResourceScriptSource(new ClassPathResource(
+                "scripts/l2_cache_bucket_set.lua")));
+        BUCKET_SET_SCRIPT.setResultType(Long.class);
+
+        BUCKET_EXPIRE_SCRIPT = new DefaultRedisScript<>();
+        BUCKET_EXPIRE_SCRIPT.setScriptSource(new ResourceScriptSource(new ClassPathResource(
+                "scripts/l2_cache_bucket_expire.lua")));
+        BUCKET_EXPIRE_SCRIPT.setResultType(Long.class);
+    }
+
+    private L2CacheBucketUtil() {}
+
+    /**
+     * 是否开启分桶存储
+     *
+     * @return 是否开启
+     */
+    public static boolean isEnabled() {
+        return CacheProperties.getBucket().isEnabled();
+    }
+
+    /**
+     * 缓存配置是否使用分桶存储
+     *
+     * @param config 两级缓存配置
+     * @return 是否使用分桶存储
+     */
+    public static boolean isEnabled(L2CacheUtil.Config config) {
+        return config.isBucket() && isEnabled();
+    }
+
+    /**
+     * 获取缓存 key 所在分桶
+     *
+     * @param key 缓存key
+     * @return 分桶key
+     */
+    public static String bucketKey(String key) {
+        int hash = Hashing.murmur3_32_fixed().hashString(key, StandardCharsets.UTF_8).asInt();
+        return BUCKET_PREFIX + Math.floorMod(hash, CacheProperties.getBucket().getActualBucketNum());
+    }
+
+    /**
+     * 获取分桶存储值
+     *
+     * @param key 缓存key
+     * @return 分桶存储值，未开启、不存在或已过期返回 null
+     */
+    @Nullable
+    public static BucketVal get(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+
+        String bucketKey = bucketKey(key);
+        return parse(bucketKey, key, RedisUtil.strOpsHash().get(bucketKey, key));
+    }
+
+    /**
+     * 获取分桶存储值，缓存配置未使用分桶存储时不读取分桶
+     *
+     * @param key 缓存key
+     * @param config 两级缓存配置
+     * @return 分桶存储值，未使用、不存在或已过期返回 null
+     */
+    @Nullable
+    public static BucketVal get(String key, L2CacheUtil.Config config) {
+        return isEnabled(config) ? get(key) : null;
+    }
+
+    /**
+     * 批量获取分桶存储值，缓存配置未使用分桶存储时不读取分桶
+     *
+     * @param keys 缓存key集合
+     * @param config 两级缓存配置
+     * @return 缓存key 与 分桶存储值 对应Map，不包含不存在或已过期的 key
+     */
+    public static Map<String, BucketVal> get(Collection<String> keys, L2CacheUtil.Config config) {
+        return isEnabled(config) ? get(keys) : Collections.emptyMap();
+    }
+
+    /**
+     * 批量获取分桶存储值，通过管道执行
+     *
+     * @param keys 缓存key集合
+     * @return 缓存key 与 分桶存储值 对应Map，不包含不存在或已过期的 key
+     */
+    public static Map<String, BucketVal> get(Collection<String> keys) {
+        if (!isEnabled() || GeneralUtil.isEmpty(keys)) {
+            return Collections.emptyMap();
+        }
+
+        List<String> keyList = new ArrayList<>(keys);
+        List<Object> envelopeList = RedisUtil.strTemplate().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                StringRedisTemplate template = (StringRedisTemplate) operations;
+                for (String key : keyList) {
+                    template.opsForHash().get(bucketKey(key), key);
+                }
+
+                return null;
+            }
+        });
+
+        Map<String, BucketVal> resultMap = new HashMap<>();
+        for (int i = 0, size = keyList.size(); i < size; i++) {
+            String key = keyList.get(i);
+            BucketVal bucketVal = parse(bucketKey(key), key, envelopeList.get(i));
+            if (bucketVal != null) {
+                resultMap.put(key, bucketVal);
+            }
+        }
+
+        return resultMap;
+    }
+
+    /**
+     * 写入分桶，同时清除普通 key 中的旧值
+     *  字段值或任一缓存 key 超过分桶最大大小时清除分桶中的旧值并返回 false，由调用方使用普通 key 存储
+     *
+     * @param keys 缓存key集合
+     * @param cacheVal 存储值
+     * @param duration 缓存时长，单位秒
+     * @return 是否已写入分桶
+     */
+    public static boolean set(Collection<String> keys, Object cacheVal, long duration) {
+        CacheProperties.Bucket config = CacheProperties.getBucket();
+        String valJson = JsonUtil.defFacade().toJsonStr(cacheVal);
+        long now = System.currentTimeMillis();
+        long ttlMillis = TimeUnit.SECONDS.toMillis(duration);
+        String envelope = valJson == null ? null
+                : Long.toString(now + ttlMillis, Character.MAX_RADIX) + SEPARATOR + valJson;
+        if (!fitBucket(envelope, config) || !keys.stream().allMatch(key -> fitBucket(key, config))) {
+            delete(keys);
+            return false;
+        }
+
+        String sweepCount = String.valueOf(config.getMaxBucketEntries() * SWEEP_FACTOR);
+        for (Map.Entry<String, List<String>> entry : groupByBucket(keys).entrySet()) {
+            List<String> args = new ArrayList<>(entry.getValue().size() * 2 + 4);
+            args.add(String.valueOf(ttlMillis));
+            args.add(config.isFieldExpire() ? "1" : "0");
+            args.add(String.valueOf(now));
+            args.add(sweepCount);
+            for (String key : entry.getValue()) {
+                args.add(key);
+                args.add(envelope);
+            }
+
+            RedisUtil.strTemplate().execute(BUCKET_SET_SCRIPT,
+                    Collections.singletonList(entry.getKey()), args.toArray());
+        }
+
+        // 清除普通 key 中的旧值，避免值变小后读取到旧数据
+        RedisUtil.strTemplate().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                StringRedisTemplate template = (StringRedisTemplate) operations;
+                for (String key : keys) {
+                    template.unlink(key);
+                }
+
+                return null;
+            }
+        });
+
+        return true;
+    }
+
+    /**
+     * 删除分桶中的缓存，通过管道执行
+     *
+     * @param keys 缓存key集合
+     */
+    public static void delete(Collection<String> keys) {
+        if (!isEnabled() || GeneralUtil.isEmpty(keys)) {
+            return;
+        }
+
+        Map<String, List<String>> bucketMap = groupByBucket(keys);
+        RedisUtil.strTemplate().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                StringRedisTemplate template = (StringRedisTemplate) operations;
+                for (Map.Entry<String, List<String>> entry : bucketMap.entrySet()) {
+                    template.opsForHash().delete(entry.getKey(), entry.getValue().toArray());
+                }
+
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 字段或值是否可以存储到分桶，按 UTF-8 编码后的字节数计算
+     *
+     * @param str 字段或值
+     * @param config 分桶配置
+     * @return 是否可以存储
+     */
+    static boolean fitBucket(@Nullable String str, CacheProperties.Bucket config) {
+        return str != null && str.getBytes(StandardCharsets.UTF_8).length <= config.getMaxValueSize();
+    }
+
+    /**
+     * 按分桶分组
+     */
+    private static Map<String, List<String>> groupByBucket(Collection<String> keys) {
+        Map<String, List<String>> bucketMap = new HashMap<>();
+        for (String key : keys) {
+            bucketMap.computeIfAbsent(bucketKey(key), bucketKey -> new ArrayList<>()).add(key);
+        }
+
+        return bucketMap;
+    }
+
+    /**
+     * 解析分桶字段值，已过期的字段惰性清除
+     *
+     * @param bucketKey 分桶key
+     * @param key 缓存key
+     * @param envelope 分桶字段值
+     * @return 分桶存储值，不存在或已过期返回 null
+     */
+    @Nullable
+    private static BucketVal parse(String bucketKey, String key, @Nullable Object envelope) {
+        if (!(envelope instanceof String)) {
+            return null;
+        }
+
+        String envelopeStr = (String) envelope;
+        int index = envelopeStr.indexOf(SEPARATOR);
+        long expireAt = Long.parseLong(envelopeStr.substring(0, index), Character.MAX_RADIX);
+        if (expireAt <= System.currentTimeMillis()) {
+            // 字段值未被重新写入时清除
+            RedisUtil.strTemplate().execute(BUCKET_EXPIRE_SCRIPT, Collections.singletonList(bucketKey),
+                    key, envelopeStr);
+            return null;
+        }
+
+        Object storeVal = JsonUtil.defFacade().parseObject(envelopeStr.substring(index + 1), Object.class);
+        return new BucketVal(storeVal, expireAt);
+    }
+
+    /**
+     * 分桶存储值
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class BucketVal {
+        /**
+         * 存储值
+         */
+        private final Object storeVal;
+
+        /**
+         * 过期时间戳，单位毫秒
+         */
+        private final long expireAt;
+
+        /**
+         * 剩余存活时长，单位秒
+         */
+        public long getTtl() {
+            return TimeUnit.MILLISECONDS.toSeconds(expireAt - System.currentTimeMillis());
+        }
+    }
+
+}
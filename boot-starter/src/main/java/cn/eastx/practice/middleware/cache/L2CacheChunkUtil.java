@@ -0,0 +1,392 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.util.CompressUtil;
+import cn.eastx.practice.common.util.GeneralUtil;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scripting.support.ResourceScriptSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 两级缓存大值分块存储工具类
+ *  压缩后超过阈值的缓存值拆分为多个分块 key 存储，缓存 key 只保存分块清单 {@link Manifest}
+ *  写入：分块以新版本号通过管道写入，最后写入清单，清单写入前读取方不会看到新分块，不会读到不完整的数据
+ *  读取：按清单分批通过管道获取分块，以流的方式解码、解压并反序列化，不拼接完整字符串
+ *  替换：缓存 key 对应的分块版本记录在引用 key 中，只有新值分块存储时才读取引用并缩短旧分块的存活时长，
+ *  非分块存储的写入不访问引用 key；新值不分块时旧分块不回收，存活时长略长于清单，到期自动清除
+ *  删除：通过脚本删除缓存 key 并在旧值为分块清单时返回清单，只有分块存储的 key 才缩短旧分块的存活时长
+ *  旧分块保留 graceTtl 秒，正在读取旧版本的请求仍可完成，读取期间旧分块过期时视为缓存不存在，不会读到不完整的数据
+ *
+ * @see CacheProperties.Chunk 配置
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class L2CacheChunkUtil {
+
+    /** 分块 key 前缀，完整 key 为 {前缀 + 版本号}:序号，同一版本的分块位于相同 slot */
+    private static final String CHUNK_PREFIX = "l2:cache:chunk:";
+    /** 分块引用 key 前缀，完整 key 为 前缀 + 缓存key，值为 版本号:分块数量 */
+    private static final String REF_PREFIX = "l2:cache:chunk:ref:";
+    /** 分块在清单基础上额外延长的存活时长，单位秒 */
+    private static final long CHUNK_EXTRA_TTL = 30L;
+    /** 分块清单序列化后的类型标识，删除脚本据此判断旧值是否为分块清单 */
+    private static final String MANIFEST_MARKER = Manifest.class.getName();
+    /** 分块清单序列化后的最大长度，超过的旧值不是分块清单 */
+    private static final int MANIFEST_MAX_SIZE = 1024;
+
+    /**
+     * 缓存删除脚本，旧值为分块清单时返回旧值
+     */
+    private static final DefaultRedisScript<Object> DELETE_SCRIPT;
+
+    static {
+        DELETE_SCRIPT = new DefaultRedisScript<>();
+        DELETE_SCRIPT.setScriptSource(new ResourceScriptSource(new ClassPathResource(
+                "scripts/l2_cache_chunk_delete.lua")));
+    }
+
+    private L2CacheChunkUtil() {}
+
+    /**
+     * 是否需要分块存储
+     *
+     * @param compressedStr 压缩字符串
+     * @return 是否需要分块存储
+     */
+    public static boolean needChunk(String compressedStr) {
+        CacheProperties.Chunk config = CacheProperties.getChunk();
+        return config.isEnabled() && compressedStr != null && compressedStr.length() > config.getThreshold();
+    }
+
+    /**
+     * 是否开启分块存储
+     *
+     * @return 是否开启
+     */
+    public static boolean isEnabled() {
+        return CacheProperties.getChunk().isEnabled();
+    }
+
+    /**
+     * 分块写入压缩字符串
+     *  压缩字符串为 Base64 编码，字符数与字节数一致
+     *
+     * @param compressedStr 压缩字符串
+     * @param value 原始数据，保存在清单中供本地缓存使用
+     * @param duration 缓存时长，单位秒
+     * @return 分块清单，需写入缓存 key
+     */
+    public static Manifest write(String compressedStr, Object value, long duration) {
+        int chunkSize = CacheProperties.getChunk().getSize();
+        int length = compressedStr.length();
+        int chunkNum = (length + chunkSize - 1) / chunkSize;
+        String version = UUID.randomUUID().toString().replace("-", "");
+        Duration ttl = Duration.ofSeconds(duration + CHUNK_EXTRA_TTL);
+        RedisUtil.strTemplate().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                StringRedisTemplate template = (StringRedisTemplate) operations;
+                for (int i = 0; i < chunkNum; i++) {
+                    String chunk = compressedStr.substring(i * chunkSize, Math.min(length, (i + 1) * chunkSize));
+                    template.opsForValue().set(chunkKey(version, i), chunk, ttl);
+                }
+
+                return null;
+            }
+        });
+
+        Manifest manifest = new Manifest(version, chunkNum, length, null);
+        manifest.setData(value);
+        return manifest;
+    }
+
+    /**
+     * 替换缓存 key 的分块引用，需在写入新的分块清单前调用，新值不分块存储时无需调用
+     *  旧版本的分块缩短存活时长，新版本的分块记录引用供下次替换时回收
+     *
+     * @param keys 缓存key集合
+     * @param manifest 新的分块清单
+     * @param duration 缓存时长，单位秒
+     */
+    public static void replace(Collection<String> keys, Manifest manifest, long duration) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return;
+        }
+
+        List<String> keyList = new ArrayList<>(keys);
+        List<Object> refList = RedisUtil.strTemplate().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                StringRedisTemplate template = (StringRedisTemplate) operations;
+                for (String key : keyList) {
+                    template.opsForValue().get(REF_PREFIX + key);
+                }
+
+                return null;
+            }
+        });
+
+        String newRef = manifest.getVersion() + ":" + manifest.getChunkNum();
+        Duration refTtl = Duration.ofSeconds(duration + CHUNK_EXTRA_TTL);
+        Duration graceTtl = Duration.ofSeconds(CacheProperties.getChunk().getGraceTtl());
+        RedisUtil.strTemplate().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                StringRedisTemplate template = (StringRedisTemplate) operations;
+                for (int i = 0, size = keyList.size(); i < size; i++) {
+                    Object ref = refList.get(i);
+                    if (ref instanceof String && !Objects.equals(ref, newRef)) {
+                        String refStr = (String) ref;
+                        int index = refStr.lastIndexOf(':');
+                        expireChunks(template, refStr.substring(0, index),
+                                Integer.parseInt(refStr.substring(index + 1)), graceTtl);
+                    }
+
+                    template.opsForValue().set(REF_PREFIX + keyList.get(i), newRef, refTtl);
+                }
+
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 删除缓存 key，旧值为分块清单时回收旧分块
+     *  通过脚本删除并返回分块清单，与直接删除相同只需一次管道请求，非分块存储的 key 不访问引用 key 及分块
+     *
+     * @param keys 缓存key集合
+     */
+    public static void delete(List<String> keys) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return;
+        }
+
+        RedisTemplate<String, Object> redisTemplate = RedisUtil.defTemplate();
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        byte[] script = DELETE_SCRIPT.getScriptAsString().getBytes(StandardCharsets.UTF_8);
+        byte[] marker = MANIFEST_MARKER.getBytes(StandardCharsets.UTF_8);
+        byte[] maxSize = String.valueOf(MANIFEST_MAX_SIZE).getBytes(StandardCharsets.UTF_8);
+        List<Object> oldList = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                connection.scriptingCommands().eval(script, ReturnType.VALUE, 1,
+                        keySerializer.serialize(key), marker, maxSize);
+            }
+
+            return null;
+        }, redisTemplate.getValueSerializer());
+
+        Map<String, Manifest> manifestMap = new HashMap<>();
+        for (int i = 0, size = keys.size(); i < size; i++) {
+            Object old = oldList.get(i);
+            Object data = old instanceof L2CacheUtil.LogicalVal ? ((L2CacheUtil.LogicalVal) old).getData() : old;
+            if (data instanceof Manifest) {
+                manifestMap.put(keys.get(i), (Manifest) data);
+            }
+        }
+
+        if (manifestMap.isEmpty()) {
+            return;
+        }
+
+        Duration graceTtl = Duration.ofSeconds(CacheProperties.getChunk().getGraceTtl());
+        RedisUtil.strTemplate().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                StringRedisTemplate template = (StringRedisTemplate) operations;
+                for (Map.Entry<String, Manifest> entry : manifestMap.entrySet()) {
+                    expireChunks(template, entry.getValue().getVersion(), entry.getValue().getChunkNum(), graceTtl);
+                    template.unlink(REF_PREFIX + entry.getKey());
+                }
+
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 缩短旧版本分块的存活时长
+     */
+    private static void expireChunks(StringRedisTemplate template, String version, int chunkNum, Duration graceTtl) {
+        for (int i = 0; i < chunkNum; i++) {
+            template.expire(chunkKey(version, i), graceTtl);
+        }
+    }
+
+    /**
+     * 读取分块数据
+     *  清单已加载过数据直接返回，否则流式读取分块并将结果保存在清单中
+     *
+     * @param manifest 分块清单
+     * @return 原始数据
+     * @throws IOException 分块缺失（已被替换或过期）或解析失败
+     */
+    public static Object read(Manifest manifest) throws IOException {
+        Object data = manifest.getData();
+        if (data != null) {
+            return data;
+        }
+
+        try (InputStream in = new ChunkInputStream(manifest)) {
+            data = CompressUtil.uncompressObj(in, Object.class);
+        }
+
+        manifest.setData(data);
+        return data;
+    }
+
+    /**
+     * 分块 key
+     */
+    private static String chunkKey(String version, int index) {
+        return RedisSlotUtil.hashTag(CHUNK_PREFIX + version, String.valueOf(index));
+    }
+
+    /**
+     * 分块清单
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Manifest {
+        /**
+         * 分块版本号
+         */
+        private String version;
+
+        /**
+         * 分块数量
+         */
+        private int chunkNum;
+
+        /**
+         * 压缩字符串总长度
+         */
+        private long size;
+
+        /**
+         * 已加载的原始数据，不进行存储
+         */
+        @JsonIgnore
+        private volatile Object data;
+    }
+
+    /**
+     * 分块输入流
+     *  按需分批通过管道获取分块，同一时间只持有一批分块
+     */
+    private static class ChunkInputStream extends InputStream {
+
+        private final Manifest manifest;
+        private final Deque<byte[]> fetchedChunks = new ArrayDeque<>();
+        private int nextIndex;
+        private byte[] current;
+        private int pos;
+
+        ChunkInputStream(Manifest manifest) {
+            this.manifest = manifest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureCurrent()) {
+                return -1;
+            }
+
+            return current[pos++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            } else if (!ensureCurrent()) {
+                return -1;
+            }
+
+            int num = Math.min(len, current.length - pos);
+            System.arraycopy(current, pos, b, off, num);
+            pos += num;
+            return num;
+        }
+
+        /**
+         * 保证当前分块可读
+         *
+         * @return 是否还有数据
+         */
+        private boolean ensureCurrent() throws IOException {
+            while (current == null || pos >= current.length) {
+                if (fetchedChunks.isEmpty() && !fetchNext()) {
+                    return false;
+                }
+
+                current = fetchedChunks.poll();
+                pos = 0;
+            }
+
+            return true;
+        }
+
+        /**
+         * 通过管道获取下一批分块
+         *
+         * @return 是否获取到分块
+         */
+        private boolean fetchNext() throws IOException {
+            int start = nextIndex;
+            int end = Math.min(manifest.getChunkNum(), start + Math.max(1, CacheProperties.getChunk().getReadBatch()));
+            if (start >= end) {
+                return false;
+            }
+
+            String version = manifest.getVersion();
+            List<Object> chunkList = RedisUtil.strTemplate().executePipelined((RedisCallback<Object>) connection -> {
+                for (int i = start; i < end; i++) {
+                    connection.stringCommands().get(chunkKey(version, i).getBytes(StandardCharsets.UTF_8));
+                }
+
+                return null;
+            }, RedisSerializer.byteArray());
+
+            for (Object chunk : chunkList) {
+                if (!(chunk instanceof byte[])) {
+                    throw new IOException("cache chunk missing, version=" + version);
+                }
+
+                fetchedChunks.add((byte[]) chunk);
+            }
+
+            nextIndex = end;
+            return true;
+        }
+    }
+
+}
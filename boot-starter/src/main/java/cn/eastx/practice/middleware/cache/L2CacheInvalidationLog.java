@@ -0,0 +1,204 @@
+package cn.eastx.practice.middleware.cache;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.RedisStreamCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级缓存失效日志（Redis Stream）
+ *  数据变更在发布订阅通知的同时追加到限长的 Stream，各节点记录最后消费的消息 ID 并定时拉取，
+ *  订阅断开期间丢失的失效消息在恢复后补偿，本地缓存可以使用更长的缓存时长
+ *  以下情况无法补偿，直接清空本地缓存并从最新位置继续消费：
+ *  1. 最后消费的消息已被裁剪（断开期间变更数量超过 Stream 长度上限）
+ *  2. 距上次拉取成功的时长超过允许的最大间隔
+ *
+ * @see CacheProperties.InvalidationLog 配置
+ * @see L2CacheUtil#onMessage 发布订阅失效
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class L2CacheInvalidationLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(L2CacheInvalidationLog.class);
+
+    /** 失效日志 Stream key */
+    private static final String STREAM_KEY = "l2:cache:invalidation";
+    /** 消息中缓存key（单个或集合）字段名称 */
+    private static final String FIELD_KEYS = "keys";
+    /** 空 Stream 的起始消息 ID */
+    private static final String INITIAL_ID = "0-0";
+
+    /** 补偿清空本地缓存次数指标名称 */
+    public static final String METRIC_FLUSH = "practice.cache.invalidation.flush";
+
+    /** 最后消费的消息 ID，未初始化时为 null */
+    private volatile String lastId;
+    /** 最后拉取成功时间，单位毫秒 */
+    private volatile long lastSuccessTime;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * 是否开启
+     */
+    public static boolean isEnabled() {
+        return CacheProperties.getInvalidationLog().isEnabled();
+    }
+
+    /**
+     * 追加失效消息，在管道中调用时随管道一起执行
+     *
+     * @param template Redis 模板
+     * @param body 缓存key或缓存key集合，与发布订阅消息体一致
+     */
+    public static void append(RedisTemplate<String, Object> template, Object body) {
+        if (!isEnabled()) {
+            return;
+        }
+
+        RedisSerializer<Object> serializer = (RedisSerializer<Object>) template.getHashValueSerializer();
+        ByteRecord record = StreamRecords.newRecord().in(STREAM_KEY.getBytes(StandardCharsets.UTF_8))
+                .ofBytes(Collections.singletonMap(FIELD_KEYS.getBytes(StandardCharsets.UTF_8),
+                        serializer.serialize(body)));
+        RedisStreamCommands.XAddOptions options = RedisStreamCommands.XAddOptions
+                .maxlen(CacheProperties.getInvalidationLog().getMaxLen()).approximateTrimming(true);
+        template.execute((RedisCallback<Object>) connection -> connection.streamCommands().xAdd(record, options));
+    }
+
+    /**
+     * 启动：从最新位置开始定时拉取
+     */
+    public void start() {
+        long interval = CacheProperties.getInvalidationLog().getPollInterval();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("l2-cache-invalidation-log").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::poll, 0, interval, TimeUnit.MILLISECONDS);
+        logger.info("[L2CacheInvalidationLog]失效日志已开启, pollInterval={}ms", interval);
+    }
+
+    /**
+     * 停止：停止拉取
+     */
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 拉取并处理失效消息，一次拉取满批次时继续拉取
+     */
+    private void poll() {
+        CacheProperties.InvalidationLog config = CacheProperties.getInvalidationLog();
+        try {
+            long now = System.currentTimeMillis();
+            if (lastId == null) {
+                lastId = latestId();
+                lastSuccessTime = now;
+                return;
+            }
+
+            if (now - lastSuccessTime > TimeUnit.SECONDS.toMillis(config.getMaxGap())) {
+                flush("gap", latestId());
+                lastSuccessTime = now;
+                return;
+            }
+
+            int count;
+            boolean checkTrimmed = true;
+            do {
+                List<MapRecord<String, Object, Object>> records = template().opsForStream().read(
+                        StreamReadOptions.empty().count(config.getBatchSize()),
+                        StreamOffset.create(STREAM_KEY, ReadOffset.from(lastId)));
+                count = records == null ? 0 : records.size();
+                if (count > 0 && checkTrimmed && isTrimmed()) {
+                    flush("trimmed", latestId());
+                    break;
+                }
+
+                checkTrimmed = false;
+                for (int i = 0; i < count; i++) {
+                    MapRecord<String, Object, Object> record = records.get(i);
+                    invalidate(record.getValue().get(FIELD_KEYS));
+                    lastId = record.getId().getValue();
+                }
+            } while (count >= config.getBatchSize());
+
+            lastSuccessTime = now;
+        } catch (Exception e) {
+            // 保留最后消费的消息 ID，恢复后补偿
+            logger.warn("[L2CacheInvalidationLog]拉取失效日志异常, lastId={}, e={}", lastId, e.toString());
+        }
+    }
+
+    /**
+     * 清除本地缓存
+     *
+     * @param body 缓存key或缓存key集合
+     */
+    private static void invalidate(Object body) {
+        if (body instanceof Collection) {
+            LocalCacheUtil.delete((Collection<String>) body);
+        } else if (body instanceof String) {
+            LocalCacheUtil.delete((String) body);
+        }
+    }
+
+    /**
+     * 无法补偿时清空本地缓存，并从指定位置继续消费
+     */
+    private void flush(String reason, String fromId) {
+        LocalCacheUtil.clear();
+        CacheMetrics.increment(METRIC_FLUSH, "reason", reason);
+        logger.warn("[L2CacheInvalidationLog]失效日志无法补偿，清空本地缓存, reason={}, lastId={}", reason, lastId);
+        lastId = fromId;
+    }
+
+    /**
+     * 最后消费的消息是否已被裁剪
+     *  近似裁剪按节点整体删除，最后消费的消息被裁剪时无法确定其后的消息是否完整，视为已裁剪
+     */
+    private boolean isTrimmed() {
+        if (INITIAL_ID.equals(lastId)) {
+            return false;
+        }
+
+        List<MapRecord<String, Object, Object>> first = template().opsForStream()
+                .range(STREAM_KEY, Range.unbounded(), RedisZSetCommands.Limit.limit().count(1));
+        return first != null && !first.isEmpty() && compareId(first.get(0).getId(), RecordId.of(lastId)) > 0;
+    }
+
+    /**
+     * 获取最新的消息 ID，Stream 为空时返回起始 ID
+     */
+    private static String latestId() {
+        List<MapRecord<String, Object, Object>> last = template().opsForStream()
+                .reverseRange(STREAM_KEY, Range.unbounded(), RedisZSetCommands.Limit.limit().count(1));
+        return last == null || last.isEmpty() ? INITIAL_ID : last.get(0).getId().getValue();
+    }
+
+    private static int compareId(RecordId a, RecordId b) {
+        int result = Long.compare(a.getTimestamp(), b.getTimestamp());
+        return result != 0 ? result : Long.compare(a.getSequence(), b.getSequence());
+    }
+
+    private static RedisTemplate<String, Object> template() {
+        return RedisUtil.defTemplate();
+    }
+
+}
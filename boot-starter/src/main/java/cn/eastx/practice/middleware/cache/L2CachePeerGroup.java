@@ -0,0 +1,613 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.util.GeneralUtil;
+import cn.eastx.practice.common.util.JsonUtil;
+import cn.hutool.extra.spring.SpringUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 两级缓存节点分组（参考 groupcache）
+ *  节点通过 Redis ZSET 注册并心跳，一致性哈希确定每个 key 的归属节点；
+ *  非归属节点通过 HTTP 从归属节点获取数据（按归属节点批量请求），只有归属节点读取 Redis 并在本地缓存，
+ *  热点 key 在非归属节点短时间复制，减少跨节点请求
+ *  加载：非归属节点未命中时将方法调用（类、方法、参数）转发到归属节点，由归属节点执行方法并写入缓存，
+ *  同一 key 的加载集中在归属节点，归属节点加载失败或超时时由调用方本地加载
+ *  安全：HTTP 服务只绑定通告地址，请求使用共享密钥 HMAC 签名（包含路径、时间戳、随机数及请求体），
+ *  时间戳超出允许的时钟偏差或随机数重复的请求拒绝；响应签名包含请求随机数，签名不匹配的响应不反序列化；
+ *  只允许转发调用 {@link MethodCacheable} 注解的方法；注册表中格式不合法或不在允许列表中的节点地址不加入哈希环
+ *
+ * @see CacheProperties.Peer 配置
+ * @see L2CacheUtil#getStoreVal(String, L2CacheUtil.Config) 读取时按归属节点获取
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class L2CachePeerGroup {
+
+    private static final Logger logger = LoggerFactory.getLogger(L2CachePeerGroup.class);
+
+    /** 节点注册 key，ZSET 成员为节点地址，分值为最近心跳时间 */
+    private static final String REGISTRY_KEY = "l2:cache:peers";
+    /** 节点间批量获取数据路径，请求体为换行分隔的 key ，参数 bucket=1 时归属节点优先从分桶读取 */
+    private static final String FETCH_PATH = "/l2cache/mget";
+    /** 节点间转发加载路径，请求体为方法调用信息 */
+    private static final String LOAD_PATH = "/l2cache/load";
+    /** 签名请求头，值为 HMAC-SHA256（Base64） */
+    private static final String SIGNATURE_HEADER = "X-L2Cache-Signature";
+    /** 请求时间戳请求头，单位毫秒 */
+    private static final String TIMESTAMP_HEADER = "X-L2Cache-Timestamp";
+    /** 请求随机数请求头，响应签名同样包含该随机数 */
+    private static final String NONCE_HEADER = "X-L2Cache-Nonce";
+    /** 归属节点读取配置，分别对应是否从分桶读取 */
+    private static final L2CacheUtil.Config OWNER_CONFIG = L2CacheUtil.Config.builder().build();
+    private static final L2CacheUtil.Config OWNER_BUCKET_CONFIG = L2CacheUtil.Config.builder().bucket(true).build();
+    /** 签名算法 */
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    /** 节点地址格式，host:port */
+    private static final Pattern PEER_PATTERN = Pattern.compile("^[A-Za-z0-9.\\-]+:\\d{1,5}$");
+    /** 从其它节点获取数据指标名称 */
+    public static final String METRIC_FETCH = "practice.cache.peer.fetch";
+    /** 转发到归属节点加载指标名称 */
+    public static final String METRIC_LOAD = "practice.cache.peer.load";
+
+    /** 当前线程是否正在处理其它节点转发的加载，处理时不再转发 */
+    private static final ThreadLocal<Boolean> FORWARDED = new ThreadLocal<>();
+
+    /** 当前生效的节点分组 */
+    private static volatile L2CachePeerGroup instance;
+
+    /** 当前节点地址，格式 host:port */
+    private String self;
+    /** 一致性哈希环 */
+    private volatile TreeMap<Integer, String> ring = new TreeMap<>();
+    /** 非归属节点 key 获取次数统计，用于判断热点 key */
+    private Cache<String, AtomicInteger> fetchCounter;
+    /** 时钟偏差窗口内已处理的请求随机数，用于拒绝重放请求 */
+    private Cache<String, Boolean> nonceCache;
+
+    private HttpServer server;
+    private ScheduledExecutorService scheduler;
+    /** 并行请求各归属节点 */
+    private ExecutorService fetchExecutor;
+
+    /**
+     * 获取当前生效的节点分组
+     *
+     * @return 节点分组，未开启返回 null
+     */
+    @Nullable
+    public static L2CachePeerGroup getInstance() {
+        return instance;
+    }
+
+    /**
+     * 启动：开启 HTTP 服务、注册节点并定时心跳
+     */
+    public void start() throws IOException {
+        CacheProperties.Peer config = CacheProperties.getPeer();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        if (GeneralUtil.isEmpty(config.getSecret())) {
+            logger.error("[L2CachePeerGroup]未配置节点间通信密钥 secret，不开启节点分组");
+            return;
+        }
+
+        String host = GeneralUtil.isNotEmpty(config.getHost())
+                ? config.getHost() : InetAddress.getLocalHost().getHostAddress();
+        this.self = host + ":" + config.getPort();
+        this.fetchCounter = Caffeine.newBuilder()
+                .expireAfterWrite(config.getHotWindow(), TimeUnit.SECONDS)
+                .maximumSize(CacheProperties.getLocalMaxSize())
+                .build();
+        this.nonceCache = Caffeine.newBuilder()
+                .expireAfterWrite(config.getMaxClockSkew() * 2, TimeUnit.SECONDS)
+                .build();
+
+        // 只绑定通告地址，不监听全部网卡
+        server = HttpServer.create(new InetSocketAddress(host, config.getPort()), 0);
+        server.createContext(FETCH_PATH, this::handleFetch);
+        server.createContext(LOAD_PATH, this::handleLoad);
+        server.setExecutor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new ThreadFactoryBuilder().setNameFormat("l2-cache-peer-%d").setDaemon(true).build()));
+        server.start();
+        fetchExecutor = Executors.newCachedThreadPool(
+                new ThreadFactoryBuilder().setNameFormat("l2-cache-peer-fetch-%d").setDaemon(true).build());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("l2-cache-peer-heartbeat").setDaemon(true).build());
+        heartbeat();
+        scheduler.scheduleWithFixedDelay(this::heartbeat, config.getHeartbeatInterval(),
+                config.getHeartbeatInterval(), TimeUnit.SECONDS);
+
+        instance = this;
+        logger.info("[L2CachePeerGroup]节点分组已启动, self={}", self);
+    }
+
+    /**
+     * 停止：注销节点并关闭 HTTP 服务
+     */
+    public void stop() {
+        if (self == null) {
+            return;
+        }
+
+        instance = null;
+        scheduler.shutdownNow();
+        try {
+            RedisUtil.strOpsZSet().remove(REGISTRY_KEY, self);
+        } catch (Exception e) {
+            logger.warn("[L2CachePeerGroup]注销节点异常, self={}", self, e);
+        }
+
+        server.stop(0);
+        fetchExecutor.shutdownNow();
+    }
+
+    /**
+     * 心跳：刷新当前节点、移除过期节点并重建哈希环
+     */
+    private void heartbeat() {
+        try {
+            CacheProperties.Peer config = CacheProperties.getPeer();
+            long now = System.currentTimeMillis();
+            long expireTime = now - TimeUnit.SECONDS.toMillis(config.getHeartbeatInterval() * 3);
+            RedisUtil.strOpsZSet().add(REGISTRY_KEY, self, now);
+            RedisUtil.strOpsZSet().removeRangeByScore(REGISTRY_KEY, 0, expireTime);
+
+            Set<String> peers = RedisUtil.strOpsZSet().range(REGISTRY_KEY, 0, -1);
+            TreeMap<Integer, String> newRing = new TreeMap<>();
+            for (String peer : Optional.ofNullable(peers).orElse(Collections.singleton(self))) {
+                if (!isValidPeer(peer, config)) {
+                    logger.warn("[L2CachePeerGroup]忽略不合法的节点地址, peer={}", peer);
+                    continue;
+                }
+
+                for (int i = 0; i < config.getVirtualNodes(); i++) {
+                    newRing.put(hash(peer + "#" + i), peer);
+                }
+            }
+
+            this.ring = newRing;
+        } catch (Exception e) {
+            logger.warn("[L2CachePeerGroup]节点心跳异常, self={}", self, e);
+        }
+    }
+
+    /**
+     * 节点地址是否合法：格式为 host:port，配置了允许列表时 host 需在列表中
+     */
+    private boolean isValidPeer(String peer, CacheProperties.Peer config) {
+        if (Objects.equals(self, peer)) {
+            return true;
+        } else if (peer == null || !PEER_PATTERN.matcher(peer).matches()) {
+            return false;
+        }
+
+        int port = Integer.parseInt(peer.substring(peer.lastIndexOf(':') + 1));
+        return port > 0 && port <= 65535 && (GeneralUtil.isEmpty(config.getAllowedHosts())
+                || config.getAllowedHosts().contains(peer.substring(0, peer.lastIndexOf(':'))));
+    }
+
+    /**
+     * 获取 key 的归属节点
+     *
+     * @param key 缓存key
+     * @return 归属节点地址
+     */
+    public String ownerOf(String key) {
+        TreeMap<Integer, String> theRing = this.ring;
+        if (theRing.isEmpty()) {
+            return self;
+        }
+
+        Map.Entry<Integer, String> entry = theRing.ceilingEntry(hash(key));
+        return (entry != null ? entry : theRing.firstEntry()).getValue();
+    }
+
+    /**
+     * key 是否归属当前节点
+     *
+     * @param key 缓存key
+     * @return 是否归属当前节点
+     */
+    public boolean isOwner(String key) {
+        return Objects.equals(self, ownerOf(key));
+    }
+
+    /**
+     * 当前节点是否可以将 key 写入本地缓存
+     *  未开启节点分组时均可写入，开启后只有归属节点写入（热点复制除外）
+     *
+     * @param key 缓存key
+     * @return 是否可以写入本地缓存
+     */
+    public static boolean isLocalOwner(String key) {
+        L2CachePeerGroup peerGroup = instance;
+        return peerGroup == null || peerGroup.isOwner(key);
+    }
+
+    /**
+     * 从归属节点获取存储值
+     *  获取次数达到热点阈值时复制到本地缓存
+     *
+     * @param key 缓存key
+     * @param config 两级缓存配置，缓存使用分桶存储时归属节点优先从分桶读取
+     * @return 存储值，归属节点不存在返回 null
+     * @throws IOException 节点请求失败，调用方需自行降级
+     */
+    @Nullable
+    public Object fetch(String key, L2CacheUtil.Config config) throws IOException {
+        return fetchFromOwner(ownerOf(key), Collections.singletonList(key), config).get(key);
+    }
+
+    /**
+     * 按归属节点分组，并行从各归属节点批量获取存储值
+     *  获取次数达到热点阈值时复制到本地缓存
+     *
+     * @param keys 缓存key集合，均不归属当前节点
+     * @param config 两级缓存配置，缓存使用分桶存储时归属节点优先从分桶读取
+     * @return key 与 存储值 对应Map，归属节点不存在的 key 值为 null，请求失败的归属节点的 key 不包含在内
+     */
+    public Map<String, Object> fetch(Collection<String> keys, L2CacheUtil.Config config) {
+        Map<String, List<String>> ownerMap = new HashMap<>();
+        for (String key : keys) {
+            ownerMap.computeIfAbsent(ownerOf(key), k -> new ArrayList<>()).add(key);
+        }
+
+        Map<String, CompletableFuture<Map<String, Object>>> futureMap = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : ownerMap.entrySet()) {
+            futureMap.put(entry.getKey(), CompletableFuture.supplyAsync(() -> {
+                try {
+                    return fetchFromOwner(entry.getKey(), entry.getValue(), config);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, fetchExecutor));
+        }
+
+        Map<String, Object> resultMap = new HashMap<>();
+        for (Map.Entry<String, CompletableFuture<Map<String, Object>>> entry : futureMap.entrySet()) {
+            try {
+                resultMap.putAll(entry.getValue().join());
+            } catch (CompletionException e) {
+                logger.warn("[L2CachePeerGroup]从归属节点批量获取失败, owner={}, e={}",
+                        entry.getKey(), String.valueOf(e.getCause()));
+            }
+        }
+
+        return resultMap;
+    }
+
+    /**
+     * 从归属节点批量获取存储值
+     *
+     * @param owner 归属节点
+     * @param keys 缓存key集合
+     * @param config 两级缓存配置
+     * @return key 与 存储值 对应Map，不存在的 key 值为 null
+     * @throws IOException 节点请求失败或响应签名不匹配
+     */
+    private Map<String, Object> fetchFromOwner(String owner, List<String> keys, L2CacheUtil.Config config)
+            throws IOException {
+        CacheProperties.Peer peerConfig = CacheProperties.getPeer();
+        byte[] reqBody = String.join("\n", keys).getBytes(StandardCharsets.UTF_8);
+        String uri = FETCH_PATH + "?bucket=" + (L2CacheBucketUtil.isEnabled(config) ? "1" : "0");
+        byte[] respBody = post(owner, uri, reqBody, peerConfig.getTimeout());
+
+        Map<String, Object> valMap = (Map<String, Object>) valueSerializer().deserialize(respBody);
+        Map<String, Object> resultMap = Maps.newHashMapWithExpectedSize(keys.size());
+        for (String key : keys) {
+            Object val = valMap == null ? null : valMap.get(key);
+            resultMap.put(key, val);
+            CacheMetrics.increment(METRIC_FETCH, "result", val == null ? "miss" : "hit");
+            if (val != null) {
+                AtomicInteger counter = fetchCounter.get(key, k -> new AtomicInteger());
+                if (counter.incrementAndGet() >= peerConfig.getHotThreshold()) {
+                    // 热点 key 本地复制，数据变更时通过发布订阅清除
+                    LocalCacheUtil.set(key, val, peerConfig.getHotTtl());
+                }
+            }
+        }
+
+        return resultMap;
+    }
+
+    /**
+     * 转发到归属节点加载
+     *  归属节点执行方法（经过缓存切面）并写入缓存后返回，调用方需重新读取缓存
+     *
+     * @param key 缓存key，用于确定归属节点
+     * @param target 方法所属对象
+     * @param method 方法
+     * @param args 方法参数
+     * @return 归属节点是否已加载，请求失败、超时或参数无法序列化时返回 false，调用方需本地加载
+     */
+    public boolean load(String key, Object target, Method method, Object[] args) {
+        CacheProperties.Peer config = CacheProperties.getPeer();
+        String owner = ownerOf(key);
+        try {
+            Map<String, Object> request = new HashMap<>();
+            request.put("class", ClassUtils.getUserClass(target).getName());
+            request.put("method", method.getName());
+            List<String> paramTypes = new ArrayList<>();
+            for (Class<?> paramType : method.getParameterTypes()) {
+                paramTypes.add(paramType.getName());
+            }
+            request.put("paramTypes", paramTypes);
+            request.put("args", Arrays.asList(args));
+
+            post(owner, LOAD_PATH, valueSerializer().serialize(request), config.getLoadTimeout());
+            CacheMetrics.increment(METRIC_LOAD, "result", "owner");
+            return true;
+        } catch (IOException | RuntimeException e) {
+            CacheMetrics.increment(METRIC_LOAD, "result", "fallback");
+            logger.warn("[L2CachePeerGroup]转发到归属节点加载失败，本地加载, owner={}, key={}, e={}",
+                    owner, key, e.toString());
+            return false;
+        }
+    }
+
+    /**
+     * 当前线程是否正在处理其它节点转发的加载
+     *
+     * @return 是否正在处理转发的加载
+     */
+    public static boolean isForwarded() {
+        return Boolean.TRUE.equals(FORWARDED.get());
+    }
+
+    /**
+     * 向其它节点发送签名请求，校验响应签名
+     *
+     * @param owner 节点地址
+     * @param uri 请求路径（含参数）
+     * @param reqBody 请求体
+     * @param timeout 读取超时时长，单位毫秒
+     * @return 响应体
+     * @throws IOException 请求失败、超时或响应签名不匹配
+     */
+    private byte[] post(String owner, String uri, byte[] reqBody, int timeout) throws IOException {
+        String timestamp = String.valueOf(System.currentTimeMillis());
+        String nonce = UUID.randomUUID().toString();
+        HttpURLConnection conn = (HttpURLConnection) new URL("http://" + owner + uri).openConnection();
+        conn.setConnectTimeout(CacheProperties.getPeer().getTimeout());
+        conn.setReadTimeout(timeout);
+        conn.setRequestMethod("POST");
+        conn.setDoOutput(true);
+        conn.setRequestProperty(TIMESTAMP_HEADER, timestamp);
+        conn.setRequestProperty(NONCE_HEADER, nonce);
+        conn.setRequestProperty(SIGNATURE_HEADER, sign(reqBody, uri, timestamp, nonce));
+        try (OutputStream out = conn.getOutputStream()) {
+            out.write(reqBody);
+        }
+
+        int status = conn.getResponseCode();
+        if (status != HttpURLConnection.HTTP_OK) {
+            throw new IOException("peer request failed, owner=" + owner + ", uri=" + uri + ", status=" + status);
+        }
+
+        byte[] respBody;
+        try (InputStream in = conn.getInputStream()) {
+            respBody = ByteStreams.toByteArray(in);
+        }
+
+        // 签名校验通过后才反序列化，避免反序列化非分组节点的数据
+        if (!verify(respBody, conn.getHeaderField(SIGNATURE_HEADER), nonce)) {
+            throw new IOException("peer response signature mismatch, owner=" + owner);
+        }
+
+        return respBody;
+    }
+
+    /**
+     * 处理其它节点的批量获取请求，由当前节点按两级缓存读取
+     */
+    private void handleFetch(HttpExchange exchange) throws IOException {
+        try {
+            byte[] reqBody = readRequest(exchange);
+            if (reqBody == null) {
+                return;
+            }
+
+            L2CacheUtil.Config config = exchange.getRequestURI().toString().endsWith("bucket=1")
+                    ? OWNER_BUCKET_CONFIG : OWNER_CONFIG;
+            Map<String, Object> valMap = new HashMap<>();
+            for (String key : new String(reqBody, StandardCharsets.UTF_8).split("\n")) {
+                Object val = GeneralUtil.isEmpty(key) ? null : L2CacheUtil.getOwnedStoreVal(key, config);
+                if (val != null) {
+                    valMap.put(key, val);
+                }
+            }
+
+            sendResponse(exchange, valueSerializer().serialize(valMap));
+        } catch (Exception e) {
+            logger.warn("[L2CachePeerGroup]处理节点请求异常, uri={}", exchange.getRequestURI(), e);
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_INTERNAL_ERROR, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 处理其它节点转发的加载请求
+     *  通过 Spring 容器中的 Bean（代理对象）调用方法，由缓存切面加载并写入缓存，方法异常同样由切面缓存
+     *  只允许调用 {@link MethodCacheable} 注解的方法，处理期间不再转发
+     */
+    private void handleLoad(HttpExchange exchange) throws IOException {
+        try {
+            byte[] reqBody = readRequest(exchange);
+            if (reqBody == null) {
+                return;
+            }
+
+            Map<String, Object> request = (Map<String, Object>) valueSerializer().deserialize(reqBody);
+            ClassLoader classLoader = ClassUtils.getDefaultClassLoader();
+            Class<?> clazz = ClassUtils.forName((String) request.get("class"), classLoader);
+            List<String> paramTypeNames = (List<String>) request.get("paramTypes");
+            Class<?>[] paramTypes = new Class<?>[paramTypeNames.size()];
+            for (int i = 0; i < paramTypes.length; i++) {
+                paramTypes[i] = ClassUtils.forName(paramTypeNames.get(i), classLoader);
+            }
+
+            Method method = clazz.getMethod((String) request.get("method"), paramTypes);
+            if (AnnotationUtils.findAnnotation(method, MethodCacheable.class) == null) {
+                exchange.sendResponseHeaders(HttpURLConnection.HTTP_FORBIDDEN, -1);
+                return;
+            }
+
+            List<Object> argList = (List<Object>) request.get("args");
+            Object[] args = new Object[paramTypes.length];
+            for (int i = 0; i < args.length; i++) {
+                Object arg = argList.get(i);
+                args[i] = arg == null || ClassUtils.isAssignableValue(paramTypes[i], arg)
+                        ? arg : JsonUtil.defFacade().getObjectMapper().convertValue(arg, paramTypes[i]);
+            }
+
+            FORWARDED.set(Boolean.TRUE);
+            try {
+                method.invoke(SpringUtil.getBean(clazz), args);
+            } catch (InvocationTargetException e) {
+                // 方法异常已由缓存切面缓存，调用方重新读取缓存时获取
+                logger.debug("[L2CachePeerGroup]转发加载方法异常, method={}, e={}", method, e.getCause().toString());
+            } finally {
+                FORWARDED.remove();
+            }
+
+            sendResponse(exchange, new byte[0]);
+        } catch (Exception e) {
+            logger.warn("[L2CachePeerGroup]处理转发加载异常, uri={}", exchange.getRequestURI(), e);
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_INTERNAL_ERROR, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * 读取并校验请求：请求方法、时间戳、签名及随机数
+     *  校验不通过时响应 403
+     *
+     * @param exchange HTTP 请求
+     * @return 请求体，校验不通过返回 null
+     */
+    @Nullable
+    private byte[] readRequest(HttpExchange exchange) throws IOException {
+        byte[] reqBody;
+        try (InputStream in = exchange.getRequestBody()) {
+            reqBody = ByteStreams.toByteArray(in);
+        }
+
+        Headers headers = exchange.getRequestHeaders();
+        String timestamp = headers.getFirst(TIMESTAMP_HEADER);
+        String nonce = headers.getFirst(NONCE_HEADER);
+        boolean valid = "POST".equals(exchange.getRequestMethod()) && timestamp != null && nonce != null
+                && isFresh(timestamp) && verify(reqBody, headers.getFirst(SIGNATURE_HEADER),
+                exchange.getRequestURI().toString(), timestamp, nonce)
+                // 签名校验通过后记录随机数，时钟偏差窗口内重复的请求视为重放
+                && nonceCache.asMap().putIfAbsent(nonce, Boolean.TRUE) == null;
+        if (!valid) {
+            exchange.sendResponseHeaders(HttpURLConnection.HTTP_FORBIDDEN, -1);
+            return null;
+        }
+
+        exchange.setAttribute(NONCE_HEADER, nonce);
+        return reqBody;
+    }
+
+    /**
+     * 发送签名响应，签名包含请求随机数
+     */
+    private static void sendResponse(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set(SIGNATURE_HEADER,
+                sign(body, (String) exchange.getAttribute(NONCE_HEADER)));
+        exchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, body.length == 0 ? -1 : body.length);
+        if (body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * 请求时间戳是否在允许的时钟偏差内
+     */
+    private static boolean isFresh(String timestamp) {
+        try {
+            long skewMillis = TimeUnit.SECONDS.toMillis(CacheProperties.getPeer().getMaxClockSkew());
+            return Math.abs(System.currentTimeMillis() - Long.parseLong(timestamp)) <= skewMillis;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 使用共享密钥签名
+     *
+     * @param body 请求体或响应体
+     * @param parts 参与签名的其它内容，如路径、时间戳、随机数
+     * @return 签名（Base64）
+     */
+    private static String sign(byte[] body, String... parts) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(new SecretKeySpec(CacheProperties.getPeer().getSecret().getBytes(StandardCharsets.UTF_8),
+                    HMAC_ALGORITHM));
+            for (String part : parts) {
+                mac.update(part.getBytes(StandardCharsets.UTF_8));
+                mac.update((byte) '\n');
+            }
+
+            return Base64.getEncoder().encodeToString(mac.doFinal(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 校验签名，使用固定时间比较
+     */
+    private static boolean verify(byte[] body, @Nullable String signature, String... parts) {
+        return signature != null && MessageDigest.isEqual(
+                sign(body, parts).getBytes(StandardCharsets.US_ASCII), signature.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static int hash(String str) {
+        return Hashing.murmur3_32_fixed().hashString(str, StandardCharsets.UTF_8).asInt();
+    }
+
+    private static RedisSerializer<Object> valueSerializer() {
+        return (RedisSerializer<Object>) RedisUtil.defTemplate().getValueSerializer();
+    }
+
+}
@@ -0,0 +1,303 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.middleware.config.CacheAutoConfiguration;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.lettuce.core.ReadFrom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.RedisStaticMasterReplicaConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级缓存从节点读取路由
+ *  使用独立的只读连接（按配置的 ReadFrom 选择节点）读取缓存，写入、失效、锁仍使用主节点
+ *  定时通过主节点 INFO replication 获取复制偏移量，估算从节点数据落后的时长，缓存允许的最大延迟不小于估算值时才从从节点读取
+ *
+ * 复制延迟的含义：从节点已应用主节点在 N 秒前已写入的全部数据（N 为估算值）
+ *  1. 不使用 INFO 中的 lag 字段，该字段为从节点上次 ACK 距今的秒数（约每秒一次），不反映数据落后程度
+ *  2. 每次检测记录主节点 master_repl_offset 及检测时间，从节点 offset 落后时，
+ *     找到主节点偏移量不大于从节点偏移量的最近一次记录，距今时长即为数据落后时长（按检测间隔取整，偏大）
+ *  3. 检测之间延迟可能继续增大，估算值额外加上检测间隔，因此读取到的数据落后时长不超过 replicaMaxLag
+ *  4. 从节点不在线、落后超过保留的记录、检测失败或检测结果过期时只从主节点读取
+ *  5. 从节点读取的值写入本地缓存时，保留时长不超过 replicaMaxLag 减去读取时的延迟，
+ *     避免失效通知先于从节点旧值到达时，旧值在本地缓存中保留超过 replicaMaxLag
+ *
+ * @see CacheProperties.Replica 配置
+ * @see L2CacheUtil.Config#getReplicaMaxLag() 缓存允许的最大复制延迟
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class L2CacheReplicaRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(L2CacheReplicaRouter.class);
+
+    /** 从节点复制延迟指标名称，单位秒 */
+    public static final String METRIC_LAG = "practice.cache.replica.lag";
+    /** 从节点复制落后字节数指标名称 */
+    public static final String METRIC_LAG_BYTES = "practice.cache.replica.lag.bytes";
+    /** 每个主节点保留的偏移量记录数量 */
+    private static final int MAX_SAMPLES = 64;
+
+    /** 从节点最大复制延迟，单位秒，未检测到时不从从节点读取 */
+    private static volatile long maxLag = Long.MAX_VALUE;
+    /** 最近一次检测成功时间，单位毫秒 */
+    private static volatile long checkTime = 0L;
+
+    /** 主节点（集群模式为节点地址，单机为空字符串）与 偏移量记录（按时间顺序） */
+    private final Map<String, Deque<long[]>> sampleMap = new HashMap<>();
+
+    /** 只读连接工厂，主连接工厂不是 Lettuce 时为 null，不开启从节点读取 */
+    private final LettuceConnectionFactory replicaFactory;
+    private ScheduledExecutorService scheduler;
+
+    public L2CacheReplicaRouter(RedisConnectionFactory primaryFactory) {
+        this.replicaFactory = primaryFactory instanceof LettuceConnectionFactory
+                ? createReplicaFactory((LettuceConnectionFactory) primaryFactory, CacheProperties.getReplica()) : null;
+    }
+
+    /**
+     * 根据缓存允许的最大复制延迟选择读取模板
+     *
+     * @param replicaMaxLag 允许的最大复制延迟，单位秒，小于 0 只从主节点读取
+     * @return 读取使用的 Redis 模板
+     */
+    public static RedisTemplate<String, Object> readTemplate(long replicaMaxLag) {
+        if (replicaMaxLag < 0 || maxLag > replicaMaxLag) {
+            return RedisUtil.defTemplate();
+        }
+
+        // 检测线程停顿时检测结果不再可信
+        long expireMillis = TimeUnit.SECONDS.toMillis(CacheProperties.getReplica().getLagCheckInterval() * 2);
+        if (System.currentTimeMillis() - checkTime > expireMillis) {
+            return RedisUtil.defTemplate();
+        }
+
+        return RedisUtil.replicaTemplate();
+    }
+
+    /**
+     * 计算读取值写入本地缓存的时长
+     *  从节点读取时按当前复制延迟限制时长，主节点读取时不限制
+     *
+     * @param template 读取使用的 Redis 模板
+     * @param replicaMaxLag 允许的最大复制延迟，单位秒
+     * @param ttl 本地缓存时长，单位秒
+     * @return 本地缓存时长，单位秒，不大于 0 时不写入本地缓存
+     */
+    public static long localTtl(RedisTemplate<String, Object> template, long replicaMaxLag, long ttl) {
+        return template == RedisUtil.defTemplate() ? ttl : localTtl(replicaMaxLag, maxLag, ttl);
+    }
+
+    /**
+     * 计算从节点读取值写入本地缓存的时长
+     *  读取的值已落后 lag 秒，本地缓存每保留 1 秒落后时长增加 1 秒，保留时长不超过 replicaMaxLag - lag
+     *
+     * @param replicaMaxLag 允许的最大复制延迟，单位秒
+     * @param lag 读取时的复制延迟，单位秒
+     * @param ttl 本地缓存时长，单位秒
+     * @return 本地缓存时长，单位秒，不大于 0 时不写入本地缓存
+     */
+    public static long localTtl(long replicaMaxLag, long lag, long ttl) {
+        return lag > replicaMaxLag ? 0L : Math.min(ttl, replicaMaxLag - lag);
+    }
+
+    /**
+     * 启动：初始化只读连接及模板，定时检测复制延迟
+     */
+    public void start() {
+        if (replicaFactory == null) {
+            logger.warn("[L2CacheReplicaRouter]仅支持 Lettuce 连接工厂，不开启从节点读取");
+            return;
+        }
+
+        replicaFactory.afterPropertiesSet();
+        RedisUtil.initReplicaTemplate(CacheAutoConfiguration.createRedisTemplate(replicaFactory));
+
+        long interval = CacheProperties.getReplica().getLagCheckInterval();
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("l2-cache-replica-lag").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::checkLag, 0, interval, TimeUnit.SECONDS);
+        logger.info("[L2CacheReplicaRouter]从节点读取已开启, readFrom={}", CacheProperties.getReplica().getReadFrom());
+    }
+
+    /**
+     * 停止：关闭只读连接
+     */
+    public void stop() {
+        maxLag = Long.MAX_VALUE;
+        RedisUtil.initReplicaTemplate(null);
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+
+        if (replicaFactory != null) {
+            replicaFactory.destroy();
+        }
+    }
+
+    /**
+     * 检测从节点最大复制延迟
+     *  集群模式下 INFO 结果的属性名称以节点地址为前缀（host:port.），按节点分别计算后取所有从节点的最大值，
+     *  没有从节点时读取会落到主节点，延迟视为 0
+     */
+    private void checkLag() {
+        try {
+            Properties info = RedisUtil.defTemplate().execute((RedisCallback<Properties>) connection ->
+                    connection.serverCommands().info("replication"));
+            long now = System.currentTimeMillis();
+            long interval = CacheProperties.getReplica().getLagCheckInterval();
+            Map<String, Map<String, String>> nodeMap = groupByNode(info);
+            long lag = 0L;
+            long lagBytes = 0L;
+            for (Map.Entry<String, Map<String, String>> entry : nodeMap.entrySet()) {
+                Map<String, String> props = entry.getValue();
+                String masterOffsetStr = props.get("master_repl_offset");
+                if (!"master".equals(props.get("role")) || masterOffsetStr == null) {
+                    continue;
+                }
+
+                long masterOffset = Long.parseLong(masterOffsetStr.trim());
+                Deque<long[]> samples = sampleMap.computeIfAbsent(entry.getKey(), key -> new ArrayDeque<>());
+                samples.addLast(new long[]{now, masterOffset});
+                if (samples.size() > MAX_SAMPLES) {
+                    samples.removeFirst();
+                }
+
+                for (Map.Entry<String, String> prop : props.entrySet()) {
+                    if (!prop.getKey().startsWith("slave") || !prop.getValue().contains("offset=")) {
+                        continue;
+                    }
+
+                    Map<String, String> slave = parseSlave(prop.getValue());
+                    long slaveOffset = Long.parseLong(slave.getOrDefault("offset", "0").trim());
+                    lagBytes = Math.max(lagBytes, Math.max(0L, masterOffset - slaveOffset));
+                    long slaveLag = "online".equals(slave.get("state"))
+                            ? staleSeconds(samples, slaveOffset, now) : Long.MAX_VALUE;
+                    lag = Math.max(lag, slaveLag);
+                }
+            }
+            sampleMap.keySet().retainAll(nodeMap.keySet());
+
+            // 检测之间延迟可能继续增大，加上检测间隔
+            maxLag = lag == Long.MAX_VALUE ? Long.MAX_VALUE : lag + interval;
+            checkTime = now;
+            CacheMetrics.gauge(METRIC_LAG, maxLag == Long.MAX_VALUE ? -1L : maxLag);
+            CacheMetrics.gauge(METRIC_LAG_BYTES, lagBytes);
+        } catch (Exception e) {
+            // 无法检测延迟时只从主节点读取
+            maxLag = Long.MAX_VALUE;
+            logger.warn("[L2CacheReplicaRouter]检测复制延迟异常, e={}", e.toString());
+        }
+    }
+
+    /**
+     * 计算从节点数据落后时长
+     *  找到主节点偏移量不大于从节点偏移量的最近一次记录，从节点已包含该记录时主节点的全部数据
+     *
+     * @param samples 主节点偏移量记录，元素为 [检测时间, 偏移量]
+     * @param slaveOffset 从节点偏移量
+     * @param now 当前时间，单位毫秒
+     * @return 落后时长，单位秒，落后超过保留的记录时返回 Long.MAX_VALUE
+     */
+    static long staleSeconds(Deque<long[]> samples, long slaveOffset, long now) {
+        Iterator<long[]> iterator = samples.descendingIterator();
+        while (iterator.hasNext()) {
+            long[] sample = iterator.next();
+            if (sample[1] <= slaveOffset) {
+                return (long) Math.ceil((now - sample[0]) / 1000.0);
+            }
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * 按节点分组 INFO 结果
+     *  集群模式属性名称为 host:port.name ，单机模式无前缀（分组为空字符串）
+     *
+     * @param info INFO replication 结果
+     * @return 节点 与 属性 对应Map
+     */
+    static Map<String, Map<String, String>> groupByNode(Properties info) {
+        Map<String, Map<String, String>> nodeMap = new HashMap<>();
+        for (String name : info == null ? Collections.<String>emptySet() : info.stringPropertyNames()) {
+            int index = name.lastIndexOf('.');
+            String node = index < 0 ? "" : name.substring(0, index);
+            nodeMap.computeIfAbsent(node, key -> new HashMap<>()).put(name.substring(index + 1), info.getProperty(name));
+        }
+
+        return nodeMap;
+    }
+
+    /**
+     * 解析从节点信息，格式：ip=127.0.0.1,port=6380,state=online,offset=123,lag=0
+     */
+    private static Map<String, String> parseSlave(String value) {
+        Map<String, String> slave = new HashMap<>();
+        for (String item : value.split(",")) {
+            int index = item.indexOf('=');
+            if (index > 0) {
+                slave.put(item.substring(0, index), item.substring(index + 1));
+            }
+        }
+
+        return slave;
+    }
+
+    /**
+     * 创建只读连接工厂，连接配置与主连接一致，仅读取节点策略不同
+     */
+    private static LettuceConnectionFactory createReplicaFactory(LettuceConnectionFactory primaryFactory,
+                                                                 CacheProperties.Replica config) {
+        LettuceClientConfiguration primaryClient = primaryFactory.getClientConfiguration();
+        LettuceClientConfiguration.LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder()
+                .readFrom(ReadFrom.valueOf(config.getReadFrom()))
+                .commandTimeout(primaryClient.getCommandTimeout())
+                .shutdownTimeout(primaryClient.getShutdownTimeout());
+        primaryClient.getClientOptions().ifPresent(builder::clientOptions);
+        primaryClient.getClientResources().ifPresent(builder::clientResources);
+        primaryClient.getClientName().ifPresent(builder::clientName);
+        if (primaryClient.isUseSsl()) {
+            builder.useSsl();
+        }
+
+        LettuceClientConfiguration clientConfig = builder.build();
+        if (primaryFactory.isClusterAware()) {
+            return new LettuceConnectionFactory(primaryFactory.getClusterConfiguration(), clientConfig);
+        } else if (primaryFactory.isRedisSentinelAware()) {
+            return new LettuceConnectionFactory(primaryFactory.getSentinelConfiguration(), clientConfig);
+        }
+
+        // 单机模式使用静态主从配置
+        RedisStandaloneConfiguration standalone = primaryFactory.getStandaloneConfiguration();
+        RedisStaticMasterReplicaConfiguration staticConfig =
+                new RedisStaticMasterReplicaConfiguration(standalone.getHostName(), standalone.getPort());
+        staticConfig.setDatabase(standalone.getDatabase());
+        staticConfig.setUsername(standalone.getUsername());
+        staticConfig.setPassword(standalone.getPassword());
+        for (String node : config.getNodes()) {
+            int index = node.lastIndexOf(':');
+            staticConfig.addNode(node.substring(0, index), Integer.parseInt(node.substring(index + 1)));
+        }
+
+        return new LettuceConnectionFactory(staticConfig, clientConfig);
+    }
+
+}
@@ -0,0 +1,486 @@
+package cn.eastx.practice.middleware.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级缓存离线模拟
+ *  回放 {@link L2CacheAccessRecorder} 记录的访问，按不同配置（本地缓存数量、淘汰策略、缓存时长、提前刷新、合并加载）
+ *  模拟两级缓存读取流程，输出各配置的命中率及 Redis、数据库（加载）请求量，用于上线前评估配置调整
+ *
+ * 模拟流程（与 {@link L2CacheUtil} 及 {@link MethodCacheAspect} 一致）：
+ *  1. 读取：本地缓存 → Redis → 加载，加载耗时内的相同 key 读取等待同一次加载（合并）或各自加载
+ *  2. 本地缓存时长为 Redis 剩余时长减 30 秒，可通过配置限制上限
+ *  3. 写入记录只用于获取各 key 的实际缓存时长（读取未命中后的写入已由模拟加载覆盖）
+ *  4. 删除记录同时删除本地缓存及 Redis
+ *  5. 采样记录时本地缓存数量按采样率缩小，请求量按采样率放大
+ *
+ * 使用：
+ *  java -cp boot-starter.jar:依赖 cn.eastx.practice.middleware.cache.L2CacheSimulator 记录文件
+ *  "name=small,localMaxSize=500" "name=large,localMaxSize=5000,policy=LRU,refreshAhead=0.2"
+ *
+ * @see L2CacheAccessRecorder 访问记录
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class L2CacheSimulator {
+
+    /** 本地缓存时长比 Redis 剩余时长少的秒数，与 L2CacheUtil 保持一致 */
+    private static final long LOCAL_TTL_OFFSET = 30L;
+
+    private L2CacheSimulator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: L2CacheSimulator <trace file> [key=value,... ...]");
+            return;
+        }
+
+        List<Config> configs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            configs.add(Config.parse(args[i]));
+        }
+
+        if (configs.isEmpty()) {
+            configs.add(Config.builder().build());
+        }
+
+        for (Result result : simulate(Paths.get(args[0]), configs)) {
+            System.out.println(result);
+        }
+    }
+
+    /**
+     * 回放访问记录，模拟各配置
+     *
+     * @param path 访问记录文件
+     * @param configs 模拟配置集合
+     * @return 模拟结果集合，与配置顺序一致
+     * @throws IOException 文件读取失败或格式错误
+     */
+    public static List<Result> simulate(Path path, List<Config> configs) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 64 * 1024))) {
+            if (in.readInt() != L2CacheAccessRecorder.MAGIC || in.readInt() != L2CacheAccessRecorder.VERSION) {
+                throw new IOException("unsupported cache access trace: " + path);
+            }
+
+            in.readLong();
+            double sampleRate = in.readDouble();
+            List<Simulation> simulations = new ArrayList<>(configs.size());
+            for (Config config : configs) {
+                simulations.add(new Simulation(config, sampleRate));
+            }
+
+            long lastTime = 0L;
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                long time = in.readInt();
+                long hash = in.readLong();
+                long ttl = in.readInt();
+                lastTime = Math.max(lastTime, time);
+                for (Simulation simulation : simulations) {
+                    simulation.accept(op, time, hash, ttl);
+                }
+            }
+
+            List<Result> results = new ArrayList<>(simulations.size());
+            for (Simulation simulation : simulations) {
+                results.add(simulation.toResult(lastTime));
+            }
+
+            return results;
+        }
+    }
+
+    /**
+     * 本地缓存淘汰策略
+     */
+    public enum Policy {
+        /** Window TinyLFU（Caffeine，与 LocalCacheUtil 一致） */
+        TINY_LFU,
+        /** 最近最少使用 */
+        LRU,
+        /** 先进先出 */
+        FIFO
+    }
+
+    /**
+     * 模拟配置
+     */
+    @Getter
+    @Builder
+    public static class Config {
+        /** 配置名称 */
+        @Builder.Default
+        private final String name = "default";
+        /** 是否使用本地缓存 */
+        @Builder.Default
+        private final boolean useLocal = true;
+        /** 本地缓存数量上限 */
+        @Builder.Default
+        private final long localMaxSize = 1000L;
+        /** 本地缓存淘汰策略 */
+        @Builder.Default
+        private final Policy policy = Policy.TINY_LFU;
+        /** 本地缓存时长上限，单位秒，0 表示不限制 */
+        @Builder.Default
+        private final long localTtl = 0L;
+        /** Redis 缓存时长，单位秒，0 表示使用记录中的缓存时长 */
+        @Builder.Default
+        private final long redisTtl = 0L;
+        /** 记录中没有缓存时长时使用的默认缓存时长，单位秒 */
+        @Builder.Default
+        private final long defaultTtl = 300L;
+        /** 提前刷新比例（0 - 1），剩余时长低于该比例时异步刷新，0 表示不刷新 */
+        @Builder.Default
+        private final double refreshAhead = 0D;
+        /** 是否合并相同 key 的并发加载 */
+        @Builder.Default
+        private final boolean coalesce = true;
+        /** 模拟加载耗时，单位毫秒 */
+        @Builder.Default
+        private final long loadTime = 50L;
+
+        /**
+         * 解析配置，格式：key=value,key=value，key 为字段名
+         *
+         * @param spec 配置字符串
+         * @return 模拟配置
+         */
+        public static Config parse(String spec) {
+            ConfigBuilder builder = Config.builder();
+            for (String pair : spec.split(",")) {
+                String[] kv = pair.split("=", 2);
+                if (kv.length != 2) {
+                    throw new IllegalArgumentException("invalid simulation config: " + pair);
+                }
+
+                String value = kv[1].trim();
+                switch (kv[0].trim()) {
+                    case "name":
+                        builder.name(value);
+                        break;
+                    case "useLocal":
+                        builder.useLocal(Boolean.parseBoolean(value));
+                        break;
+                    case "localMaxSize":
+                        builder.localMaxSize(Long.parseLong(value));
+                        break;
+                    case "policy":
+                        builder.policy(Policy.valueOf(value.toUpperCase(Locale.ROOT)));
+                        break;
+                    case "localTtl":
+                        builder.localTtl(Long.parseLong(value));
+                        break;
+                    case "redisTtl":
+                        builder.redisTtl(Long.parseLong(value));
+                        break;
+                    case "defaultTtl":
+                        builder.defaultTtl(Long.parseLong(value));
+                        break;
+                    case "refreshAhead":
+                        builder.refreshAhead(Double.parseDouble(value));
+                        break;
+                    case "coalesce":
+                        builder.coalesce(Boolean.parseBoolean(value));
+                        break;
+                    case "loadTime":
+                        builder.loadTime(Long.parseLong(value));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown simulation config: " + kv[0]);
+                }
+            }
+
+            return builder.build();
+        }
+    }
+
+    /**
+     * 模拟结果
+     */
+    @Getter
+    public static class Result {
+        /** 模拟配置 */
+        private final Config config;
+        /** 读取次数 */
+        private final long requests;
+        /** 本地缓存命中次数 */
+        private final long localHits;
+        /** Redis 命中次数 */
+        private final long redisHits;
+        /** Redis 请求次数（读取） */
+        private final long redisRequests;
+        /** 未命中加载次数 */
+        private final long loads;
+        /** 提前刷新加载次数 */
+        private final long refreshLoads;
+        /** 合并等待的读取次数 */
+        private final long coalesced;
+        /** 记录时长，单位毫秒 */
+        private final long duration;
+        /** 请求量放大倍数（采样率倒数） */
+        private final double scale;
+
+        Result(Config config, long requests, long localHits, long redisHits, long redisRequests, long loads,
+               long refreshLoads, long coalesced, long duration, double scale) {
+            this.config = config;
+            this.requests = requests;
+            this.localHits = localHits;
+            this.redisHits = redisHits;
+            this.redisRequests = redisRequests;
+            this.loads = loads;
+            this.refreshLoads = refreshLoads;
+            this.coalesced = coalesced;
+            this.duration = duration;
+            this.scale = scale;
+        }
+
+        /**
+         * 本地缓存命中率
+         */
+        public double getLocalHitRatio() {
+            return requests == 0 ? 0D : (double) localHits / requests;
+        }
+
+        /**
+         * 两级缓存命中率
+         */
+        public double getHitRatio() {
+            return requests == 0 ? 0D : (double) (localHits + redisHits) / requests;
+        }
+
+        /**
+         * 估算 Redis 读取 QPS
+         */
+        public double getRedisQps() {
+            return perSecond(redisRequests);
+        }
+
+        /**
+         * 估算数据库（加载）QPS，包括提前刷新
+         */
+        public double getLoadQps() {
+            return perSecond(loads + refreshLoads);
+        }
+
+        private double perSecond(long count) {
+            return duration <= 0 ? 0D : count * scale * 1000D / duration;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-16s requests=%d localHitRatio=%.4f hitRatio=%.4f redisQps=%.2f loadQps=%.2f "
+                            + "loads=%d refreshLoads=%d coalesced=%d",
+                    config.getName(), requests, getLocalHitRatio(), getHitRatio(), getRedisQps(), getLoadQps(),
+                    loads, refreshLoads, coalesced);
+        }
+    }
+
+    /**
+     * 单个配置的模拟状态，时间单位均为毫秒（记录中的偏移时间）
+     */
+    private static class Simulation {
+        private final Config config;
+        private final double scale;
+        private final LocalSim local;
+        /** Redis 中的 key：哈希 → {可读取时间, 过期时间} */
+        private final Map<Long, long[]> redis = new HashMap<>();
+        /** 记录中各 key 的缓存时长，单位秒 */
+        private final Map<Long, Long> observedTtl = new HashMap<>();
+
+        private long requests;
+        private long localHits;
+        private long redisHits;
+        private long redisRequests;
+        private long loads;
+        private long refreshLoads;
+        private long coalesced;
+
+        Simulation(Config config, double sampleRate) {
+            this.config = config;
+            this.scale = sampleRate <= 0 ? 1D : 1D / sampleRate;
+            long size = Math.max(1L, (long) (config.getLocalMaxSize() * Math.min(1D, sampleRate)));
+            this.local = config.isUseLocal() ? LocalSim.create(config.getPolicy(), size) : null;
+        }
+
+        void accept(byte op, long time, long hash, long ttl) {
+            switch (op) {
+                case L2CacheAccessRecorder.OP_GET:
+                    get(time, hash);
+                    break;
+                case L2CacheAccessRecorder.OP_SET:
+                    if (ttl > 0) {
+                        observedTtl.put(hash, ttl);
+                    }
+                    break;
+                case L2CacheAccessRecorder.OP_DELETE:
+                    redis.remove(hash);
+                    if (local != null) {
+                        local.remove(hash);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void get(long time, long hash) {
+            requests++;
+            if (local != null) {
+                Long expireAt = local.get(hash);
+                if (expireAt != null && expireAt > time) {
+                    localHits++;
+                    refreshAhead(time, hash);
+                    return;
+                }
+            }
+
+            redisRequests++;
+            long[] entry = redis.get(hash);
+            if (entry != null && entry[1] <= time) {
+                redis.remove(hash);
+                entry = null;
+            }
+
+            if (entry != null && entry[0] <= time) {
+                redisHits++;
+                putLocal(time, hash, entry[1]);
+                refreshAhead(time, hash);
+                return;
+            }
+
+            if (entry != null && config.isCoalesce()) {
+                // 加载中，等待同一次加载
+                coalesced++;
+                return;
+            }
+
+            loads++;
+            long availableAt = time + config.getLoadTime();
+            long expireAt = availableAt + TimeUnit.SECONDS.toMillis(ttl(hash));
+            redis.put(hash, new long[]{availableAt, expireAt});
+            putLocal(availableAt, hash, expireAt);
+        }
+
+        private void refreshAhead(long time, long hash) {
+            long[] entry = redis.get(hash);
+            if (config.getRefreshAhead() <= 0 || entry == null || entry[0] > time) {
+                return;
+            }
+
+            long ttlMillis = TimeUnit.SECONDS.toMillis(ttl(hash));
+            if (entry[1] - time < ttlMillis * config.getRefreshAhead()) {
+                refreshLoads++;
+                entry[1] = time + config.getLoadTime() + ttlMillis;
+            }
+        }
+
+        private void putLocal(long time, long hash, long redisExpireAt) {
+            if (local == null) {
+                return;
+            }
+
+            long localExpireAt = redisExpireAt - TimeUnit.SECONDS.toMillis(LOCAL_TTL_OFFSET);
+            if (config.getLocalTtl() > 0) {
+                localExpireAt = Math.min(localExpireAt, time + TimeUnit.SECONDS.toMillis(config.getLocalTtl()));
+            }
+
+            if (localExpireAt > time) {
+                local.put(hash, localExpireAt);
+            }
+        }
+
+        private long ttl(long hash) {
+            if (config.getRedisTtl() > 0) {
+                return config.getRedisTtl();
+            }
+
+            return observedTtl.getOrDefault(hash, config.getDefaultTtl());
+        }
+
+        Result toResult(long duration) {
+            return new Result(config, requests, localHits, redisHits, redisRequests, loads, refreshLoads, coalesced,
+                    duration, scale);
+        }
+    }
+
+    /**
+     * 模拟本地缓存，值为过期时间
+     */
+    private interface LocalSim {
+
+        Long get(long hash);
+
+        void put(long hash, long expireAt);
+
+        void remove(long hash);
+
+        static LocalSim create(Policy policy, long maxSize) {
+            if (policy == Policy.TINY_LFU) {
+                Cache<Long, Long> cache = Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        // 同步执行淘汰，结果可重复
+                        .executor(Runnable::run)
+                        .build();
+                return new LocalSim() {
+                    @Override
+                    public Long get(long hash) {
+                        return cache.getIfPresent(hash);
+                    }
+
+                    @Override
+                    public void put(long hash, long expireAt) {
+                        cache.put(hash, expireAt);
+                    }
+
+                    @Override
+                    public void remove(long hash) {
+                        cache.invalidate(hash);
+                    }
+                };
+            }
+
+            Map<Long, Long> map = new LinkedHashMap<Long, Long>(16, 0.75F, policy == Policy.LRU) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                    return size() > maxSize;
+                }
+            };
+            return new LocalSim() {
+                @Override
+                public Long get(long hash) {
+                    return map.get(hash);
+                }
+
+                @Override
+                public void put(long hash, long expireAt) {
+                    map.put(hash, expireAt);
+                }
+
+                @Override
+                public void remove(long hash) {
+                    map.remove(hash);
+                }
+            };
+        }
+
+    }
+
+}
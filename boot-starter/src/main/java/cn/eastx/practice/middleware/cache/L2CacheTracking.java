@@ -0,0 +1,347 @@
+package cn.eastx.practice.middleware.cache;
+
+import io.lettuce.core.*;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.async.RedisAsyncCommands;
+import io.lettuce.core.api.push.PushMessage;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.support.caching.CacheAccessor;
+import io.lettuce.core.support.caching.CacheFrontend;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import io.lettuce.core.support.caching.ClientSideCaching;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 两级缓存服务端辅助失效（RESP3 CLIENT TRACKING）
+ *  使用独立的 RESP3 连接开启 CLIENT TRACKING，写入本地缓存前的 Redis 读取（值及剩余存活时长）经该连接执行，
+ *  Redis 对读取过的 key 在任意客户端修改、过期、淘汰时推送失效消息，收到后清除本地缓存，
+ *  覆盖脚本、其它服务等不经过 {@link L2CacheUtil} 的写入，本地缓存可以使用更长的缓存时长
+ *  读取前登记待写入标记，读取到写入本地缓存之间收到失效消息时清除标记，写入时标记已不存在则放弃写入，
+ *  避免失效消息先于本地缓存写入处理导致本地缓存保留旧值
+ *
+ * 注意：
+ *  1. 仅支持 Lettuce 连接工厂的单机模式，集群、哨兵模式及其它连接工厂不开启
+ *  2. 开启后写入时不再写入本地缓存，由下次读取（单个及批量）时写入，保证本地缓存的 key 均已被跟踪
+ *  3. 分桶存储的值不经过跟踪连接读取，仍依赖发布订阅失效
+ *  4. 连接断开期间无法收到失效消息，断开及重连时清空本地缓存
+ *
+ * <a href="https://redis.io/docs/manual/client-side-caching/"> Client-side caching in Redis </a>
+ *
+ * @see CacheProperties.Tracking 配置
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class L2CacheTracking {
+
+    private static final Logger logger = LoggerFactory.getLogger(L2CacheTracking.class);
+
+    /** 跟踪连接，未开启或连接不可用时为 null */
+    private static volatile StatefulRedisConnection<String, byte[]> tracked;
+    /** 待写入本地缓存标记，key 为缓存key，value 为读取序号 */
+    private static final ConcurrentMap<String, Long> PENDING_MAP = new ConcurrentHashMap<>();
+    /** 读取序号 */
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final RedisClient client;
+    private StatefulRedisConnection<String, byte[]> connection;
+    private CacheFrontend<String, byte[]> cacheFrontend;
+
+    public L2CacheTracking(RedisConnectionFactory factory) {
+        this.client = factory instanceof LettuceConnectionFactory
+                && !((LettuceConnectionFactory) factory).isClusterAware()
+                && !((LettuceConnectionFactory) factory).isRedisSentinelAware()
+                ? createClient((LettuceConnectionFactory) factory) : null;
+    }
+
+    /**
+     * 是否可以经跟踪连接读取
+     */
+    public static boolean isActive() {
+        return tracked != null;
+    }
+
+    /**
+     * 经跟踪连接读取存储值及剩余存活时长，读取后 Redis 开始跟踪该 key
+     *  读取前登记待写入标记，需通过 {@link #fill(String, Tracked, Object, long)} 写入本地缓存并清除标记，
+     *  调用方需在 finally 中调用 {@link #release(String, Tracked)} ，解析或写入异常时同样清除标记
+     *
+     * @param key 缓存Key
+     * @return 读取结果，跟踪不可用时直接使用默认模板读取
+     */
+    public static Tracked get(String key) {
+        return get(Collections.singletonList(key)).get(0);
+    }
+
+    /**
+     * 批量经跟踪连接读取存储值及剩余存活时长，读取后 Redis 开始跟踪这些 key
+     *  读取前登记待写入标记，需通过 {@link #fill(String, Tracked, Object, long)} 写入本地缓存并清除标记，
+     *  调用方需在 finally 中调用 {@link #release(List, List)} ，解析或写入异常时同样清除标记
+     *
+     * @param keys 缓存Key集合
+     * @return 读取结果，与 key 顺序一致，跟踪不可用时直接使用默认模板读取
+     */
+    public static List<Tracked> get(List<String> keys) {
+        RedisSerializer<?> serializer = RedisUtil.defTemplate().getValueSerializer();
+        StatefulRedisConnection<String, byte[]> current = tracked;
+        if (current == null) {
+            List<Tracked> resultList = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                Object storeVal = RedisUtil.defTemplate().opsForValue().get(key);
+                Long ttl = storeVal == null ? null : RedisUtil.defTemplate().getExpire(key, TimeUnit.SECONDS);
+                resultList.add(new Tracked(storeVal, ttl == null ? -1L : ttl, 0L));
+            }
+
+            return resultList;
+        }
+
+        long[] seqs = new long[keys.size()];
+        for (int i = 0; i < seqs.length; i++) {
+            seqs[i] = SEQUENCE.incrementAndGet();
+            PENDING_MAP.put(keys.get(i), seqs[i]);
+        }
+
+        try {
+            // 同一连接依次发送，失效消息与读取结果按顺序到达
+            RedisAsyncCommands<String, byte[]> commands = current.async();
+            RedisFuture<List<KeyValue<String, byte[]>>> valFuture = commands.mget(keys.toArray(new String[0]));
+            List<RedisFuture<Long>> ttlFutures = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                ttlFutures.add(commands.pttl(key));
+            }
+
+            long timeout = current.getTimeout().toMillis();
+            List<KeyValue<String, byte[]>> kvList = LettuceFutures.awaitOrCancel(valFuture, timeout,
+                    TimeUnit.MILLISECONDS);
+            List<Tracked> resultList = new ArrayList<>(keys.size());
+            for (int i = 0; i < seqs.length; i++) {
+                KeyValue<String, byte[]> kv = kvList.get(i);
+                Object storeVal = kv.hasValue() ? serializer.deserialize(kv.getValue()) : null;
+                long ttlMillis = LettuceFutures.awaitOrCancel(ttlFutures.get(i), timeout, TimeUnit.MILLISECONDS);
+                resultList.add(new Tracked(storeVal,
+                        ttlMillis < 0 ? ttlMillis : TimeUnit.MILLISECONDS.toSeconds(ttlMillis), seqs[i]));
+            }
+
+            return resultList;
+        } catch (RuntimeException e) {
+            for (int i = 0; i < seqs.length; i++) {
+                PENDING_MAP.remove(keys.get(i), seqs[i]);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 写入本地缓存并清除待写入标记
+     *  读取后已收到失效消息（标记已清除或被后续读取替换）时不写入
+     *
+     * @param key 缓存Key
+     * @param tracked 读取结果
+     * @param storeVal 存储值（已加载分块），为 null 时只清除标记
+     * @param duration 本地缓存时长，单位秒
+     */
+    public static void fill(String key, Tracked tracked, @Nullable Object storeVal, long duration) {
+        boolean valid = tracked.getSeq() == 0L || PENDING_MAP.remove(key, tracked.getSeq());
+        if (valid && storeVal != null && duration > 0) {
+            LocalCacheUtil.set(key, storeVal, duration);
+        }
+    }
+
+    /**
+     * 清除待写入标记，已通过 {@link #fill(String, Tracked, Object, long)} 清除或被后续读取替换时不处理
+     *
+     * @param key 缓存Key
+     * @param tracked 读取结果
+     */
+    public static void release(String key, Tracked tracked) {
+        if (tracked.getSeq() != 0L) {
+            PENDING_MAP.remove(key, tracked.getSeq());
+        }
+    }
+
+    /**
+     * 批量清除待写入标记
+     *
+     * @param keys 缓存Key集合
+     * @param trackedList 读取结果，与 key 顺序一致
+     * @see #release(String, Tracked)
+     */
+    public static void release(List<String> keys, List<Tracked> trackedList) {
+        for (int i = 0, size = keys.size(); i < size; i++) {
+            release(keys.get(i), trackedList.get(i));
+        }
+    }
+
+    /**
+     * 启动：建立跟踪连接并开启 CLIENT TRACKING
+     */
+    public void start() {
+        if (client == null) {
+            logger.warn("[L2CacheTracking]仅支持 Lettuce 连接工厂的单机模式，不开启服务端辅助失效");
+            return;
+        }
+
+        connection = client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+        // 本地缓存存储的是解析后的值，由 L2CacheUtil 维护，这里只处理失效
+        cacheFrontend = ClientSideCaching.enable(new LocalCacheAccessor(), connection, TrackingArgs.Builder.enabled());
+        // FLUSHDB/FLUSHALL 推送的失效消息不包含 key
+        connection.addListener(this::onFlush);
+        client.addListener(new TrackingStateListener());
+        tracked = connection;
+        logger.info("[L2CacheTracking]服务端辅助失效已开启");
+    }
+
+    /**
+     * 停止：关闭跟踪连接
+     */
+    public void stop() {
+        tracked = null;
+        PENDING_MAP.clear();
+        if (cacheFrontend != null) {
+            cacheFrontend.close();
+        }
+
+        if (client != null) {
+            client.shutdown();
+        }
+    }
+
+    private void onFlush(PushMessage message) {
+        if ("invalidate".equals(message.getType()) && message.getContent().size() > 1
+                && message.getContent().get(1) == null) {
+            PENDING_MAP.clear();
+            LocalCacheUtil.clear();
+            logger.info("[L2CacheTracking]Redis 已清空，清空本地缓存");
+        }
+    }
+
+    /**
+     * 创建 RESP3 客户端，连接配置与默认连接一致
+     */
+    private static RedisClient createClient(LettuceConnectionFactory factory) {
+        RedisStandaloneConfiguration standalone = factory.getStandaloneConfiguration();
+        LettuceClientConfiguration clientConfig = factory.getClientConfiguration();
+        RedisURI.Builder uri = RedisURI.builder()
+                .withHost(standalone.getHostName())
+                .withPort(standalone.getPort())
+                .withDatabase(standalone.getDatabase())
+                .withSsl(clientConfig.isUseSsl())
+                .withTimeout(clientConfig.getCommandTimeout());
+        if (standalone.getPassword().isPresent()) {
+            if (standalone.getUsername() != null) {
+                uri.withAuthentication(standalone.getUsername(), standalone.getPassword().get());
+            } else {
+                uri.withPassword(standalone.getPassword().get());
+            }
+        }
+
+        RedisClient client = RedisClient.create(uri.build());
+        ClientOptions clientOptions = clientConfig.getClientOptions()
+                .orElseGet(() -> RedisConnectionGuard.createClientOptions(null, false));
+        client.setOptions(clientOptions.mutate().protocolVersion(ProtocolVersion.RESP3).build());
+        return client;
+    }
+
+    /**
+     * 本地缓存访问，只处理失效
+     */
+    private static class LocalCacheAccessor implements CacheAccessor<String, byte[]> {
+
+        @Override
+        public byte[] get(String key) {
+            return null;
+        }
+
+        @Override
+        public void put(String key, byte[] value) {
+            // 本地缓存由 L2CacheUtil 写入解析后的值
+        }
+
+        @Override
+        public void evict(String key) {
+            PENDING_MAP.remove(key);
+            LocalCacheUtil.delete(key);
+        }
+
+    }
+
+    /**
+     * 连接状态监听
+     *  断开期间的失效消息会丢失，断开时停止经跟踪连接读取并清空本地缓存，重连后重新开启跟踪
+     */
+    private class TrackingStateListener extends RedisConnectionStateAdapter {
+
+        @Override
+        public void onRedisDisconnected(RedisChannelHandler<?, ?> channel) {
+            tracked = null;
+            PENDING_MAP.clear();
+            LocalCacheUtil.clear();
+            logger.warn("[L2CacheTracking]跟踪连接断开，清空本地缓存");
+        }
+
+        @Override
+        public void onRedisConnected(RedisChannelHandler<?, ?> channel, SocketAddress socketAddress) {
+            if (connection == null) {
+                // 首次连接由 start 开启跟踪
+                return;
+            }
+
+            connection.async().clientTracking(TrackingArgs.Builder.enabled()).whenComplete((result, e) -> {
+                if (e != null) {
+                    logger.warn("[L2CacheTracking]重新开启跟踪失败, e={}", e.toString());
+                    return;
+                }
+
+                PENDING_MAP.clear();
+                LocalCacheUtil.clear();
+                tracked = connection;
+                logger.info("[L2CacheTracking]跟踪连接已恢复");
+            });
+        }
+
+    }
+
+    /**
+     * 跟踪读取结果
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Tracked {
+        /**
+         * 存储值，不存在为 null
+         */
+        @Nullable
+        private final Object storeVal;
+
+        /**
+         * 剩余存活时长，单位秒，小于 0 表示不存在或未设置过期
+         */
+        private final long ttl;
+
+        /**
+         * 读取序号，0 表示未经跟踪连接读取
+         */
+        private final long seq;
+    }
+
+}
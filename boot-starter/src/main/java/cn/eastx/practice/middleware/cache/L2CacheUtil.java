@@ -7,22 +7,37 @@ import cn.eastx.practice.common.util.CompressUtil;
 import cn.eastx.practice.common.util.GeneralUtil;
 import cn.eastx.practice.common.util.IEnum;
 import cn.eastx.practice.common.util.JsonUtil;
+import cn.eastx.practice.middleware.cache.tier.CacheTierChain;
+import com.alibaba.ttl.threadpool.TtlExecutors;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.lang.Nullable;
+import org.springframework.scripting.support.ResourceScriptSource;
 
+import java.io.IOException;
 import java.time.Duration;
 import java.util.*;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
 
 /**
  * 两级缓存工具类
@@ -45,6 +60,39 @@ public class L2CacheUtil implements RedisSubscriber {
     private static final String DATA_CHANGE_TOPIC = "topic:l2:cache";
     /** 建议最低缓存时长 */
     private static final int MIN_TTL = 30;
+    /** 命名空间版本号 key 前缀，完整 key 为 前缀 + 命名空间 */
+    private static final String NAMESPACE_GEN_PREFIX = "l2:cache:ns:gen:";
+    /** 缓存标签 key 前缀，完整 key 为 前缀 + 标签 */
+    private static final String TAG_PREFIX = "l2:cache:tag:";
+    /** 批量删除时每批 key 数量 */
+    private static final int BATCH_SIZE = 500;
+    /** 标签清理时每次抽样检查的 key 数量 */
+    private static final int TAG_PRUNE_SIZE = 100;
+    /** 逻辑过期重建租约 key 前缀，完整 key 为 前缀 + 缓存key */
+    private static final String REBUILD_LEASE_PREFIX = "l2:cache:rebuild:";
+    /** 逻辑过期重建租约时长，单位秒 */
+    private static final int REBUILD_LEASE_TTL = 30;
+
+    /**
+     * 逻辑过期异步重建线程池
+     *  队列满时丢弃任务，等待下次读取再次触发重建
+     */
+    private static final ExecutorService REBUILD_EXECUTOR = TtlExecutors.getTtlExecutorService(
+            new ThreadPoolExecutor(1, 4, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(1000),
+                    new ThreadFactoryBuilder().setNameFormat("l2-cache-rebuild-%d").setDaemon(true).build(),
+                    new ThreadPoolExecutor.DiscardPolicy()));
+
+    /**
+     * 缓存标签记录脚本
+     */
+    private static final DefaultRedisScript<Long> TAG_ADD_SCRIPT;
+
+    static {
+        TAG_ADD_SCRIPT = new DefaultRedisScript<>();
+        TAG_ADD_SCRIPT.setScriptSource(new ResourceScriptSource(new ClassPathResource(
+                "scripts/l2_cache_tag_add.lua")));
+        TAG_ADD_SCRIPT.setResultType(Long.class);
+    }
 
     public L2CacheUtil() {}
 
@@ -81,25 +129,120 @@ public class L2CacheUtil implements RedisSubscriber {
      */
     @Nullable
     public static Object getStoreVal(String key, Config config) {
+        L2CacheAccessRecorder.record(L2CacheAccessRecorder.OP_GET, key, 0L);
         if (!config.isUseL1()) {
             // 不使用L1本地缓存
-            return redisTemplate().opsForValue().get(key);
+            return getL2StoreVal(key, config);
         }
 
         // 使用 L1 本地缓存 + L2 Redis 缓存
+        long startTime = CacheTrace.start();
         Object val = LocalCacheUtil.get(key);
+        CacheTrace.record("l1", key, val == null ? CacheTrace.MISS : CacheTrace.HIT, startTime);
         if (val != null) {
             return val;
         }
 
-        val = redisTemplate().opsForValue().get(key);
+        // 节点分组模式，非归属节点从归属节点获取
+        L2CachePeerGroup peerGroup = L2CachePeerGroup.getInstance();
+        if (peerGroup != null && !peerGroup.isOwner(key)) {
+            try {
+                startTime = CacheTrace.start();
+                val = loadChunks(key, peerGroup.fetch(key, config));
+                CacheTrace.record("peer", key, val == null ? CacheTrace.MISS : CacheTrace.HIT, startTime);
+                return val;
+            } catch (IOException e) {
+                // 非归属节点降级读取 Redis，不写入本地缓存
+                logger.warn("[L2CacheUtil]从归属节点获取失败，降级读取 Redis, key={}, e={}", key, e.getMessage());
+                return getL2StoreVal(key, config);
+            }
+        }
+
+        return getOwnedStoreVal(key, config);
+    }
+
+    /**
+     * 根据 key 获取 L2 存储值，不读取及写入本地缓存
+     *  缓存使用分桶存储时优先从分桶获取
+     *
+     * @param key 缓存Key
+     * @param config 其它配置
+     * @return 缓存数据
+     */
+    @Nullable
+    private static Object getL2StoreVal(String key, Config config) {
+        long startTime = CacheTrace.start();
+        L2CacheBucketUtil.BucketVal bucketVal = L2CacheBucketUtil.get(key, config);
+        Object val = bucketVal != null
+                ? bucketVal.getStoreVal() : loadChunks(key, readTemplate(config).opsForValue().get(key));
+        CacheTrace.record("l2", key, val == null ? CacheTrace.MISS : CacheTrace.HIT, startTime);
+        return val;
+    }
+
+    /**
+     * 根据 key 获取存储值（当前节点为归属节点）
+     *  读取 L1 本地缓存，不存在读取 L2 Redis 缓存并写入本地缓存
+     *
+     * @param key 缓存Key
+     * @return 缓存数据
+     * @see L2CachePeerGroup 节点分组
+     */
+    @Nullable
+    public static Object getOwnedStoreVal(String key) {
+        return getOwnedStoreVal(key, DEFAULT_CONFIG);
+    }
+
+    /**
+     * 根据 key 获取存储值（当前节点为归属节点）
+     *  读取 L1 本地缓存，不存在读取 L2 Redis 缓存并写入本地缓存
+     *
+     * @param key 缓存Key
+     * @param config 其它配置
+     * @return 缓存数据
+     * @see L2CachePeerGroup 节点分组
+     */
+    @Nullable
+    public static Object getOwnedStoreVal(String key, Config config) {
+        Object val = LocalCacheUtil.get(key);
         if (val != null) {
-            Long ttl = redisTemplate().getExpire(key, TimeUnit.SECONDS);
-            if (ttl != null && ttl > MIN_TTL) {
-                LocalCacheUtil.set(key, val, ttl - MIN_TTL);
+            return val;
+        }
+
+        // 缓存使用分桶存储时优先从分桶获取
+        long startTime = CacheTrace.start();
+        Long ttl = null;
+        L2CacheBucketUtil.BucketVal bucketVal = L2CacheBucketUtil.get(key, config);
+        if (bucketVal != null) {
+            val = bucketVal.getStoreVal();
+            ttl = bucketVal.getTtl() - MIN_TTL;
+        } else if (L2CacheTracking.isActive()) {
+            // 开启服务端辅助失效时经跟踪连接读取值及存活时长，读取后已失效的不写入本地缓存
+            L2CacheTracking.Tracked tracked = L2CacheTracking.get(key);
+            try {
+                val = loadChunks(key, tracked.getStoreVal());
+                CacheTrace.record("l2", key, val == null ? CacheTrace.MISS : CacheTrace.HIT, startTime);
+                L2CacheTracking.fill(key, tracked, L2CachePeerGroup.isLocalOwner(key) ? val : null,
+                        tracked.getTtl() - MIN_TTL);
+                return val;
+            } finally {
+                L2CacheTracking.release(key, tracked);
+            }
+        } else {
+            RedisTemplate<String, Object> template = readTemplate(config);
+            val = loadChunks(key, template.opsForValue().get(key));
+            if (val != null) {
+                // 从节点读取的值本地缓存时长不超过允许的最大复制延迟
+                Long expire = template.getExpire(key, TimeUnit.SECONDS);
+                ttl = expire == null ? null
+                        : L2CacheReplicaRouter.localTtl(template, config.getReplicaMaxLag(), expire - MIN_TTL);
             }
         }
 
+        CacheTrace.record("l2", key, val == null ? CacheTrace.MISS : CacheTrace.HIT, startTime);
+        if (val != null && ttl != null && ttl > 0 && L2CachePeerGroup.isLocalOwner(key)) {
+            LocalCacheUtil.set(key, val, ttl);
+        }
+
         return val;
     }
 
@@ -158,27 +301,119 @@ public class L2CacheUtil implements RedisSubscriber {
             return Collections.emptyMap();
         }
 
+        L2CacheAccessRecorder.record(L2CacheAccessRecorder.OP_GET, keys, 0L);
+
         Map<String, Object> resultMap = new HashMap<>();
         if (config.isUseL1()) {
             // 从 L1 本地缓存中获取数据
+            long startTime = CacheTrace.start();
             resultMap.putAll(LocalCacheUtil.get(keys));
+            CacheTrace.record("l1", keys, resultMap.size() + "/" + keys.size(), startTime);
             if (GeneralUtil.isNotEmpty(resultMap) && !getAll) {
                 return resultMap;
             }
 
             keys.removeAll(resultMap.keySet());
+            fetchFromPeers(keys, config, resultMap);
+        }
+
+        // 缓存使用分桶存储时优先从分桶获取
+        long startTime = CacheTrace.start();
+        Collection<String> l2Keys = startTime == 0L ? keys : new ArrayList<>(keys);
+        int hitCount = 0;
+        for (Map.Entry<String, L2CacheBucketUtil.BucketVal> entry : L2CacheBucketUtil.get(keys, config).entrySet()) {
+            L2CacheBucketUtil.BucketVal bucketVal = entry.getValue();
+            resultMap.put(entry.getKey(), bucketVal.getStoreVal());
+            keys.remove(entry.getKey());
+            hitCount++;
+            if (config.isUseL1() && bucketVal.getTtl() > MIN_TTL && L2CachePeerGroup.isLocalOwner(entry.getKey())) {
+                LocalCacheUtil.set(entry.getKey(), bucketVal.getStoreVal(), bucketVal.getTtl() - MIN_TTL);
+            }
         }
 
-        // 从 L2 Redis 缓存中获取数据
         List<String> sortKeys = new ArrayList<>(keys);
-        List<Object> valList = redisTemplate().opsForValue().multiGet(sortKeys);
+        if (config.isUseL1() && L2CacheTracking.isActive() && !sortKeys.isEmpty()) {
+            // 开启服务端辅助失效时经跟踪连接读取并写入本地缓存，读取后已失效的不写入
+            List<L2CacheTracking.Tracked> trackedList = L2CacheTracking.get(sortKeys);
+            try {
+                for (int i = 0, size = sortKeys.size(); i < size; i++) {
+                    L2CacheTracking.Tracked tracked = trackedList.get(i);
+                    Object val = loadChunks(sortKeys.get(i), tracked.getStoreVal());
+                    L2CacheTracking.fill(sortKeys.get(i), tracked,
+                            L2CachePeerGroup.isLocalOwner(sortKeys.get(i)) ? val : null, tracked.getTtl() - MIN_TTL);
+                    resultMap.put(sortKeys.get(i), val);
+                    hitCount += val == null ? 0 : 1;
+                }
+            } finally {
+                L2CacheTracking.release(sortKeys, trackedList);
+            }
+
+            CacheTrace.record("l2", l2Keys, hitCount + "/" + l2Keys.size(), startTime);
+            return resultMap;
+        }
+
+        // 从 L2 Redis 缓存中获取数据，集群模式按 slot 分组并行获取
+        List<Object> valList = RedisSlotUtil.multiGet(readTemplate(config), sortKeys);
         for (int i = 0, size = sortKeys.size(); i < size; i++) {
-            resultMap.put(sortKeys.get(i), valList.get(i));
+            Object val = loadChunks(sortKeys.get(i), valList.get(i));
+            resultMap.put(sortKeys.get(i), val);
+            hitCount += val == null ? 0 : 1;
         }
 
+        CacheTrace.record("l2", l2Keys, hitCount + "/" + l2Keys.size(), startTime);
         return resultMap;
     }
 
+    /**
+     * 节点分组模式下，非归属当前节点的 key 从归属节点获取
+     *  按归属节点分组批量并行获取，获取成功的 key 从待查询集合中移除，失败的 key 降级读取 Redis
+     *
+     * @param keys 待查询的缓存Key集合
+     * @param config 其它配置
+     * @param resultMap 结果Map
+     */
+    private static void fetchFromPeers(Collection<String> keys, Config config, Map<String, Object> resultMap) {
+        L2CachePeerGroup peerGroup = L2CachePeerGroup.getInstance();
+        if (peerGroup == null) {
+            return;
+        }
+
+        List<String> peerKeys = keys.stream().filter(key -> !peerGroup.isOwner(key)).collect(Collectors.toList());
+        if (peerKeys.isEmpty()) {
+            return;
+        }
+
+        for (Map.Entry<String, Object> entry : peerGroup.fetch(peerKeys, config).entrySet()) {
+            resultMap.put(entry.getKey(), loadChunks(entry.getKey(), entry.getValue()));
+            keys.remove(entry.getKey());
+        }
+    }
+
+    /**
+     * 加载分块存储值的分块数据
+     *  分块缺失（已被替换或过期）视为缓存不存在
+     *
+     * @param key 缓存Key
+     * @param storeVal 存储值
+     * @return 存储值，分块加载失败返回 null
+     * @see L2CacheChunkUtil 分块存储
+     */
+    @Nullable
+    private static Object loadChunks(String key, @Nullable Object storeVal) {
+        Object data = storeVal instanceof LogicalVal ? ((LogicalVal) storeVal).getData() : storeVal;
+        if (!(data instanceof L2CacheChunkUtil.Manifest)) {
+            return storeVal;
+        }
+
+        try {
+            L2CacheChunkUtil.read((L2CacheChunkUtil.Manifest) data);
+            return storeVal;
+        } catch (IOException e) {
+            logger.warn("[L2CacheUtil]读取分块数据失败，视为缓存不存在, key={}, e={}", key, e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * 转换缓存数据
      *
@@ -186,6 +421,16 @@ public class L2CacheUtil implements RedisSubscriber {
      * @return 实际返回数据
      */
     public static Object parseCacheData(Object data, Config config) {
+        if (data instanceof LogicalVal) {
+            // 逻辑过期数据取出实际存储值
+            data = ((LogicalVal) data).getData();
+        }
+
+        if (data instanceof L2CacheChunkUtil.Manifest) {
+            // 分块存储数据读取时已加载
+            return ((L2CacheChunkUtil.Manifest) data).getData();
+        }
+
         if (!(data instanceof String)) {
             return data;
         }
@@ -200,8 +445,8 @@ public class L2CacheUtil implements RedisSubscriber {
         }
 
         // 非特殊值处理
-        if (!config.isCompress()) {
-            // 不开启对象压缩
+        if (!config.isCompress() || L2CacheBucketUtil.isEnabled(config)) {
+            // 不开启对象压缩（分桶存储不压缩）
             return data;
         }
 
@@ -229,7 +474,7 @@ public class L2CacheUtil implements RedisSubscriber {
      * @param config 是否压缩
      */
     public static void set(String key, Object value, long duration, Config config) {
-        set(Collections.singleton(key), value, duration, config, redisTemplate());
+        set(Collections.singleton(key), value, duration, config);
     }
 
     /**
@@ -255,8 +500,31 @@ public class L2CacheUtil implements RedisSubscriber {
     public static void set(Collection<String> keys, Object value, long duration, Config config) {
         if (GeneralUtil.isEmpty(keys)) {
             return;
-        } else if (keys.size() == 1) {
-            set(keys.iterator().next(), value, duration, config);
+        }
+
+        // 存储值在管道外处理，大值分块写入需要单独的管道
+        StoreEntry entry = toStoreEntry(value, duration, config);
+        L2CacheAccessRecorder.record(L2CacheAccessRecorder.OP_SET, keys, entry.getDuration());
+        Object data = entry.getCacheVal() instanceof LogicalVal
+                ? ((LogicalVal) entry.getCacheVal()).getData() : entry.getCacheVal();
+        if (data instanceof L2CacheChunkUtil.Manifest) {
+            // 只有新值分块存储时才读取分块引用，回收旧版本分块
+            L2CacheChunkUtil.replace(keys, (L2CacheChunkUtil.Manifest) data, entry.getDuration());
+        }
+        if (L2CacheBucketUtil.isEnabled(config)
+                && L2CacheBucketUtil.set(keys, entry.getCacheVal(), entry.getDuration())) {
+            // 小值分桶存储
+            if (config.isUseL1()) {
+                setLocal(keys, entry);
+                // 通过发布订阅批量通知数据变更清除本地缓存
+                notifyChange(redisTemplate(), new ArrayList<>(keys));
+            }
+
+            return;
+        }
+        if (keys.size() == 1 || RedisSlotUtil.isCluster(redisTemplate())) {
+            // 单个 key 或集群模式（按 slot 分组并行写入）不使用管道
+            set(keys, entry, config, redisTemplate());
             return;
         }
 
@@ -265,7 +533,7 @@ public class L2CacheUtil implements RedisSubscriber {
             public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
                 RedisTemplate<String, Object> template = (RedisTemplate<String, Object>) operations;
 
-                set(keys, value, duration, config, template);
+                set(keys, entry, config, template);
 
                 return null;
             }
@@ -273,59 +541,459 @@ public class L2CacheUtil implements RedisSubscriber {
     }
 
     /**
-     * 设置缓存数据
+     * 转换存储值
      *
-     * @param keys 缓存Key集合
      * @param value 缓存数据
      * @param duration 缓存时长，单位秒
-     * @param config 是否压缩
+     * @param config 其它配置
+     * @return 存储值
      */
-    private static void set(Collection<String> keys, Object value, long duration, Config config,
-                            RedisTemplate<String, Object> template) {
-        Object cacheVal = null;
-
+    private static StoreEntry toStoreEntry(Object value, long duration, Config config) {
         // 缓存特殊值处理
-        long durationL1 = config.isUseL1() ? config.getDurationL1() : 0L;
         for (SpecialVal valEnum : SpecialVal.values()) {
             if (valEnum.canStore(value)) {
-                cacheVal = valEnum.storeVal(value);
-                duration = valEnum.storeDuration();
-                durationL1 = duration;
-                break;
+                return new StoreEntry(valEnum.storeVal(value), valEnum.storeDuration(), valEnum.storeDuration());
             }
         }
 
-        // 非特殊值处理
-        if (cacheVal == null) {
-            // 是否压缩判断
-            cacheVal = config.isCompress() ? CompressUtil.compressObj(value) : value;
+        // 非特殊值处理，逻辑过期时 Redis 物理过期时长延长
+        long storeDuration = config.isLogicalExpire() ? duration + CacheProperties.getLogicalExtraTtl() : duration;
+        Object cacheVal = value;
+        if (config.isCompress() && !L2CacheBucketUtil.isEnabled(config)) {
+            // 压缩后超过阈值的大值分块存储
+            String compressedStr = CompressUtil.compressObj(value);
+            cacheVal = L2CacheChunkUtil.needChunk(compressedStr)
+                    ? L2CacheChunkUtil.write(compressedStr, value, storeDuration) : compressedStr;
+        }
+
+        if (config.isLogicalExpire()) {
+            // 逻辑过期：存储值携带过期时间
+            cacheVal = new LogicalVal(cacheVal, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(duration));
         }
 
+        return new StoreEntry(cacheVal, storeDuration, config.isUseL1() ? config.getDurationL1() : 0L);
+    }
+
+    /**
+     * 设置缓存数据
+     *
+     * @param keys 缓存Key集合
+     * @param entry 存储值
+     * @param config 其它配置
+     * @param template Redis模板
+     */
+    private static void set(Collection<String> keys, StoreEntry entry, Config config,
+                            RedisTemplate<String, Object> template) {
+        Object cacheVal = entry.getCacheVal();
+        long duration = entry.getDuration();
+
         // 缓存处理
         boolean useL1 = config.isUseL1();
         if (useL1) {
-            LocalCacheUtil.set(keys, cacheVal, durationL1);
+            setLocal(keys, entry);
+        }
+
+        if (keys.size() > 1 && RedisSlotUtil.isCluster(template)) {
+            RedisSlotUtil.multiSet(template, keys, cacheVal, Duration.ofSeconds(duration));
+            if (useL1) {
+                // 通过发布订阅批量通知数据变更清除本地缓存
+                notifyChange(template, new ArrayList<>(keys));
+            }
+
+            return;
         }
 
         for (String key : keys) {
             template.opsForValue().set(key, cacheVal, Duration.ofSeconds(duration));
             if (useL1) {
                 // 通过发布订阅通知数据变更清除本地缓存
-                template.convertAndSend(DATA_CHANGE_TOPIC, key);
+                notifyChange(template, key);
             }
         }
     }
 
+    /**
+     * 写入本地缓存
+     *  开启服务端辅助失效时不写入，由下次读取（单个及批量）时经跟踪连接读取后写入，保证本地缓存的 key 均已被跟踪
+     *  开启节点分组时只写入归属当前节点的 key
+     *
+     * @param keys 缓存Key集合
+     * @param entry 存储值
+     * @see L2CacheTracking 服务端辅助失效
+     */
+    private static void setLocal(Collection<String> keys, StoreEntry entry) {
+        if (L2CacheTracking.isActive()) {
+            return;
+        }
+
+        // 节点分组模式只有归属节点写入本地缓存
+        Collection<String> ownedKeys = L2CachePeerGroup.getInstance() == null ? keys
+                : keys.stream().filter(L2CachePeerGroup::isLocalOwner).collect(Collectors.toList());
+        LocalCacheUtil.set(ownedKeys, entry.getCacheVal(), entry.getDurationL1());
+    }
+
+    /**
+     * 存储值是否已逻辑过期
+     *
+     * @param storeVal 存储值
+     * @return 是否已逻辑过期，非逻辑过期存储值返回 false
+     */
+    public static boolean isLogicalExpired(Object storeVal) {
+        return storeVal instanceof LogicalVal && ((LogicalVal) storeVal).isExpired();
+    }
+
+    /**
+     * 异步重建缓存
+     *  通过 Redis 租约保证同一时间只有一个节点执行重建，未获取到租约直接返回
+     *
+     * @param key 缓存key，用于租约
+     * @param rebuilder 重建处理，需自行加载数据并写入缓存
+     * @return 是否提交重建
+     */
+    public static boolean rebuildAsync(String key, Runnable rebuilder) {
+        String leaseKey = REBUILD_LEASE_PREFIX + key;
+        Boolean leased = RedisUtil.strOpsValue().setIfAbsent(leaseKey, "1",
+                Duration.ofSeconds(REBUILD_LEASE_TTL));
+        if (!Boolean.TRUE.equals(leased)) {
+            return false;
+        }
+
+        try {
+            REBUILD_EXECUTOR.execute(() -> {
+                try {
+                    rebuilder.run();
+                } catch (Exception e) {
+                    logger.warn("[L2CacheUtil]异步重建缓存异常, key={}", key, e);
+                } finally {
+                    RedisUtil.strTemplate().delete(leaseKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            RedisUtil.strTemplate().delete(leaseKey);
+            return false;
+        }
+
+        logger.debug("[L2CacheUtil]提交异步重建缓存, key={}", key);
+        return true;
+    }
+
     /**
      * 修改缓存失效
      *
      * @param key 缓存key
      */
     public static void delete(String key) {
+        L2CacheAccessRecorder.record(L2CacheAccessRecorder.OP_DELETE, key, 0L);
         LocalCacheUtil.delete(key);
-        redisTemplate().delete(key);
+        if (L2CacheChunkUtil.isEnabled()) {
+            // 开启分块存储时通过脚本删除，旧值为分块清单时回收分块
+            L2CacheChunkUtil.delete(Collections.singletonList(key));
+        } else {
+            redisTemplate().delete(key);
+        }
+        L2CacheBucketUtil.delete(Collections.singleton(key));
+        deleteTier(Collections.singleton(key));
         // 通过发布订阅通知数据变更清除本地缓存
-        redisTemplate().convertAndSend(DATA_CHANGE_TOPIC, key);
+        notifyChange(redisTemplate(), key);
+    }
+
+    /**
+     * 批量删除缓存
+     *  Redis 分批通过管道删除（开启分块存储时通过脚本删除并回收分块），本地缓存通过一次发布订阅批量通知清除
+     *
+     * @param keys 缓存key集合
+     */
+    public static void delete(Collection<String> keys) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return;
+        }
+
+        List<String> keyList = new ArrayList<>(new HashSet<>(keys));
+        L2CacheAccessRecorder.record(L2CacheAccessRecorder.OP_DELETE, keyList, 0L);
+        LocalCacheUtil.delete(keyList);
+        if (L2CacheChunkUtil.isEnabled()) {
+            // 开启分块存储时通过脚本逐个删除，旧值为分块清单时回收分块
+            for (List<String> batchKeys : Lists.partition(keyList, BATCH_SIZE)) {
+                L2CacheChunkUtil.delete(batchKeys);
+            }
+        } else {
+            unlink(keyList);
+        }
+
+        L2CacheBucketUtil.delete(keyList);
+        deleteTier(keyList);
+
+        // 通过发布订阅通知数据变更清除本地缓存，消息体为 key 集合
+        for (List<String> batchKeys : Lists.partition(keyList, BATCH_SIZE)) {
+            notifyChange(redisTemplate(), new ArrayList<>(batchKeys));
+        }
+    }
+
+    /**
+     * 批量 UNLINK 缓存 key，通过管道执行
+     *  集群模式按 slot 分组，保证每批 UNLINK 的 key 位于同一 slot
+     *
+     * @param keyList 缓存key集合
+     */
+    private static void unlink(List<String> keyList) {
+        Collection<List<String>> keyGroups = RedisSlotUtil.isCluster(redisTemplate())
+                ? RedisSlotUtil.groupBySlot(keyList).values() : Collections.singletonList(keyList);
+        redisTemplate().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisTemplate<String, Object> template = (RedisTemplate<String, Object>) operations;
+                for (List<String> groupKeys : keyGroups) {
+                    for (List<String> batchKeys : Lists.partition(groupKeys, BATCH_SIZE)) {
+                        template.unlink(batchKeys);
+                    }
+                }
+
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 通过多级缓存链获取缓存数据
+     *  返回存储值，需通过 {@link #parseCacheData(Object, Config)} 转换
+     *
+     * @param chain 多级缓存链
+     * @param keys 缓存key集合
+     * @return 缓存key 与 存储值 对应Map，不包含不存在的 key
+     */
+    public static Map<String, Object> getTier(CacheTierChain chain, Collection<String> keys) {
+        L2CacheAccessRecorder.record(L2CacheAccessRecorder.OP_GET, keys, 0L);
+        return chain.get(keys);
+    }
+
+    /**
+     * 通过多级缓存链设置缓存数据
+     *  特殊值（null、异常）按特殊值存储，其它值不压缩、不分块，由各层级自行序列化
+     *
+     * @param chain 多级缓存链
+     * @param keys 缓存key集合
+     * @param value 缓存数据
+     * @param duration 缓存时长，单位秒
+     */
+    public static void setTier(CacheTierChain chain, Collection<String> keys, Object value, long duration) {
+        Object storeVal = value;
+        long storeDuration = duration;
+        for (SpecialVal valEnum : SpecialVal.values()) {
+            if (valEnum.canStore(value)) {
+                storeVal = valEnum.storeVal(value);
+                storeDuration = valEnum.storeDuration();
+                break;
+            }
+        }
+
+        L2CacheAccessRecorder.record(L2CacheAccessRecorder.OP_SET, keys, storeDuration);
+        for (String key : keys) {
+            chain.set(key, storeVal, storeDuration);
+        }
+    }
+
+    /**
+     * 删除多级缓存链中两级缓存以外层级的缓存，未开启多级缓存链时不处理
+     *
+     * @param keys 缓存key集合
+     */
+    private static void deleteTier(Collection<String> keys) {
+        CacheTierChain chain = CacheTierChain.defChain();
+        if (chain != null) {
+            chain.deleteExtra(keys);
+        }
+    }
+
+    /**
+     * 记录缓存标签与缓存 key 的关系
+     *  标签存活时长不小于缓存时长，标签下 key 数量超过上限时抽样清理已失效的 key
+     *
+     * @param tags 缓存标签集合
+     * @param keys 缓存key集合
+     * @param duration 缓存时长，单位秒
+     */
+    public static void addTags(Collection<String> tags, Collection<String> keys, long duration) {
+        if (GeneralUtil.isEmpty(tags) || GeneralUtil.isEmpty(keys)) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(keys.size() + 1);
+        args.add(String.valueOf(duration));
+        args.addAll(keys);
+        for (String tag : tags) {
+            String tagKey = TAG_PREFIX + tag;
+            Long size = RedisUtil.strTemplate().execute(TAG_ADD_SCRIPT,
+                    Collections.singletonList(tagKey), args.toArray());
+            if (size != null && size > CacheProperties.getTagMaxSize()) {
+                pruneTag(tagKey);
+            }
+        }
+    }
+
+    /**
+     * 清理标签下已失效的缓存 key
+     *  每次只抽样检查固定数量，避免大标签清理阻塞
+     *  按缓存可能的存储方式判断是否存在：普通 key 及分桶（开启分桶存储时）均不存在才视为已失效；
+     *  开启多级缓存链时 key 可能只存在于 Redis 以外的层级，无法判断是否已失效，不清理
+     *
+     * @param tagKey 标签key
+     */
+    private static void pruneTag(String tagKey) {
+        if (CacheTierChain.defChain() != null) {
+            return;
+        }
+
+        Set<String> sampleMembers = RedisUtil.strOpsSet().distinctRandomMembers(tagKey, TAG_PRUNE_SIZE);
+        if (GeneralUtil.isEmpty(sampleMembers)) {
+            return;
+        }
+
+        List<String> members = new ArrayList<>(sampleMembers);
+        boolean bucket = L2CacheBucketUtil.isEnabled();
+        List<Object> existList = RedisUtil.strTemplate().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                StringRedisTemplate template = (StringRedisTemplate) operations;
+                for (String member : members) {
+                    template.hasKey(member);
+                    if (bucket) {
+                        template.opsForHash().hasKey(L2CacheBucketUtil.bucketKey(member), member);
+                    }
+                }
+
+                return null;
+            }
+        });
+
+        int step = bucket ? 2 : 1;
+        List<Object> expiredList = new ArrayList<>();
+        for (int i = 0, size = members.size(); i < size; i++) {
+            boolean exist = Boolean.TRUE.equals(existList.get(i * step))
+                    || (bucket && Boolean.TRUE.equals(existList.get(i * step + 1)));
+            if (!exist) {
+                expiredList.add(members.get(i));
+            }
+        }
+
+        if (GeneralUtil.isNotEmpty(expiredList)) {
+            RedisUtil.strOpsSet().remove(tagKey, expiredList.toArray());
+        }
+
+        logger.debug("[L2CacheUtil]清理缓存标签, tagKey={}, checkNum={}, removeNum={}",
+                tagKey, members.size(), expiredList.size());
+    }
+
+    /**
+     * 根据缓存标签批量失效缓存
+     *  通过 SSCAN 分批读取标签下的 key 并分批删除，避免大标签一次性读取
+     *
+     * @param tags 缓存标签集合
+     */
+    public static void evictTags(Collection<String> tags) {
+        if (GeneralUtil.isEmpty(tags)) {
+            return;
+        }
+
+        ScanOptions options = ScanOptions.scanOptions().count(BATCH_SIZE).build();
+        List<String> tagKeys = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            String tagKey = TAG_PREFIX + tag;
+            tagKeys.add(tagKey);
+            List<String> batchKeys = new ArrayList<>(BATCH_SIZE);
+            try (Cursor<String> cursor = RedisUtil.strOpsSet().scan(tagKey, options)) {
+                while (cursor.hasNext()) {
+                    batchKeys.add(cursor.next());
+                    if (batchKeys.size() >= BATCH_SIZE) {
+                        delete(batchKeys);
+                        batchKeys.clear();
+                    }
+                }
+            }
+
+            delete(batchKeys);
+        }
+
+        // 标签下的 key 全部删除后再删除标签
+        RedisUtil.strTemplate().delete(tagKeys);
+    }
+
+    /**
+     * 构建命名空间缓存 key
+     *  缓存 key 携带命名空间当前版本号，版本号变更后旧版本 key 不再被访问，等待自然过期
+     *  格式：命名空间:版本号:缓存key
+     *
+     * @param namespace 命名空间
+     * @param key 缓存key
+     * @return 携带命名空间版本号的缓存key
+     */
+    public static String namespaceKey(String namespace, String key) {
+        if (GeneralUtil.isEmpty(namespace)) {
+            return key;
+        }
+
+        return namespace + ":" + getNamespaceGen(namespace) + ":" + key;
+    }
+
+    /**
+     * 获取命名空间当前版本号
+     *  优先从本地缓存获取，本地缓存不存在从 Redis 获取并写入本地缓存
+     *
+     * @param namespace 命名空间
+     * @return 当前版本号，未失效过返回 0
+     */
+    public static long getNamespaceGen(String namespace) {
+        String genKey = NAMESPACE_GEN_PREFIX + namespace;
+        Object localGen = LocalCacheUtil.get(genKey);
+        if (localGen instanceof Long) {
+            return (Long) localGen;
+        }
+
+        String genStr = RedisUtil.strOpsValue().get(genKey);
+        long gen = GeneralUtil.isEmpty(genStr) ? 0L : Long.parseLong(genStr);
+        LocalCacheUtil.set(genKey, gen, MIN_TTL);
+        return gen;
+    }
+
+    /**
+     * 命名空间整体失效
+     *  递增命名空间版本号（一次 INCR），命名空间下旧版本缓存 key 不再被访问，等待自然过期
+     *
+     * @param namespace 命名空间
+     * @return 失效后的新版本号
+     */
+    public static long invalidateNamespace(String namespace) {
+        ResponseEnum.ILLEGAL_ARGUMENT.assertTrue(GeneralUtil.isNotEmpty(namespace));
+
+        String genKey = NAMESPACE_GEN_PREFIX + namespace;
+        Long gen = RedisUtil.strOpsValue().increment(genKey);
+        long newGen = gen == null ? 0L : gen;
+        LocalCacheUtil.set(genKey, newGen, MIN_TTL);
+        // 通过发布订阅通知其它节点清除本地缓存中的版本号
+        notifyChange(redisTemplate(), genKey);
+        return newGen;
+    }
+
+    /**
+     * 通过发布订阅通知数据变更，各节点清除本地缓存
+     *
+     * @param keys 缓存key集合
+     */
+    public static void publishChange(Collection<String> keys) {
+        if (GeneralUtil.isNotEmpty(keys)) {
+            notifyChange(redisTemplate(), new ArrayList<>(keys));
+        }
+    }
+
+    /**
+     * 通知数据变更：通过发布订阅通知各节点清除本地缓存，开启失效日志时同时追加到失效日志
+     *
+     * @param template Redis 模板，在管道中调用时为管道内的模板
+     * @param body 缓存key或缓存key集合
+     * @see L2CacheInvalidationLog 失效日志
+     */
+    private static void notifyChange(RedisTemplate<String, Object> template, Object body) {
+        template.convertAndSend(DATA_CHANGE_TOPIC, body);
+        L2CacheInvalidationLog.append(template, body);
     }
 
     @Override
@@ -336,7 +1004,16 @@ public class L2CacheUtil implements RedisSubscriber {
     @Override
     public void onMessage(Message message, byte[] pattern) {
         // 使用 redis convertAndSend发布消息，订阅者获取字符串字节必须要反序列
-        String cacheKey = (String) redisTemplate().getValueSerializer().deserialize(message.getBody());
+        Object body = redisTemplate().getValueSerializer().deserialize(message.getBody());
+        if (body instanceof Collection) {
+            // 批量清除本地缓存
+            Collection<String> cacheKeys = (Collection<String>) body;
+            LocalCacheUtil.delete(cacheKeys);
+            logger.debug("[L2CacheUtil]批量清除本地缓存, cacheKeys={}", cacheKeys);
+            return;
+        }
+
+        String cacheKey = (String) body;
         // 清除本地缓存
         logger.debug("[L2CacheUtil]清除本地缓存 START, cacheKey={}, value={}",
                 cacheKey, JsonUtil.toSimpleStr(LocalCacheUtil.get(cacheKey)));
@@ -354,12 +1031,22 @@ public class L2CacheUtil implements RedisSubscriber {
         return RedisUtil.defTemplate();
     }
 
+    /**
+     * 读取使用的 Redis 模板
+     *  缓存允许从节点读取且当前复制延迟在允许范围内时使用从节点读取模板
+     *
+     * @see L2CacheReplicaRouter 从节点读取路由
+     */
+    private static RedisTemplate<String, Object> readTemplate(Config config) {
+        return L2CacheReplicaRouter.readTemplate(config.getReplicaMaxLag());
+    }
+
     /**
      * 两级缓存配置
      * 默认：使用本地缓存60s、开启对象压缩
      */
     @Getter
-    @Builder
+    @Builder(toBuilder = true)
     public static class Config {
         /**
          * 是否使用L1缓存（本地缓存）
@@ -378,6 +1065,88 @@ public class L2CacheUtil implements RedisSubscriber {
          */
         @Builder.Default
         private boolean compress = true;
+
+        /**
+         * 是否使用逻辑过期
+         *  存储值携带过期时间，Redis 物理过期时长延长，读取到逻辑过期数据直接返回并异步重建
+         */
+        @Builder.Default
+        private boolean logicalExpire = false;
+
+        /**
+         * 是否使用分桶存储
+         *  小值写入 Redis Hash 分桶，不进行对象压缩，需全局开启分桶存储
+         *
+         * @see L2CacheBucketUtil 分桶存储
+         */
+        @Builder.Default
+        private boolean bucket = false;
+
+        /**
+         * 从节点读取允许的最大复制延迟，单位秒，小于 0 只从主节点读取
+         *  需开启从节点读取
+         *
+         * @see L2CacheReplicaRouter 从节点读取路由
+         */
+        @Builder.Default
+        private long replicaMaxLag = -1L;
+
+        /**
+         * 是否通过默认多级缓存链读写，需开启 practice.middleware.cache.tier.enabled
+         *
+         * @see CacheTierChain 多级缓存链
+         */
+        @Builder.Default
+        private boolean tier = false;
+    }
+
+    /**
+     * 逻辑过期存储值
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LogicalVal {
+        /**
+         * 实际存储值
+         */
+        private Object data;
+
+        /**
+         * 逻辑过期时间戳，单位毫秒
+         */
+        private long expireAt;
+
+        /**
+         * 是否已逻辑过期
+         */
+        @JsonIgnore
+        public boolean isExpired() {
+            return System.currentTimeMillis() >= expireAt;
+        }
+    }
+
+    /**
+     * 存储值及缓存时长
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class StoreEntry {
+        /**
+         * 存储值
+         */
+        private final Object cacheVal;
+
+        /**
+         * Redis 缓存时长，单位秒
+         */
+        private final long duration;
+
+        /**
+         * 本地缓存时长，单位秒
+         */
+        private final long durationL1;
     }
 
     @Getter
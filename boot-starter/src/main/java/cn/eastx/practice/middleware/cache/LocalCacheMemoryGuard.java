@@ -0,0 +1,203 @@
+package cn.eastx.practice.middleware.cache;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 本地缓存内存压力监控
+ *  监听支持使用阈值的堆内存池（老年代）阈值通知，超过高水位时缩小本地缓存最大数量，
+ *  定时检查 GC 后使用率低于低水位时逐步恢复，避免流量高峰时本地缓存加剧 GC 停顿甚至 OOM
+ *  内存池使用阈值为 JVM 全局设置，已被其它组件设置阈值（非 0）的内存池不覆盖、不监控，只处理监控内存池的通知
+ *
+ * @see CacheProperties.LocalMemory 配置
+ * @see LocalCacheUtil#setMaximumSize(long) 调整本地缓存最大数量
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class LocalCacheMemoryGuard implements NotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalCacheMemoryGuard.class);
+
+    /** 调整次数指标名称 */
+    public static final String METRIC_RESIZE = "practice.cache.local.resize";
+    /** 当前最大数量指标名称 */
+    public static final String METRIC_MAX_SIZE = "practice.cache.local.max.size";
+
+    /** 监控的内存池 */
+    private final List<MemoryPoolMXBean> pools = new ArrayList<>();
+    /** 监控的内存池名称 */
+    private final Set<String> poolNames = new HashSet<>();
+
+    private ScheduledExecutorService scheduler;
+
+    /** 上次缩容时间，单位毫秒，两次缩容至少间隔一个检查周期 */
+    private long lastShrinkTime;
+
+    /**
+     * 开始监控
+     */
+    public void start() {
+        CacheProperties.LocalMemory config = CacheProperties.getLocalMemory();
+        if (!config.isEnabled()) {
+            return;
+        }
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            long max = pool.getUsage().getMax();
+            if (pool.getType() != MemoryType.HEAP || !pool.isUsageThresholdSupported() || max <= 0) {
+                continue;
+            }
+
+            boolean collectionSupported = pool.isCollectionUsageThresholdSupported();
+            if (pool.getUsageThreshold() != 0
+                    || (collectionSupported && pool.getCollectionUsageThreshold() != 0)) {
+                logger.warn("[LocalCacheMemoryGuard]内存池已设置使用阈值，不覆盖, pool={}", pool.getName());
+                continue;
+            }
+
+            long threshold = (long) (max * config.getHighRatio());
+            pool.setUsageThreshold(threshold);
+            if (collectionSupported) {
+                pool.setCollectionUsageThreshold(threshold);
+            }
+
+            pools.add(pool);
+            poolNames.add(pool.getName());
+        }
+
+        if (pools.isEmpty()) {
+            logger.warn("[LocalCacheMemoryGuard]无支持使用阈值且未设置阈值的堆内存池，不进行监控");
+            return;
+        }
+
+        ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(this, null, null);
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("local-cache-memory-guard").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::checkRecover, config.getCheckInterval(),
+                config.getCheckInterval(), TimeUnit.SECONDS);
+        CacheMetrics.gauge(METRIC_MAX_SIZE, LocalCacheUtil.getMaximumSize());
+    }
+
+    /**
+     * 停止监控
+     */
+    public void stop() {
+        if (pools.isEmpty()) {
+            return;
+        }
+
+        try {
+            ((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(this);
+        } catch (ListenerNotFoundException e) {
+            logger.debug("[LocalCacheMemoryGuard]监听已移除");
+        }
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    @Override
+    public void handleNotification(Notification notification, Object handback) {
+        String type = notification.getType();
+        if (!MemoryNotificationInfo.MEMORY_THRESHOLD_EXCEEDED.equals(type)
+                && !MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(type)) {
+            return;
+        }
+
+        // 忽略其它组件设置阈值的内存池通知
+        MemoryNotificationInfo info = MemoryNotificationInfo.from((CompositeData) notification.getUserData());
+        if (poolNames.contains(info.getPoolName())) {
+            shrink();
+        }
+    }
+
+    /**
+     * 缩容
+     */
+    private synchronized void shrink() {
+        CacheProperties.LocalMemory config = CacheProperties.getLocalMemory();
+        long now = System.currentTimeMillis();
+        if (now - lastShrinkTime < TimeUnit.SECONDS.toMillis(config.getCheckInterval())) {
+            return;
+        }
+
+        long current = LocalCacheUtil.getMaximumSize();
+        long target = Math.max(config.getMinSize(), (long) (current * config.getShrinkRatio()));
+        if (target >= current) {
+            return;
+        }
+
+        lastShrinkTime = now;
+        resize(current, target, "shrink");
+    }
+
+    /**
+     * 检查内存压力是否解除，解除后逐步扩容至配置的最大数量
+     */
+    private synchronized void checkRecover() {
+        try {
+            long current = LocalCacheUtil.getMaximumSize();
+            long configMax = LocalCacheUtil.getConfigMaximumSize();
+            if (current >= configMax || isHighPressure()) {
+                return;
+            }
+
+            long target = Math.min(configMax, (long) (current / CacheProperties.getLocalMemory().getShrinkRatio()));
+            resize(current, Math.max(target, current + 1), "grow");
+        } catch (Exception e) {
+            logger.warn("[LocalCacheMemoryGuard]检查内存压力异常", e);
+        }
+    }
+
+    /**
+     * 是否仍存在内存压力，优先使用 GC 后的使用量
+     */
+    private boolean isHighPressure() {
+        double lowRatio = CacheProperties.getLocalMemory().getLowRatio();
+        for (MemoryPoolMXBean pool : pools) {
+            MemoryUsage usage = pool.isCollectionUsageThresholdSupported() ? pool.getCollectionUsage() : null;
+            if (usage == null) {
+                usage = pool.getUsage();
+            }
+
+            if (usage.getMax() > 0 && usage.getUsed() > usage.getMax() * lowRatio) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 调整本地缓存最大数量并记录指标
+     */
+    private void resize(long current, long target, String action) {
+        LocalCacheUtil.setMaximumSize(target);
+        CacheMetrics.increment(METRIC_RESIZE, "action", action);
+        CacheMetrics.gauge(METRIC_MAX_SIZE, target);
+        logger.info("[LocalCacheMemoryGuard]调整本地缓存最大数量, action={}, from={}, to={}",
+                action, current, target);
+    }
+
+}
@@ -0,0 +1,211 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.util.GeneralUtil;
+import cn.eastx.practice.common.util.SecureContextHolder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地缓存租户分区
+ *  每个租户（{@link SecureContextHolder#getTenantId()}）使用独立的分区及数量配额，租户只淘汰自己的数据，
+ *  分区已满时新数据写入共享溢出池，单个租户在溢出池中的数量不超过上限，避免个别租户挤占其它租户的热点数据
+ *  无租户或租户数量超过上限时使用默认分区
+ *
+ * @see CacheProperties.Tenant 配置
+ * @see LocalCacheUtil 本地缓存工具类
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+class LocalCacheTenants {
+
+    /** 租户请求次数指标名称，标签 result 为 hit/miss，用于计算各租户命中率 */
+    public static final String METRIC_REQUEST = "practice.cache.local.tenant.request";
+    /** 默认分区租户标识 */
+    static final String DEFAULT_TENANT = "default";
+
+    /** 租户分区 */
+    private static final Map<String, Cache<String, Object>> PARTITIONS = new ConcurrentHashMap<>();
+    /** 溢出池中各租户的数量 */
+    private static final Map<String, AtomicInteger> OVERFLOW_COUNTS = new ConcurrentHashMap<>();
+    /** 共享溢出池，值为 {@link TenantVal} */
+    private static volatile Cache<String, Object> overflow;
+    /** 容量比例，内存压力时缩小 */
+    private static volatile double sizeRatio = 1.0D;
+
+    private LocalCacheTenants() {}
+
+    /**
+     * 是否开启租户分区
+     */
+    static boolean isEnabled() {
+        return CacheProperties.getTenant().isEnabled();
+    }
+
+    static Object get(String key) {
+        String tenant = currentTenant();
+        Object val = partition(tenant).getIfPresent(key);
+        if (val == null) {
+            TenantVal tenantVal = (TenantVal) getOverflow().getIfPresent(key);
+            val = tenantVal == null ? null : tenantVal.getValue();
+        }
+
+        CacheMetrics.increment(METRIC_REQUEST, "tenant", tenant, "result", val == null ? "miss" : "hit");
+        return val;
+    }
+
+    static Map<String, Object> get(Collection<String> keys) {
+        String tenant = currentTenant();
+        Map<String, Object> resultMap = new HashMap<>(partition(tenant).getAllPresent(keys));
+        if (resultMap.size() < keys.size()) {
+            for (String key : keys) {
+                TenantVal tenantVal = resultMap.containsKey(key) ? null : (TenantVal) getOverflow().getIfPresent(key);
+                if (tenantVal != null) {
+                    resultMap.put(key, tenantVal.getValue());
+                }
+            }
+        }
+
+        CacheMetrics.add(METRIC_REQUEST, resultMap.size(), "tenant", tenant, "result", "hit");
+        CacheMetrics.add(METRIC_REQUEST, keys.size() - resultMap.size(), "tenant", tenant, "result", "miss");
+        return resultMap;
+    }
+
+    static void set(Collection<String> keys, Object value, Duration ttl) {
+        String tenant = currentTenant();
+        Cache<String, Object> partition = partition(tenant);
+        long quota = quota(tenant);
+        for (String key : keys) {
+            if (partition.estimatedSize() >= quota && !partition.asMap().containsKey(key) && allowOverflow(tenant)) {
+                // 分区已满，写入溢出池
+                putVariably(getOverflow(), key, new TenantVal(tenant, value), ttl);
+                OVERFLOW_COUNTS.computeIfAbsent(tenant, k -> new AtomicInteger()).incrementAndGet();
+            } else {
+                putVariably(partition, key, value, ttl);
+            }
+        }
+    }
+
+    /**
+     * 删除缓存，失效通知不携带租户，所有分区均删除
+     */
+    static void delete(Collection<String> keys) {
+        for (Cache<String, Object> partition : PARTITIONS.values()) {
+            partition.invalidateAll(keys);
+        }
+
+        getOverflow().invalidateAll(keys);
+    }
+
+    static void clear() {
+        for (Cache<String, Object> partition : PARTITIONS.values()) {
+            partition.invalidateAll();
+        }
+
+        getOverflow().invalidateAll();
+    }
+
+    /**
+     * 按比例调整所有分区及溢出池容量
+     *
+     * @param ratio 容量比例
+     */
+    static void resize(double ratio) {
+        sizeRatio = ratio;
+        for (Map.Entry<String, Cache<String, Object>> entry : PARTITIONS.entrySet()) {
+            long maximum = quota(entry.getKey());
+            entry.getValue().policy().eviction().ifPresent(e -> e.setMaximum(maximum));
+        }
+
+        getOverflow().policy().eviction().ifPresent(e -> e.setMaximum(overflowSize()));
+    }
+
+    /**
+     * 当前租户，无租户或租户分区数量已达上限时使用默认分区
+     */
+    private static String currentTenant() {
+        String tenant = SecureContextHolder.getTenantId();
+        if (GeneralUtil.isEmpty(tenant)) {
+            return DEFAULT_TENANT;
+        }
+
+        return PARTITIONS.containsKey(tenant) || PARTITIONS.size() < CacheProperties.getTenant().getMaxTenants()
+                ? tenant : DEFAULT_TENANT;
+    }
+
+    private static Cache<String, Object> partition(String tenant) {
+        return PARTITIONS.computeIfAbsent(tenant, k -> Caffeine.newBuilder()
+                .maximumSize(quota(k))
+                .expireAfter(new LocalCacheUtil.CacheExpiry())
+                .build());
+    }
+
+    /**
+     * 租户分区数量配额
+     */
+    private static long quota(String tenant) {
+        CacheProperties.Tenant config = CacheProperties.getTenant();
+        long quota = config.getQuotas().getOrDefault(tenant, config.getDefaultQuota());
+        return Math.max(1L, (long) (quota * sizeRatio));
+    }
+
+    private static long overflowSize() {
+        return Math.max(1L, (long) (CacheProperties.getTenant().getOverflowSize() * sizeRatio));
+    }
+
+    /**
+     * 租户在溢出池中的数量是否未达上限
+     */
+    private static boolean allowOverflow(String tenant) {
+        AtomicInteger count = OVERFLOW_COUNTS.get(tenant);
+        return count == null || count.get() < overflowSize() * CacheProperties.getTenant().getOverflowShare();
+    }
+
+    private static Cache<String, Object> getOverflow() {
+        if (overflow == null) {
+            synchronized (LocalCacheTenants.class) {
+                if (overflow == null) {
+                    overflow = Caffeine.newBuilder()
+                            .maximumSize(overflowSize())
+                            .expireAfter(new LocalCacheUtil.CacheExpiry())
+                            // 同步执行，保证各租户数量及时更新
+                            .executor(Runnable::run)
+                            .removalListener((String key, Object value, RemovalCause cause) -> {
+                                if (value instanceof TenantVal) {
+                                    AtomicInteger count = OVERFLOW_COUNTS.get(((TenantVal) value).getTenant());
+                                    if (count != null) {
+                                        count.decrementAndGet();
+                                    }
+                                }
+                            })
+                            .build();
+                }
+            }
+        }
+
+        return overflow;
+    }
+
+    private static void putVariably(Cache<String, Object> cache, String key, Object value, Duration ttl) {
+        cache.policy().expireVariably().ifPresent(e -> e.put(key, value, ttl));
+    }
+
+    /**
+     * 溢出池缓存值，记录所属租户
+     */
+    @Getter
+    @AllArgsConstructor
+    private static class TenantVal {
+        private final String tenant;
+        private final Object value;
+    }
+
+}
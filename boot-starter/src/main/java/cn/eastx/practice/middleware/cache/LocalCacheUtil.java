@@ -69,6 +69,10 @@ public class LocalCacheUtil {
      */
     @Nullable
     public static Object get(String key) {
+        if (LocalCacheTenants.isEnabled()) {
+            return LocalCacheTenants.get(key);
+        }
+
         return getCache().getIfPresent(key);
     }
 
@@ -83,6 +87,10 @@ public class LocalCacheUtil {
             return Collections.emptyMap();
         }
 
+        if (LocalCacheTenants.isEnabled()) {
+            return LocalCacheTenants.get(keys);
+        }
+
         return getCache().getAllPresent(keys);
     }
 
@@ -99,6 +107,11 @@ public class LocalCacheUtil {
         }
 
         Duration ttl = Duration.ofSeconds(Math.min(duration, MAX_TTL));
+        if (LocalCacheTenants.isEnabled()) {
+            LocalCacheTenants.set(Collections.singleton(key), value, ttl);
+            return;
+        }
+
         getCache().policy().expireVariably().ifPresent(e ->
                 e.put(key, value, ttl));
     }
@@ -116,6 +129,11 @@ public class LocalCacheUtil {
         }
 
         Duration ttl = Duration.ofSeconds(Math.min(duration, MAX_TTL));
+        if (LocalCacheTenants.isEnabled()) {
+            LocalCacheTenants.set(keys, value, ttl);
+            return;
+        }
+
         getCache().policy().expireVariably().ifPresent(e -> {
             for (String key : keys) {
                 e.put(key, value, ttl);
@@ -130,9 +148,75 @@ public class LocalCacheUtil {
      * @see LocalCacheUtil#getCache() DCL获取缓存实例，注意存在时长限制
      */
     public static void delete(String key) {
+        if (LocalCacheTenants.isEnabled()) {
+            LocalCacheTenants.delete(Collections.singleton(key));
+            return;
+        }
+
         getCache().invalidate(key);
     }
 
+    /**
+     * 清空缓存
+     */
+    public static void clear() {
+        if (LocalCacheTenants.isEnabled()) {
+            LocalCacheTenants.clear();
+            return;
+        }
+
+        getCache().invalidateAll();
+    }
+
+    /**
+     * 获取配置的最大缓存数量
+     *
+     * @return 配置的最大缓存数量
+     */
+    public static long getConfigMaximumSize() {
+        return MAX_NUM;
+    }
+
+    /**
+     * 获取当前最大缓存数量
+     *
+     * @return 当前最大缓存数量
+     */
+    public static long getMaximumSize() {
+        return getCache().policy().eviction().map(e -> e.getMaximum()).orElse((long) MAX_NUM);
+    }
+
+    /**
+     * 调整最大缓存数量，缩小时超出部分将被淘汰
+     *
+     * @param maximumSize 最大缓存数量
+     */
+    public static void setMaximumSize(long maximumSize) {
+        getCache().policy().eviction().ifPresent(e -> e.setMaximum(maximumSize));
+        if (LocalCacheTenants.isEnabled()) {
+            // 租户分区按相同比例调整
+            LocalCacheTenants.resize((double) maximumSize / MAX_NUM);
+        }
+    }
+
+    /**
+     * 批量删除缓存
+     *
+     * @param keys 缓存key集合
+     */
+    public static void delete(Collection<String> keys) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return;
+        }
+
+        if (LocalCacheTenants.isEnabled()) {
+            LocalCacheTenants.delete(keys);
+            return;
+        }
+
+        getCache().invalidateAll(keys);
+    }
+
     /**
      * 缓存过期策略
      *
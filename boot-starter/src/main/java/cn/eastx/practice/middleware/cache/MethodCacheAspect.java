@@ -1,18 +1,28 @@
 package cn.eastx.practice.middleware.cache;
 
 import cn.eastx.practice.common.util.GeneralUtil;
+import cn.eastx.practice.middleware.cache.tier.CacheTierChain;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 方法缓存 AOP 处理
  *
  * @see MethodCacheable 方法缓存注解
  * @see MethodCacheableOperation 方法缓存操作类
+ * @see MethodCacheEvict 方法缓存失效注解
+ * @see MethodCacheEvictOperation 方法缓存失效操作类
+ * @see CacheTierChain 多级缓存链（{@link MethodCacheable#tier()} 开启时使用）
+ * @see L2CachePeerGroup 节点分组（非归属节点未命中时转发到归属节点加载）
  *
  * @author EastX
  * @date 2022/10/20
@@ -20,9 +30,19 @@ import java.util.Map;
 @Aspect
 public class MethodCacheAspect {
 
+    private static final Logger logger = LoggerFactory.getLogger(MethodCacheAspect.class);
+
+    /**
+     * 多级缓存链存储值转换配置，多级缓存链存储值不压缩
+     */
+    private static final L2CacheUtil.Config TIER_CONFIG = L2CacheUtil.Config.builder().compress(false).build();
+
     @Pointcut("@annotation(cn.eastx.practice.middleware.cache.MethodCacheable)")
     public void pointcut() {}
 
+    @Pointcut("@annotation(cn.eastx.practice.middleware.cache.MethodCacheEvict)")
+    public void evictPointcut() {}
+
     /**
      * 缓存处理
      *
@@ -36,28 +56,178 @@ public class MethodCacheAspect {
             return joinPoint.proceed();
         }
 
-        Object result = getCacheData(operation);
+        Object result;
+        try {
+            result = getCacheData(operation);
+        } catch (L2CacheBreaker.RejectedException e) {
+            return invokeDegraded(joinPoint, operation);
+        }
+
         if (result != null) {
+            if (L2CacheUtil.isLogicalExpired(result)) {
+                // 逻辑过期直接返回旧数据，异步重建缓存
+                CacheTrace.record("stale", operation.getKeys(), "rebuild", CacheTrace.start());
+                rebuildAsync(joinPoint, operation);
+            }
+
             return parseCacheData(result, operation);
         }
 
+        boolean rejected = false;
         try {
             // 加锁处理同步执行
+            long waitTime = CacheTrace.start();
             synchronized (operation.getLockObj()) {
-                result = getCacheData(operation);
-                if (result != null) {
-                    return parseCacheData(result, operation);
+                CacheTrace.record("wait", operation.getKeys(), "acquired", waitTime);
+                try {
+                    result = getCacheData(operation);
+                } catch (L2CacheBreaker.RejectedException e) {
+                    rejected = true;
                 }
 
-                result = joinPoint.proceed();
-                setDataCache(operation, result);
-            }
+                if (!rejected) {
+                    if (result != null) {
+                        return parseCacheData(result, operation);
+                    }
 
-            return result;
+                    // 方法自身抛出的 RejectedException 按方法异常处理，不触发降级
+                    result = load(joinPoint, operation);
+                }
+            }
         } catch (Throwable e) {
             setDataCache(operation, e);
             throw e;
         }
+
+        // 仅读取缓存被熔断器拒绝时降级（写入缓存失败已在 setDataCache 中忽略），锁外执行
+        return rejected ? invokeDegraded(joinPoint, operation) : result;
+    }
+
+    /**
+     * Redis 熔断降级处理
+     *  优先返回本地缓存数据（逻辑过期数据同样返回，不触发重建），
+     *  本地缓存不存在时在并发隔离下直接调用方法，结果不写入缓存
+     *
+     * @param joinPoint AOP 连接点
+     * @param operation 操作数据
+     * @return 返回结果
+     * @see L2CacheBreaker 熔断器
+     */
+    private Object invokeDegraded(ProceedingJoinPoint joinPoint, MethodCacheableOperation operation)
+            throws Throwable {
+        if (operation.getL2Config().isUseL1()) {
+            for (Object val : LocalCacheUtil.get(operation.getKeys()).values()) {
+                if (val != null) {
+                    return parseCacheData(val, operation);
+                }
+            }
+        }
+
+        long startTime = CacheTrace.start();
+        L2CacheBreaker.acquireBulkhead();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            CacheTrace.record("degraded", operation.getKeys(), "invoke", startTime);
+            L2CacheBreaker.releaseBulkhead();
+        }
+    }
+
+    /**
+     * 缓存失效处理
+     *
+     * @param joinPoint AOP 连接点
+     * @return 返回结果
+     */
+    @Around("evictPointcut()")
+    public Object aroundEvict(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodCacheEvictOperation operation = MethodCacheEvictOperation.convert(joinPoint);
+        if (operation == null) {
+            return joinPoint.proceed();
+        }
+
+        if (operation.isBeforeInvocation()) {
+            operation.evict();
+            return joinPoint.proceed();
+        }
+
+        Object result = joinPoint.proceed();
+        operation.evict();
+        return result;
+    }
+
+    /**
+     * 异步重建缓存
+     *  重建失败保留旧数据，不缓存异常
+     *
+     * @param joinPoint AOP 连接点
+     * @param operation 操作数据
+     */
+    private void rebuildAsync(ProceedingJoinPoint joinPoint, MethodCacheableOperation operation) {
+        L2CacheUtil.rebuildAsync(operation.getKeys().iterator().next(), () -> {
+            try {
+                loadAndCache(joinPoint, operation);
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    /**
+     * 加载数据
+     *  开启节点分组且当前节点不是 key 的归属节点时转发到归属节点加载，加载后重新读取缓存，
+     *  归属节点加载失败、超时或重新读取未命中时本地加载
+     *
+     * @param joinPoint AOP 连接点
+     * @param operation 操作数据
+     * @return 方法返回结果
+     * @see L2CachePeerGroup#load 转发到归属节点加载
+     */
+    private Object load(ProceedingJoinPoint joinPoint, MethodCacheableOperation operation) throws Throwable {
+        L2CachePeerGroup peerGroup = L2CachePeerGroup.getInstance();
+        String key = operation.getKeys().iterator().next();
+        if (peerGroup == null || L2CachePeerGroup.isForwarded() || peerGroup.isOwner(key)) {
+            return loadAndCache(joinPoint, operation);
+        }
+
+        long startTime = CacheTrace.start();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (peerGroup.load(key, joinPoint.getTarget(), method, joinPoint.getArgs())) {
+            Object result = null;
+            try {
+                result = getCacheData(operation);
+            } catch (L2CacheBreaker.RejectedException e) {
+                logger.debug("[MethodCacheAspect]归属节点加载后读取缓存失败，本地加载, key={}", key);
+            }
+
+            if (result != null) {
+                CacheTrace.record("peer", operation.getKeys(), "owner", startTime);
+                return parseCacheData(result, operation);
+            }
+        }
+
+        CacheTrace.record("peer", operation.getKeys(), "local", startTime);
+        return loadAndCache(joinPoint, operation);
+    }
+
+    /**
+     * 执行方法加载数据并缓存
+     *  统计加载耗时与结果大小，根据成本感知策略调整缓存时长
+     *
+     * @param joinPoint AOP 连接点
+     * @param operation 操作数据
+     * @return 方法返回结果
+     * @see MethodCacheCostPolicy 方法缓存成本感知策略
+     */
+    private Object loadAndCache(ProceedingJoinPoint joinPoint, MethodCacheableOperation operation) throws Throwable {
+        long startTime = System.nanoTime();
+        Object result = joinPoint.proceed();
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        CacheTrace.record("load", operation.getKeys(), "invoke", startTime);
+
+        MethodCacheCostPolicy.apply(operation, latencyMs, result);
+        setDataCache(operation, result);
+        return result;
     }
 
     /**
@@ -65,9 +235,14 @@ public class MethodCacheAspect {
      *
      * @param operation 操作数据
      * @return 缓存中的数据
+     * @throws L2CacheBreaker.RejectedException Redis 熔断或访问失败
      */
     private Object getCacheData(MethodCacheableOperation operation) {
-        Map<String, Object> kvMap = L2CacheUtil.getStoreVal(operation.getKeys(), operation.getL2Config(), false);
+        CacheTierChain chain = tierChain(operation);
+        // 多级缓存链中单个层级异常视为未命中，不经过熔断器
+        Map<String, Object> kvMap = chain != null ? L2CacheUtil.getTier(chain, operation.getKeys())
+                : L2CacheBreaker.call(() ->
+                        L2CacheUtil.getStoreVal(operation.getKeys(), operation.getL2Config(), false));
         if (GeneralUtil.isEmpty(kvMap)) {
             return null;
         }
@@ -84,7 +259,8 @@ public class MethodCacheAspect {
      * @see MethodCacheAspect#setDataCache(MethodCacheableOperation, Object) 设置数据缓存
      */
     private Object parseCacheData(Object data, MethodCacheableOperation operation) {
-        return L2CacheUtil.parseCacheData(data, operation.getL2Config());
+        return L2CacheUtil.parseCacheData(data,
+                tierChain(operation) != null ? TIER_CONFIG : operation.getL2Config());
     }
 
     /**
@@ -96,8 +272,33 @@ public class MethodCacheAspect {
      * @see MethodCacheAspect#parseCacheData(Object, MethodCacheableOperation)  转换缓存中的特殊值
      */
     private void setDataCache(MethodCacheableOperation operation, Object data) {
-        L2CacheUtil.set(operation.getKeys(), data, operation.getDuration().getSeconds(),
-                operation.getL2Config());
+        CacheTierChain chain = tierChain(operation);
+        if (chain != null) {
+            L2CacheUtil.setTier(chain, operation.getKeys(), data, operation.getDuration().getSeconds());
+        }
+
+        try {
+            L2CacheBreaker.run(() -> {
+                if (chain == null) {
+                    L2CacheUtil.set(operation.getKeys(), data, operation.getDuration().getSeconds(),
+                            operation.getL2Config());
+                }
+                L2CacheUtil.addTags(operation.getTags(), operation.getKeys(), operation.getDuration().getSeconds());
+            });
+        } catch (L2CacheBreaker.RejectedException e) {
+            // Redis 熔断或访问失败不写入缓存，不影响方法结果返回
+            logger.debug("[MethodCacheAspect]设置数据缓存失败, keys={}, e={}", operation.getKeys(), e.getMessage());
+        }
+    }
+
+    /**
+     * 获取方法使用的多级缓存链
+     *
+     * @param operation 操作数据
+     * @return 多级缓存链，方法未开启或未开启多级缓存链时返回 null
+     */
+    private static CacheTierChain tierChain(MethodCacheableOperation operation) {
+        return operation.getL2Config().isTier() ? CacheTierChain.defChain() : null;
     }
 
 }
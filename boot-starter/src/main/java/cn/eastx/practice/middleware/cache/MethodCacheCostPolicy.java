@@ -0,0 +1,180 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.util.JsonUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 方法缓存成本感知策略
+ *  统计方法加载耗时与结果大小（指数加权平均），加载越慢、结果越小缓存时长越长，
+ *  加载慢且结果小的方法自动使用本地缓存，使缓存内存尽量用在节省后端耗时最多的数据上
+ *  本地缓存准入按方法记录，只对声明 {@link MethodCacheable#costLocal()} 的方法生效（useLocal=false 表示明确不使用本地缓存），
+ *  准入后该方法的读取及写入均使用本地缓存
+ *  结果大小需要序列化估算，预热阶段每次估算，之后按间隔抽样估算
+ *
+ * @see CacheProperties.Cost 策略配置
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class MethodCacheCostPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(MethodCacheCostPolicy.class);
+
+    /** 缓存时长指标名称 */
+    public static final String METRIC_TTL = "practice.cache.method.ttl";
+    /** 加载耗时指标名称 */
+    public static final String METRIC_LOAD_LATENCY = "practice.cache.method.load.latency";
+    /** 结果大小指标名称 */
+    public static final String METRIC_RESULT_SIZE = "practice.cache.method.result.size";
+
+    /** 指数加权平均系数 */
+    private static final double EWMA_ALPHA = 0.3D;
+    /** 预热阶段加载次数，预热阶段每次估算结果大小 */
+    private static final long SIZE_WARMUP = 8L;
+    /** 预热后估算结果大小的抽样间隔（加载次数） */
+    private static final long SIZE_SAMPLE_INTERVAL = 16L;
+
+    /** 方法与统计数据对应Map */
+    private static final Map<String, CostStats> STATS_MAP = new ConcurrentHashMap<>();
+
+    private MethodCacheCostPolicy() {}
+
+    /**
+     * 根据方法的本地缓存准入结果调整操作的本地缓存配置，读取前调用
+     *
+     * @param operation 操作数据
+     */
+    public static void prepare(MethodCacheableOperation operation) {
+        if (!CacheProperties.getCost().isEnabled() || !operation.isCostLocal() || operation.getL2Config().isUseL1()) {
+            return;
+        }
+
+        CostStats stats = STATS_MAP.get(operation.getMethodKey());
+        if (stats != null && stats.isAdmitL1()) {
+            operation.setL2Config(operation.getL2Config().toBuilder().useL1(true).build());
+        }
+    }
+
+    /**
+     * 根据本次加载成本调整操作的缓存时长与本地缓存配置
+     *
+     * @param operation 操作数据
+     * @param latencyMs 加载耗时，单位毫秒
+     * @param result 加载结果
+     */
+    public static void apply(MethodCacheableOperation operation, long latencyMs, Object result) {
+        CacheProperties.Cost cost = CacheProperties.getCost();
+        if (!cost.isEnabled()) {
+            return;
+        }
+
+        String methodKey = operation.getMethodKey();
+        CostStats stats = STATS_MAP.computeIfAbsent(methodKey, k -> new CostStats());
+        stats.record(latencyMs, stats.nextSizeSample() ? estimateSize(result) : -1L);
+        double avgLatency = stats.getAvgLatency();
+        double avgSize = stats.getAvgSize();
+
+        // 缓存时长倍数 = 耗时倍数 * 大小惩罚，限制在 [minFactor, maxFactor]
+        double latencyFactor = avgLatency / Math.max(1L, cost.getLatencyBaseline());
+        double sizeFactor = Math.min(1D, cost.getSizeBaseline() / Math.max(1D, avgSize));
+        double factor = Math.max(cost.getMinFactor(), Math.min(cost.getMaxFactor(), latencyFactor * sizeFactor));
+        Duration duration = Duration.ofSeconds(Math.max(1L, (long) (operation.getDuration().getSeconds() * factor)));
+        operation.setDuration(duration);
+
+        // 加载慢且结果小，该方法使用本地缓存
+        boolean admitL1 = avgLatency >= cost.getLocalMinLatency() && avgSize <= cost.getLocalMaxSize();
+        stats.setAdmitL1(admitL1);
+        L2CacheUtil.Config l2Config = operation.getL2Config();
+        if (admitL1 && operation.isCostLocal() && !l2Config.isUseL1()) {
+            operation.setL2Config(l2Config.toBuilder().useL1(true).build());
+        }
+
+        CacheMetrics.gauge(METRIC_TTL, duration.getSeconds(), "method", methodKey);
+        CacheMetrics.gauge(METRIC_LOAD_LATENCY, (long) avgLatency, "method", methodKey);
+        CacheMetrics.gauge(METRIC_RESULT_SIZE, (long) avgSize, "method", methodKey);
+        logger.debug("[MethodCacheCostPolicy]method={}, latency={}, avgLatency={}, avgSize={}, factor={}, ttl={}",
+                methodKey, latencyMs, avgLatency, avgSize, factor, duration);
+    }
+
+    /**
+     * 估算结果大小，单位字节
+     *
+     * @param result 结果
+     * @return 结果序列化后大小
+     */
+    private static long estimateSize(Object result) {
+        if (result == null) {
+            return 0L;
+        } else if (result instanceof String) {
+            return ((String) result).length();
+        }
+
+        byte[] bytes = JsonUtil.defFacade().toJsonByte(result);
+        return bytes == null ? 0L : bytes.length;
+    }
+
+    /**
+     * 方法加载成本统计
+     */
+    static class CostStats {
+        /**
+         * 平均加载耗时，单位毫秒
+         */
+        private double avgLatency = -1D;
+        /**
+         * 平均结果大小，单位字节
+         */
+        private double avgSize = -1D;
+        /**
+         * 加载次数
+         */
+        private long loadCount;
+        /**
+         * 是否准入本地缓存
+         */
+        private volatile boolean admitL1;
+
+        /**
+         * 本次加载是否需要估算结果大小
+         */
+        synchronized boolean nextSizeSample() {
+            long count = loadCount++;
+            return count < SIZE_WARMUP || count % SIZE_SAMPLE_INTERVAL == 0;
+        }
+
+        /**
+         * 记录加载成本
+         *
+         * @param latencyMs 加载耗时，单位毫秒
+         * @param size 结果大小，单位字节，小于 0 表示本次未估算
+         */
+        synchronized void record(long latencyMs, long size) {
+            avgLatency = avgLatency < 0 ? latencyMs : EWMA_ALPHA * latencyMs + (1 - EWMA_ALPHA) * avgLatency;
+            if (size >= 0) {
+                avgSize = avgSize < 0 ? size : EWMA_ALPHA * size + (1 - EWMA_ALPHA) * avgSize;
+            }
+        }
+
+        boolean isAdmitL1() {
+            return admitL1;
+        }
+
+        void setAdmitL1(boolean admitL1) {
+            this.admitL1 = admitL1;
+        }
+
+        synchronized double getAvgLatency() {
+            return avgLatency;
+        }
+
+        synchronized double getAvgSize() {
+            return avgSize;
+        }
+    }
+
+}
@@ -0,0 +1,50 @@
+package cn.eastx.practice.middleware.cache;
+
+import java.lang.annotation.*;
+
+/**
+ * 方法缓存失效注解
+ *  方法执行后根据缓存标签、缓存 key、命名空间失效缓存
+ *
+ * @see MethodCacheEvictOperation 方法缓存失效操作类
+ * @see MethodCacheAspect 方法缓存 AOP 处理
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+@Target({ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface MethodCacheEvict {
+
+    /**
+     * 缓存标签
+     *  支持 SpEL 语法，示例：user:${#id}
+     *  失效标签下记录的所有缓存 key
+     *
+     * @see MethodCacheable#tags() 缓存标签记录
+     */
+    String[] tags() default {};
+
+    /**
+     * 缓存 key
+     *  支持 SpEL 语法，示例：${#param}
+     */
+    String[] key() default {};
+
+    /**
+     * 缓存命名空间
+     *  支持 SpEL 语法，示例：user:${#id}
+     *  通过递增命名空间版本号整体失效
+     *
+     * @see MethodCacheable#namespace() 缓存命名空间
+     */
+    String[] namespace() default {};
+
+    /**
+     * 是否在方法执行前失效缓存
+     *  默认方法执行成功后失效，方法抛出异常不失效
+     */
+    boolean beforeInvocation() default false;
+
+}
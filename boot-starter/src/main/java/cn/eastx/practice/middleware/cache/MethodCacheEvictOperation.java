@@ -0,0 +1,110 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.middleware.util.AspectUtil;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 方法缓存失效注解对应的操作类
+ *
+ * @see MethodCacheEvict 方法缓存失效注解
+ * @see MethodCacheAspect 方法缓存 AOP 处理
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class MethodCacheEvictOperation {
+
+    /**
+     * 缓存标签
+     */
+    private Set<String> tags;
+
+    /**
+     * 缓存 key
+     */
+    private Set<String> keys;
+
+    /**
+     * 缓存命名空间
+     */
+    private Set<String> namespaces;
+
+    /**
+     * 是否在方法执行前失效缓存
+     */
+    private boolean beforeInvocation;
+
+    private MethodCacheEvictOperation() {}
+
+    /**
+     * 转换注解数据为对应操作类
+     *
+     * @param joinPoint AOP 连接点
+     * @return 注解数据对应操作类
+     */
+    public static MethodCacheEvictOperation convert(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodCacheEvict annotation = method.getAnnotation(MethodCacheEvict.class);
+        if (Objects.isNull(annotation)) {
+            return null;
+        }
+
+        Map<String, Object> spelVars = AspectUtil.buildSpelVars(method, joinPoint.getArgs());
+
+        MethodCacheEvictOperation operation = new MethodCacheEvictOperation();
+        operation.setTags(AspectUtil.parseSpelSet(annotation.tags(), spelVars));
+        operation.setKeys(AspectUtil.parseSpelSet(annotation.key(), spelVars));
+        operation.setNamespaces(AspectUtil.parseSpelSet(annotation.namespace(), spelVars));
+        operation.setBeforeInvocation(annotation.beforeInvocation());
+        return operation;
+    }
+
+    /**
+     * 执行缓存失效
+     */
+    public void evict() {
+        L2CacheUtil.evictTags(this.tags);
+        L2CacheUtil.delete(this.keys);
+        for (String namespace : this.namespaces) {
+            L2CacheUtil.invalidateNamespace(namespace);
+        }
+    }
+
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
+    public Set<String> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(Set<String> keys) {
+        this.keys = keys;
+    }
+
+    public Set<String> getNamespaces() {
+        return namespaces;
+    }
+
+    public void setNamespaces(Set<String> namespaces) {
+        this.namespaces = namespaces;
+    }
+
+    public boolean isBeforeInvocation() {
+        return beforeInvocation;
+    }
+
+    public void setBeforeInvocation(boolean beforeInvocation) {
+        this.beforeInvocation = beforeInvocation;
+    }
+}
@@ -26,6 +26,22 @@ public @interface MethodCacheable {
      */
     String[] key() default {};
 
+    /**
+     * 缓存命名空间
+     *  支持 SpEL 语法，示例：user:${#id}
+     *  设置后缓存 key 将携带命名空间版本号，通过 {@link L2CacheUtil#invalidateNamespace(String)} 整体失效
+     *  默认为空表示不使用命名空间
+     */
+    String namespace() default "";
+
+    /**
+     * 缓存标签
+     *  支持 SpEL 语法，示例：user:${#id}
+     *  记录标签与缓存 key 的关系，通过 {@link MethodCacheEvict#tags()} 批量失效
+     *  默认为空表示不记录标签
+     */
+    String[] tags() default {};
+
     /**
      * 缓存排除条件，指定条件不缓存处理
      *  支持 SpEL 语法，示例：${#param==1}
@@ -67,10 +83,56 @@ public @interface MethodCacheable {
      */
     long localTimeout() default 30;
 
+    /**
+     * 是否允许成本感知策略自动使用本地缓存
+     *  需开启 practice.middleware.cache.cost.enabled ，useLocal 为 false 时生效，
+     *  加载慢且结果小的方法自动使用本地缓存；默认不允许，未开启时 useLocal=false 的方法不会使用本地缓存
+     *
+     * @see MethodCacheCostPolicy 方法缓存成本感知策略
+     */
+    boolean costLocal() default false;
+
     /**
      * 是否开启对象压缩
      * 对象过大将大量占用 Redis 内存及带宽，非必要进行压缩处理
      */
     boolean compress() default true;
 
+    /**
+     * 是否使用逻辑过期
+     *  适用于不允许缓存未命中的关键数据，Redis 中数据物理过期时长会额外延长
+     *  读取到逻辑过期数据时直接返回，并通过 Redis 租约保证只有一个线程异步重建
+     *
+     * @see L2CacheUtil#rebuildAsync(String, Runnable) 异步重建缓存
+     */
+    boolean logicalExpire() default false;
+
+    /**
+     * 是否使用分桶存储
+     *  适用于大量小值缓存（标记、计数、简短对象），需开启 practice.middleware.cache.bucket.enabled
+     *  小值写入 Redis Hash 分桶以使用紧凑编码，分桶存储不进行对象压缩
+     *
+     * @see L2CacheBucketUtil 分桶存储
+     */
+    boolean bucket() default false;
+
+    /**
+     * 从节点读取允许的最大复制延迟，单位秒，小于 0 只从主节点读取
+     *  需开启 practice.middleware.cache.replica.enabled ，适用于允许短暂读取旧数据的缓存
+     *  含义：从节点读取到的数据至少包含主节点 replicaMaxLag 秒前的全部写入，需大于复制延迟检测间隔
+     *  从节点读取的值写入本地缓存时，本地缓存时长不超过 replicaMaxLag 减去读取时的复制延迟
+     *
+     * @see L2CacheReplicaRouter 从节点读取路由
+     */
+    long replicaMaxLag() default -1L;
+
+    /**
+     * 是否使用多级缓存链（如 Caffeine → Memcached → Redis）
+     *  需开启 practice.middleware.cache.tier.enabled ，未开启时按两级缓存处理
+     *  开启后由多级缓存链读写，不使用 useLocal、compress、logicalExpire、bucket、replicaMaxLag 配置
+     *
+     * @see cn.eastx.practice.middleware.cache.tier.CacheTierChain 多级缓存链
+     */
+    boolean tier() default false;
+
 }
@@ -25,11 +25,21 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class MethodCacheableOperation {
 
+    /**
+     * 方法标识，格式：类名#方法名
+     */
+    private String methodKey;
+
     /**
      * 缓存 key
      */
     private Set<String> keys;
 
+    /**
+     * 缓存标签
+     */
+    private Set<String> tags;
+
     /**
      * 缓存时长
      */
@@ -40,6 +50,11 @@ public class MethodCacheableOperation {
      */
     private L2CacheUtil.Config l2Config;
 
+    /**
+     * 是否允许成本感知策略自动使用本地缓存
+     */
+    private boolean costLocal;
+
     /**
      * 锁定对象，缓存无数据需要执行调用加载数据是进行锁定，避免重复执行查库处理（缓存击穿）
      * 默认方法返回类型，如果缓存key只有一个就锁定字符串相应常量池对象
@@ -69,15 +84,21 @@ public class MethodCacheableOperation {
         }
 
         Set<String> cacheKeys = generateCacheKey(joinPoint, method, annotation, spelVars);
+        Set<String> tags = AspectUtil.parseSpelSet(annotation.tags(), spelVars);
         Duration duration = convertCacheDuration(annotation);
         L2CacheUtil.Config l2Config = convertL2Config(annotation);
         Object lockObj = buildLockObj(method, cacheKeys);
 
         MethodCacheableOperation operation = new MethodCacheableOperation();
+        operation.setMethodKey(method.getDeclaringClass().getSimpleName() + "#" + method.getName());
         operation.setKeys(cacheKeys);
+        operation.setTags(tags);
         operation.setDuration(duration);
         operation.setL2Config(l2Config);
         operation.setLockObj(lockObj);
+        operation.setCostLocal(annotation.costLocal());
+        // 成本感知策略已准入本地缓存且允许自动使用本地缓存的方法，读取及写入均使用本地缓存
+        MethodCacheCostPolicy.prepare(operation);
         return operation;
     }
 
@@ -113,7 +134,18 @@ public class MethodCacheableOperation {
             cacheKeys.add(defKey);
         }
 
-        return cacheKeys;
+        String namespace = AspectUtil.parseSpel(annotation.namespace(), spelVars, String.class);
+        if (GeneralUtil.isEmpty(namespace)) {
+            return cacheKeys;
+        }
+
+        // 命名空间处理，缓存key携带命名空间当前版本号
+        Set<String> namespaceKeys = Sets.newHashSetWithExpectedSize(cacheKeys.size());
+        for (String cacheKey : cacheKeys) {
+            namespaceKeys.add(L2CacheUtil.namespaceKey(namespace, cacheKey));
+        }
+
+        return namespaceKeys;
     }
 
     /**
@@ -162,9 +194,29 @@ public class MethodCacheableOperation {
                 .useL1(annotation.useLocal())
                 .durationL1(annotation.localTimeout())
                 .compress(annotation.compress())
+                .logicalExpire(annotation.logicalExpire())
+                .bucket(annotation.bucket())
+                .replicaMaxLag(annotation.replicaMaxLag())
+                .tier(annotation.tier())
                 .build();
     }
 
+    public boolean isCostLocal() {
+        return costLocal;
+    }
+
+    public void setCostLocal(boolean costLocal) {
+        this.costLocal = costLocal;
+    }
+
+    public String getMethodKey() {
+        return methodKey;
+    }
+
+    public void setMethodKey(String methodKey) {
+        this.methodKey = methodKey;
+    }
+
     public Set<String> getKeys() {
         return keys;
     }
@@ -173,6 +225,14 @@ public class MethodCacheableOperation {
         this.keys = keys;
     }
 
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(Set<String> tags) {
+        this.tags = tags;
+    }
+
     public Duration getDuration() {
         return duration;
     }
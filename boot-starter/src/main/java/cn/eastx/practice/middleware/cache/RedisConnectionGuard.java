@@ -0,0 +1,179 @@
+package cn.eastx.practice.middleware.cache;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettucePoolingClientConfiguration;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Redis 连接守护
+ *  替代使用前校验连接（每次获取连接多一次 PING 往返），连接可用性由以下方式保证：
+ *  1. TCP keepalive 及断线自动重连（{@link #createClientOptions(ClientOptions, boolean)}）
+ *  2. 后台定时 PING，连续失败达到阈值时重置连接，下次访问时重新建立
+ *  连接模式（{@link #applyMode(LettuceConnectionFactory)}）在连接工厂初始化前设置，
+ *  连接模式及重置连接仅支持 Lettuce 连接工厂，其它连接工厂（如 Jedis）只进行健康检查
+ *
+ * @see CacheProperties.Connection 配置
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class RedisConnectionGuard {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisConnectionGuard.class);
+
+    /** 连接健康状态指标名称，1 正常 0 异常 */
+    public static final String METRIC_HEALTH = "practice.cache.connection.health";
+
+    private final RedisConnectionFactory factory;
+    /** 健康检查连续失败次数 */
+    private final AtomicInteger failureCount = new AtomicInteger();
+    private ScheduledExecutorService scheduler;
+
+    public RedisConnectionGuard(RedisConnectionFactory factory) {
+        this.factory = factory;
+        if (!(factory instanceof LettuceConnectionFactory)) {
+            logger.warn("[RedisConnectionGuard]非 Lettuce 连接工厂，不设置连接模式, factory={}",
+                    factory.getClass().getName());
+        }
+    }
+
+    /**
+     * 在已有 Lettuce 客户端配置项上补充连接守护配置
+     *  保留已有配置（如 spring.redis 配置的连接超时、集群拓扑刷新），只补充 TCP keepalive、断线自动重连及命令超时，
+     *  集群模式未配置拓扑刷新时开启定时及自适应刷新
+     *
+     * @param base 已有客户端配置项，为 null 时使用默认配置
+     * @param cluster 是否集群模式
+     * @return 客户端配置项
+     */
+    public static ClientOptions createClientOptions(@Nullable ClientOptions base, boolean cluster) {
+        CacheProperties.Connection config = CacheProperties.getConnection();
+        ClientOptions origin = base == null ? ClientOptions.create() : base;
+        SocketOptions socketOptions = origin.getSocketOptions().mutate().keepAlive(config.isKeepAlive()).build();
+        TimeoutOptions timeoutOptions = origin.getTimeoutOptions().isTimeoutCommands()
+                ? origin.getTimeoutOptions() : TimeoutOptions.enabled();
+
+        ClientOptions.Builder builder;
+        if (cluster) {
+            ClusterClientOptions.Builder clusterBuilder = origin instanceof ClusterClientOptions
+                    ? ((ClusterClientOptions) origin).mutate() : ClusterClientOptions.builder(origin);
+            ClusterTopologyRefreshOptions refreshOptions = origin instanceof ClusterClientOptions
+                    ? ((ClusterClientOptions) origin).getTopologyRefreshOptions() : null;
+            if (refreshOptions == null || (!refreshOptions.isPeriodicRefreshEnabled()
+                    && refreshOptions.getAdaptiveRefreshTriggers().isEmpty())) {
+                // 集群拓扑定时刷新，并在重定向、重连时自适应刷新，节点故障切换后无需等待连接超时
+                clusterBuilder.topologyRefreshOptions(ClusterTopologyRefreshOptions.builder()
+                        .enablePeriodicRefresh(Duration.ofSeconds(config.getClusterRefreshPeriod()))
+                        .enableAllAdaptiveRefreshTriggers()
+                        .build());
+            }
+
+            builder = clusterBuilder;
+        } else {
+            builder = origin.mutate();
+        }
+
+        return builder.socketOptions(socketOptions)
+                .timeoutOptions(timeoutOptions)
+                .autoReconnect(true)
+                .build();
+    }
+
+    /**
+     * 按连接模式设置连接工厂，需在连接工厂初始化（afterPropertiesSet）前调用
+     *  shared 模式共享原生连接并设置管道刷新策略（PipeliningFlushPolicy.buffered），
+     *  pooled 模式每次操作从连接池获取独占连接
+     *
+     * @param factory 连接工厂
+     */
+    public static void applyMode(LettuceConnectionFactory factory) {
+        CacheProperties.Connection config = CacheProperties.getConnection();
+        if (config.isPooled()) {
+            factory.setShareNativeConnection(false);
+            if (!(factory.getClientConfiguration() instanceof LettucePoolingClientConfiguration)) {
+                logger.warn("[RedisConnectionGuard]pooled 模式未配置连接池，每次操作将新建连接，"
+                        + "请引入 commons-pool2 并配置 spring.redis.lettuce.pool");
+            }
+        } else {
+            factory.setShareNativeConnection(true);
+            applyPipelineFlushPolicy(factory, config.getPipelineFlushThreshold());
+        }
+    }
+
+    /**
+     * 设置管道刷新策略：executePipelined 中每累计指定数量的命令刷新写出一次，非管道命令不受影响
+     *
+     * @param factory 连接工厂
+     * @param flushThreshold 每批刷新写出的命令数
+     */
+    private static void applyPipelineFlushPolicy(LettuceConnectionFactory factory, int flushThreshold) {
+        factory.setPipeliningFlushPolicy(LettuceConnection.PipeliningFlushPolicy.buffered(flushThreshold));
+    }
+
+    /**
+     * 启动：定时健康检查
+     */
+    public void start() {
+        long interval = CacheProperties.getConnection().getHealthCheckInterval();
+        if (interval <= 0) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                new ThreadFactoryBuilder().setNameFormat("redis-connection-guard").setDaemon(true).build());
+        scheduler.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.SECONDS);
+        logger.info("[RedisConnectionGuard]连接健康检查已开启, mode={}, interval={}s",
+                CacheProperties.getConnection().getMode(), interval);
+    }
+
+    /**
+     * 停止：关闭健康检查
+     */
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 健康检查
+     *  shared 模式下检查的是共享连接，pooled 模式下检查的是连接池中的一个连接
+     */
+    private void checkHealth() {
+        try (RedisConnection connection = factory.getConnection()) {
+            connection.ping();
+            failureCount.set(0);
+            CacheMetrics.gauge(METRIC_HEALTH, 1);
+        } catch (Exception e) {
+            CacheMetrics.gauge(METRIC_HEALTH, 0);
+            int failures = failureCount.incrementAndGet();
+            logger.warn("[RedisConnectionGuard]连接健康检查失败, failures={}, e={}", failures, e.toString());
+            if (failures >= CacheProperties.getConnection().getHealthCheckFailures()) {
+                // 关闭共享连接，下次访问时重新建立
+                failureCount.set(0);
+                if (factory instanceof LettuceConnectionFactory) {
+                    ((LettuceConnectionFactory) factory).resetConnection();
+                    logger.warn("[RedisConnectionGuard]连接已重置");
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+package cn.eastx.practice.middleware.cache;
+
+import cn.eastx.practice.common.util.GeneralUtil;
+import com.google.common.collect.Maps;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.LettuceFutures;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.RedisFuture;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.cluster.api.async.RedisAdvancedClusterAsyncCommands;
+import io.lettuce.core.cluster.api.async.RedisClusterAsyncCommands;
+import org.springframework.data.redis.connection.ClusterSlotHashUtil;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Cluster slot 工具类
+ *  批量读取通过集群连接的 MGET 发送，由 Lettuce 按 slot 拆分并异步并行发送到各节点，按连接配置的 ReadFrom 选择节点
+ *  （如从节点读取），不按主节点直连，避免绕过 ReadFrom
+ *  批量写入按 {@link RedisClusterConnection#clusterGetNodeForKey(byte[])} 分组到主节点，
+ *  通过节点连接连续异步发送后统一等待（一次往返），所有节点并行执行，避免 CROSSSLOT 错误及逐 key 串行请求
+ *  拓扑变化（MOVED/ASK）导致节点命令失败时改由集群连接重试，由 Lettuce 处理重定向
+ *  只使用 Spring Data Redis 及 Lettuce 的公开 API ，非集群模式直接使用 RedisTemplate 对应操作
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class RedisSlotUtil {
+
+    private RedisSlotUtil() {}
+
+    /**
+     * 构建携带 hash tag 的 key，相同 tag 的 key 会被分配到相同 slot
+     *  格式：{tag}:key
+     *
+     * @param tag hash tag
+     * @param key 缓存key
+     * @return 携带 hash tag 的 key
+     */
+    public static String hashTag(String tag, String key) {
+        if (GeneralUtil.isEmpty(tag)) {
+            return key;
+        }
+
+        return "{" + tag + "}:" + key;
+    }
+
+    /**
+     * 是否为 Redis Cluster 模式
+     *
+     * @param template Redis模板
+     * @return 是否为集群模式
+     */
+    public static boolean isCluster(RedisTemplate<String, Object> template) {
+        RedisConnectionFactory factory = template.getConnectionFactory();
+        return factory instanceof LettuceConnectionFactory
+                && ((LettuceConnectionFactory) factory).isClusterAware();
+    }
+
+    /**
+     * 按 hash slot 分组
+     *
+     * @param keys 缓存key集合
+     * @return slot 与 key集合 对应Map
+     */
+    public static Map<Integer, List<String>> groupBySlot(Collection<String> keys) {
+        Map<Integer, List<String>> slotMap = new HashMap<>();
+        for (String key : keys) {
+            slotMap.computeIfAbsent(ClusterSlotHashUtil.calculateSlot(key), slot -> new ArrayList<>())
+                    .add(key);
+        }
+
+        return slotMap;
+    }
+
+    /**
+     * 批量获取值
+     *  集群模式通过集群连接 MGET ，由 Lettuce 按 slot 拆分并行发送并按 ReadFrom 路由
+     *
+     * @param template Redis模板
+     * @param keys 缓存key集合
+     * @return 值集合，与 key 顺序一致，不存在的 key 对应 null
+     */
+    public static List<Object> multiGet(RedisTemplate<String, Object> template, List<String> keys) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return Collections.emptyList();
+        }
+
+        if (!isCluster(template) || groupBySlot(keys).size() == 1) {
+            return template.opsForValue().multiGet(keys);
+        }
+
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) template.getKeySerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) template.getValueSerializer();
+        Map<String, Object> kvMap = template.execute((RedisCallback<Map<String, Object>>) connection -> {
+            List<KeyValue<byte[], byte[]>> kvList = LettuceFutures.awaitOrCancel(
+                    nativeCommands(connection).mget(serializeKeys(keySerializer, keys)),
+                    getTimeout(template), TimeUnit.MILLISECONDS);
+            Map<String, Object> resultMap = Maps.newHashMapWithExpectedSize(keys.size());
+            for (KeyValue<byte[], byte[]> kv : kvList) {
+                resultMap.put(keySerializer.deserialize(kv.getKey()),
+                        kv.hasValue() ? valueSerializer.deserialize(kv.getValue()) : null);
+            }
+
+            return resultMap;
+        });
+
+        List<Object> valList = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            valList.add(kvMap == null ? null : kvMap.get(key));
+        }
+
+        return valList;
+    }
+
+    /**
+     * 批量设置相同值
+     *  集群模式下 SET 命令按主节点分组，通过节点连接连续异步发送，相当于各节点并行管道执行
+     *
+     * @param template Redis模板
+     * @param keys 缓存key集合
+     * @param value 缓存值
+     * @param duration 缓存时长
+     */
+    public static void multiSet(RedisTemplate<String, Object> template, Collection<String> keys,
+                                Object value, Duration duration) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return;
+        }
+
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) template.getKeySerializer();
+        RedisSerializer<Object> valueSerializer = (RedisSerializer<Object>) template.getValueSerializer();
+        byte[] valBytes = valueSerializer.serialize(value);
+        SetArgs setArgs = SetArgs.Builder.ex(duration.getSeconds());
+        template.execute((RedisCallback<Object>) connection -> {
+            RedisClusterAsyncCommands<byte[], byte[]> commands = nativeCommands(connection);
+
+            List<byte[]> keyList = new ArrayList<>(keys.size());
+            List<RedisFuture<String>> futureList = new ArrayList<>(keys.size());
+            for (Map.Entry<RedisClusterNode, List<byte[]>> entry
+                    : groupByNode(connection, keySerializer, keys).entrySet()) {
+                RedisClusterAsyncCommands<byte[], byte[]> nodeCommands = nodeCommands(commands, entry.getKey());
+                for (byte[] keyBytes : entry.getValue()) {
+                    keyList.add(keyBytes);
+                    futureList.add(nodeCommands.set(keyBytes, valBytes, setArgs));
+                }
+            }
+
+            long timeout = getTimeout(template);
+            for (int i = 0, size = futureList.size(); i < size; i++) {
+                try {
+                    LettuceFutures.awaitOrCancel(futureList.get(i), timeout, TimeUnit.MILLISECONDS);
+                } catch (RedisCommandExecutionException e) {
+                    // slot 迁移中，由集群连接处理重定向
+                    LettuceFutures.awaitOrCancel(commands.set(keyList.get(i), valBytes, setArgs),
+                            timeout, TimeUnit.MILLISECONDS);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 按 key 所在主节点分组
+     *  非集群连接或无法获取节点时节点为 null ，由集群连接逐条路由
+     *
+     * @param connection Redis 连接
+     * @param keySerializer key 序列化器
+     * @param keys 缓存key集合
+     * @return 主节点 与 序列化后的 key集合 对应Map
+     */
+    private static Map<RedisClusterNode, List<byte[]>> groupByNode(RedisConnection connection,
+                                                                   RedisSerializer<String> keySerializer,
+                                                                   Collection<String> keys) {
+        Map<RedisClusterNode, List<byte[]>> nodeMap = new HashMap<>();
+        for (String key : keys) {
+            byte[] keyBytes = keySerializer.serialize(key);
+            RedisClusterNode node = null;
+            if (connection instanceof RedisClusterConnection) {
+                try {
+                    node = ((RedisClusterConnection) connection).clusterGetNodeForKey(keyBytes);
+                } catch (RuntimeException e) {
+                    // 拓扑获取失败，由集群连接路由
+                }
+            }
+
+            nodeMap.computeIfAbsent(node, n -> new ArrayList<>()).add(keyBytes);
+        }
+
+        return nodeMap;
+    }
+
+    /**
+     * 获取节点连接的异步命令
+     *  节点为空或节点连接获取失败时返回集群连接的异步命令，由 Lettuce 按 slot 路由
+     *
+     * @param commands 集群连接的异步命令
+     * @param node 主节点
+     * @return 异步命令
+     */
+    private static RedisClusterAsyncCommands<byte[], byte[]> nodeCommands(
+            RedisClusterAsyncCommands<byte[], byte[]> commands, @Nullable RedisClusterNode node) {
+        if (node == null || node.getHost() == null || node.getPort() == null
+                || !(commands instanceof RedisAdvancedClusterAsyncCommands)) {
+            return commands;
+        }
+
+        try {
+            return ((RedisAdvancedClusterAsyncCommands<byte[], byte[]>) commands).getStatefulConnection()
+                    .getConnection(node.getHost(), node.getPort()).async();
+        } catch (RuntimeException e) {
+            // 节点下线等情况，由集群连接发送
+            return commands;
+        }
+    }
+
+    /**
+     * 获取 Lettuce 原生异步命令
+     */
+    private static RedisClusterAsyncCommands<byte[], byte[]> nativeCommands(RedisConnection connection) {
+        return (RedisClusterAsyncCommands<byte[], byte[]>) connection.getNativeConnection();
+    }
+
+    /**
+     * 序列化 key 集合
+     */
+    private static byte[][] serializeKeys(RedisSerializer<String> keySerializer, List<String> keys) {
+        byte[][] keyBytes = new byte[keys.size()][];
+        for (int i = 0, size = keys.size(); i < size; i++) {
+            keyBytes[i] = keySerializer.serialize(keys.get(i));
+        }
+
+        return keyBytes;
+    }
+
+    /**
+     * 获取命令超时时长，单位毫秒
+     */
+    private static long getTimeout(RedisTemplate<String, Object> template) {
+        return ((LettuceConnectionFactory) template.getConnectionFactory()).getTimeout();
+    }
+
+}
@@ -13,6 +13,7 @@ public class RedisUtil {
 
     private static RedisTemplate<String, Object> redisTemplate;
     private static StringRedisTemplate strRedisTemplate;
+    private static RedisTemplate<String, Object> replicaRedisTemplate;
 
     private RedisUtil() {}
 
@@ -38,6 +39,16 @@ public class RedisUtil {
         RedisUtil.strRedisTemplate = strRedisTemplate;
     }
 
+    /**
+     * 初始化从节点读取 RedisTemplate
+     *
+     * @param replicaRedisTemplate Redis模板
+     * @see L2CacheReplicaRouter 从节点读取路由
+     */
+    public static void initReplicaTemplate(RedisTemplate<String, Object> replicaRedisTemplate) {
+        RedisUtil.replicaRedisTemplate = replicaRedisTemplate;
+    }
+
     /**
      * 获取 默认 RedisTemplate
      */
@@ -54,6 +65,14 @@ public class RedisUtil {
         return strRedisTemplate;
     }
 
+    /**
+     * 获取 从节点读取 RedisTemplate，未开启从节点读取时返回默认 RedisTemplate
+     *  注意：只能用于读取
+     */
+    public static RedisTemplate<String, Object> replicaTemplate() {
+        return replicaRedisTemplate != null ? replicaRedisTemplate : defTemplate();
+    }
+
     /* ------------------------- ops 相关(默认) ------------------------- */
 
     /**
@@ -0,0 +1,88 @@
+package cn.eastx.practice.middleware.cache.tier;
+
+import org.springframework.core.Ordered;
+import org.springframework.lang.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 缓存层级
+ *  多级缓存链中的一层，按 {@link #getOrder()} 由小到大依次访问，越靠前的层级越快、容量越小
+ *  每个层级自行负责序列化，存储时长与读写策略通过 {@link CacheTierPolicy} 配置
+ *
+ * @see CacheTierChain 多级缓存链
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public interface CacheTier extends Ordered {
+
+    /**
+     * 层级名称
+     */
+    String getName();
+
+    /**
+     * 层级策略
+     */
+    CacheTierPolicy getPolicy();
+
+    /**
+     * 获取缓存值
+     *
+     * @param key 缓存key
+     * @return 缓存值，不存在返回 null
+     */
+    @Nullable
+    Object get(String key);
+
+    /**
+     * 批量获取缓存值
+     *  默认逐个获取，支持批量命令的层级应覆盖实现
+     *
+     * @param keys 缓存key集合
+     * @return 缓存key 与 缓存值 对应Map，不包含不存在的 key
+     */
+    default Map<String, Object> get(Collection<String> keys) {
+        Map<String, Object> resultMap = new HashMap<>();
+        for (String key : keys) {
+            Object val = get(key);
+            if (val != null) {
+                resultMap.put(key, val);
+            }
+        }
+
+        return resultMap;
+    }
+
+    /**
+     * 设置缓存值
+     *
+     * @param key 缓存key
+     * @param value 缓存值
+     * @param duration 缓存时长，单位秒，已按层级策略处理
+     */
+    void set(String key, Object value, long duration);
+
+    /**
+     * 回填缓存值，下层命中时调用
+     *  默认与设置缓存值一致，回填不属于数据变更，设置时会通知其它节点的层级应覆盖实现
+     *
+     * @param key 缓存key
+     * @param value 缓存值
+     * @param duration 缓存时长，单位秒
+     */
+    default void promote(String key, Object value, long duration) {
+        set(key, value, duration);
+    }
+
+    /**
+     * 删除缓存
+     *
+     * @param key 缓存key
+     */
+    void delete(String key);
+
+}
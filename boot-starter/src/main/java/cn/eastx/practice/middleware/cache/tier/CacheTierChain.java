@@ -0,0 +1,266 @@
+package cn.eastx.practice.middleware.cache.tier;
+
+import cn.eastx.practice.common.util.GeneralUtil;
+import cn.eastx.practice.middleware.cache.CacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.lang.Nullable;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * 多级缓存链
+ *  读取：按层级顺序依次读取，命中后回填到更靠前且开启回填的层级
+ *  写入：由下往上依次写入开启同步写入的层级（每个层级写入完成后再写入上一层级），未开启的层级清除旧值
+ *  单个层级异常视为未命中/写入失败，不影响其它层级，写入失败的层级尝试清除旧值
+ *  开启 practice.middleware.cache.tier.enabled 时注册为默认多级缓存链 {@link #defChain()}，
+ *  {@link cn.eastx.practice.middleware.cache.MethodCacheable#tier()} 开启的方法缓存通过默认多级缓存链读写
+ *
+ * 例：Caffeine → Memcached → Redis，大体积读多写少的数据由 Memcached 承担，减少 Redis 内存及带宽
+ *
+ * @see CacheTier 缓存层级
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class CacheTierChain {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheTierChain.class);
+
+    /** 命中层级指标名称 */
+    public static final String METRIC_HIT = "practice.cache.tier.hit";
+    /** 未命中标识 */
+    private static final String MISS = "miss";
+
+    /** 默认多级缓存链，未开启时为 null */
+    private static volatile CacheTierChain defChain;
+
+    /** 按顺序排列的缓存层级 */
+    private final List<CacheTier> tiers;
+
+    public CacheTierChain(Collection<? extends CacheTier> tiers) {
+        List<CacheTier> tierList = new ArrayList<>(tiers);
+        AnnotationAwareOrderComparator.sort(tierList);
+        this.tiers = Collections.unmodifiableList(tierList);
+        logger.info("[CacheTierChain]初始化多级缓存链, tiers={}", tierNames());
+    }
+
+    /**
+     * 初始化默认多级缓存链
+     *
+     * @param chain 多级缓存链
+     */
+    public static void initDefChain(CacheTierChain chain) {
+        defChain = chain;
+    }
+
+    /**
+     * 获取默认多级缓存链
+     *
+     * @return 默认多级缓存链，未开启时返回 null
+     */
+    @Nullable
+    public static CacheTierChain defChain() {
+        return defChain;
+    }
+
+    public List<CacheTier> getTiers() {
+        return tiers;
+    }
+
+    /**
+     * 获取缓存值
+     *
+     * @param key 缓存key
+     * @return 缓存值，所有层级均不存在返回 null
+     */
+    @Nullable
+    public Object get(String key) {
+        for (int i = 0, size = tiers.size(); i < size; i++) {
+            CacheTier tier = tiers.get(i);
+            Object val = null;
+            try {
+                val = tier.get(key);
+            } catch (Exception e) {
+                logger.warn("[CacheTierChain]获取值异常, tier={}, key={}, e={}", tier.getName(), key, e.toString());
+            }
+
+            if (val != null) {
+                CacheMetrics.increment(METRIC_HIT, "tier", tier.getName());
+                promote(key, val, i);
+                return val;
+            }
+        }
+
+        CacheMetrics.increment(METRIC_HIT, "tier", MISS);
+        return null;
+    }
+
+    /**
+     * 获取缓存值，不存在时加载并写入（读穿透）
+     *
+     * @param key 缓存key
+     * @param loader 数据加载
+     * @param duration 缓存时长，单位秒
+     * @return 缓存值
+     */
+    @Nullable
+    public Object get(String key, Supplier<?> loader, long duration) {
+        Object val = get(key);
+        if (val == null) {
+            val = loader.get();
+            if (val != null) {
+                set(key, val, duration);
+            }
+        }
+
+        return val;
+    }
+
+    /**
+     * 批量获取缓存值，每个层级只查询上层未命中的 key
+     *
+     * @param keys 缓存key集合
+     * @return 缓存key 与 缓存值 对应Map，不包含所有层级均不存在的 key
+     */
+    public Map<String, Object> get(Collection<String> keys) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Object> resultMap = new HashMap<>();
+        Set<String> missKeys = new LinkedHashSet<>(keys);
+        for (int i = 0, size = tiers.size(); i < size && !missKeys.isEmpty(); i++) {
+            CacheTier tier = tiers.get(i);
+            Map<String, Object> tierMap = Collections.emptyMap();
+            try {
+                tierMap = tier.get(missKeys);
+            } catch (Exception e) {
+                logger.warn("[CacheTierChain]批量获取值异常, tier={}, e={}", tier.getName(), e.toString());
+            }
+
+            for (Map.Entry<String, Object> entry : tierMap.entrySet()) {
+                promote(entry.getKey(), entry.getValue(), i);
+            }
+
+            CacheMetrics.add(METRIC_HIT, tierMap.size(), "tier", tier.getName());
+            resultMap.putAll(tierMap);
+            missKeys.removeAll(tierMap.keySet());
+        }
+
+        CacheMetrics.add(METRIC_HIT, missKeys.size(), "tier", MISS);
+        return resultMap;
+    }
+
+    /**
+     * 设置缓存值
+     *  由下往上写入，保证上层数据不会比下层新
+     *
+     * @param key 缓存key
+     * @param value 缓存值
+     * @param duration 缓存时长，单位秒
+     */
+    public void set(String key, Object value, long duration) {
+        for (int i = tiers.size() - 1; i >= 0; i--) {
+            CacheTier tier = tiers.get(i);
+            CacheTierPolicy policy = tier.getPolicy();
+            try {
+                if (policy.isWriteThrough()) {
+                    tier.set(key, value, policy.writeTtl(duration));
+                } else {
+                    // 不同步写入的层级清除旧值，等待读取时回填
+                    tier.delete(key);
+                }
+            } catch (Exception e) {
+                logger.warn("[CacheTierChain]设置值异常, tier={}, key={}", tier.getName(), key, e);
+                // 写入失败时清除旧值，避免旧值在上层过期后被读取回填
+                deleteQuietly(tier, key);
+            }
+        }
+    }
+
+    /**
+     * 删除缓存
+     *  由下往上删除，避免上层删除后又被下层旧值回填
+     *
+     * @param key 缓存key
+     */
+    public void delete(String key) {
+        for (int i = tiers.size() - 1; i >= 0; i--) {
+            CacheTier tier = tiers.get(i);
+            try {
+                tier.delete(key);
+            } catch (Exception e) {
+                logger.warn("[CacheTierChain]删除key异常, tier={}, key={}", tier.getName(), key, e);
+            }
+        }
+    }
+
+    /**
+     * 删除两级缓存以外层级（如 Memcached）中的缓存
+     *  {@link cn.eastx.practice.middleware.cache.L2CacheUtil#delete} 调用，Caffeine、Redis 层级已由其处理
+     *
+     * @param keys 缓存key集合
+     */
+    public void deleteExtra(Collection<String> keys) {
+        for (int i = tiers.size() - 1; i >= 0; i--) {
+            CacheTier tier = tiers.get(i);
+            if (tier instanceof CaffeineCacheTier || tier instanceof RedisCacheTier) {
+                continue;
+            }
+
+            for (String key : keys) {
+                deleteQuietly(tier, key);
+            }
+        }
+    }
+
+    /**
+     * 删除缓存，忽略异常
+     *
+     * @param tier 缓存层级
+     * @param key 缓存key
+     */
+    private static void deleteQuietly(CacheTier tier, String key) {
+        try {
+            tier.delete(key);
+        } catch (Exception e) {
+            logger.warn("[CacheTierChain]清除旧值异常, tier={}, key={}, e={}", tier.getName(), key, e.toString());
+        }
+    }
+
+    /**
+     * 回填到命中层级之前的层级
+     *
+     * @param key 缓存key
+     * @param val 缓存值
+     * @param hitIndex 命中层级下标
+     */
+    private void promote(String key, Object val, int hitIndex) {
+        for (int i = 0; i < hitIndex; i++) {
+            CacheTier tier = tiers.get(i);
+            CacheTierPolicy policy = tier.getPolicy();
+            if (!policy.isPromote()) {
+                continue;
+            }
+
+            try {
+                tier.promote(key, val, policy.writeTtl(policy.getPromoteTtl()));
+            } catch (Exception e) {
+                logger.warn("[CacheTierChain]回填异常, tier={}, key={}, e={}", tier.getName(), key, e.toString());
+            }
+        }
+    }
+
+    private List<String> tierNames() {
+        List<String> names = new ArrayList<>(tiers.size());
+        for (CacheTier tier : tiers) {
+            names.add(tier.getName());
+        }
+
+        return names;
+    }
+
+}
@@ -0,0 +1,52 @@
+package cn.eastx.practice.middleware.cache.tier;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * 缓存层级策略
+ *
+ * @see CacheTier 缓存层级
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+@Getter
+@Builder
+public class CacheTierPolicy {
+
+    /**
+     * 最大缓存时长，单位秒，写入时长超出按最大时长处理，小于等于 0 不限制
+     */
+    @Builder.Default
+    private long maxTtl = 0L;
+
+    /**
+     * 下层命中回填到当前层级的缓存时长，单位秒
+     */
+    @Builder.Default
+    private long promoteTtl = 60L;
+
+    /**
+     * 下层命中时是否回填到当前层级
+     */
+    @Builder.Default
+    private boolean promote = true;
+
+    /**
+     * 写入时是否同步写入当前层级，否则只在读取命中下层时回填
+     */
+    @Builder.Default
+    private boolean writeThrough = true;
+
+    /**
+     * 获取写入时长
+     *
+     * @param duration 期望缓存时长，单位秒
+     * @return 实际缓存时长，单位秒
+     */
+    public long writeTtl(long duration) {
+        return maxTtl > 0 ? Math.min(duration, maxTtl) : duration;
+    }
+
+}
@@ -0,0 +1,74 @@
+package cn.eastx.practice.middleware.cache.tier;
+
+import cn.eastx.practice.middleware.cache.L2CacheUtil;
+import cn.eastx.practice.middleware.cache.LocalCacheUtil;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Caffeine 本地缓存层级
+ *  直接存储对象不进行序列化，数据变更通过两级缓存发布订阅通知各节点清除
+ *
+ * @see LocalCacheUtil 本地缓存
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class CaffeineCacheTier implements CacheTier {
+
+    private final int order;
+    private final CacheTierPolicy policy;
+
+    public CaffeineCacheTier(int order, CacheTierPolicy policy) {
+        this.order = order;
+        this.policy = policy;
+    }
+
+    @Override
+    public String getName() {
+        return "caffeine";
+    }
+
+    @Override
+    public CacheTierPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    @Override
+    public Object get(String key) {
+        return LocalCacheUtil.get(key);
+    }
+
+    @Override
+    public Map<String, Object> get(Collection<String> keys) {
+        return LocalCacheUtil.get(keys);
+    }
+
+    @Override
+    public void set(String key, Object value, long duration) {
+        LocalCacheUtil.set(key, value, duration);
+        // 通过发布订阅通知数据变更清除本地缓存
+        L2CacheUtil.publishChange(Collections.singleton(key));
+    }
+
+    @Override
+    public void promote(String key, Object value, long duration) {
+        // 回填数据来自下层共享缓存，只写入当前节点
+        LocalCacheUtil.set(key, value, duration);
+    }
+
+    @Override
+    public void delete(String key) {
+        LocalCacheUtil.delete(key);
+        // 通过发布订阅通知数据变更清除本地缓存
+        L2CacheUtil.publishChange(Collections.singleton(key));
+    }
+
+}
@@ -0,0 +1,133 @@
+package cn.eastx.practice.middleware.cache.tier;
+
+import com.spotify.folsom.MemcacheClient;
+import com.spotify.folsom.MemcacheStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Memcached 缓存层级（Folsom 异步客户端）
+ *  读取、写入、删除均等待结果直到超时，保证多级缓存链由下往上按顺序写入
+ *  写入失败抛出异常，由 {@link CacheTierChain} 清除旧值
+ *  注意：需要引入依赖 com.spotify.folsom
+ *
+ * <a href="https://github.com/spotify/folsom"> Folsom（github） </a>
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class MemcachedCacheTier implements CacheTier {
+
+    private static final Logger logger = LoggerFactory.getLogger(MemcachedCacheTier.class);
+
+    /** Memcached 最大相对过期时长，单位秒，超过将被认为是 unix 时间 */
+    private static final long MAX_RELATIVE_TTL = 60 * 60 * 24 * 30;
+
+    private final int order;
+    private final CacheTierPolicy policy;
+    private final MemcacheClient<byte[]> client;
+    private final RedisSerializer<Object> serializer;
+    /** 请求超时时长，单位毫秒 */
+    private final long timeout;
+
+    public MemcachedCacheTier(int order, CacheTierPolicy policy, MemcacheClient<byte[]> client,
+                              RedisSerializer<Object> serializer, long timeout) {
+        this.order = order;
+        this.policy = policy;
+        this.client = client;
+        this.serializer = serializer;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public String getName() {
+        return "memcached";
+    }
+
+    @Override
+    public CacheTierPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    @Override
+    public Object get(String key) {
+        try {
+            byte[] bytes = client.get(key).toCompletableFuture().get(timeout, TimeUnit.MILLISECONDS);
+            return serializer.deserialize(bytes);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("[MemcachedCacheTier]获取值异常, key={}, e={}", key, e.toString());
+        }
+
+        return null;
+    }
+
+    @Override
+    public Map<String, Object> get(Collection<String> keys) {
+        Map<String, Object> resultMap = new HashMap<>();
+        try {
+            Map<String, byte[]> bytesMap = client.getAsMap(new ArrayList<>(keys))
+                    .toCompletableFuture().get(timeout, TimeUnit.MILLISECONDS);
+            for (Map.Entry<String, byte[]> entry : bytesMap.entrySet()) {
+                Object val = serializer.deserialize(entry.getValue());
+                if (val != null) {
+                    resultMap.put(entry.getKey(), val);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            logger.warn("[MemcachedCacheTier]批量获取值异常, keys={}, e={}", keys, e.toString());
+        }
+
+        return resultMap;
+    }
+
+    @Override
+    public void set(String key, Object value, long duration) {
+        int ttl = (int) Math.min(duration, MAX_RELATIVE_TTL);
+        MemcacheStatus status = await(client.set(key, serializer.serialize(value), ttl).toCompletableFuture());
+        if (!MemcacheStatus.OK.equals(status)) {
+            throw new IllegalStateException("memcached set failed, key=" + key + ", status=" + status);
+        }
+    }
+
+    @Override
+    public void delete(String key) {
+        MemcacheStatus status = await(client.delete(key).toCompletableFuture());
+        if (!MemcacheStatus.OK.equals(status) && !MemcacheStatus.KEY_NOT_FOUND.equals(status)) {
+            throw new IllegalStateException("memcached delete failed, key=" + key + ", status=" + status);
+        }
+    }
+
+    /**
+     * 等待写入、删除结果
+     *
+     * @param future 请求结果
+     * @return 请求状态
+     */
+    private MemcacheStatus await(CompletableFuture<MemcacheStatus> future) {
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
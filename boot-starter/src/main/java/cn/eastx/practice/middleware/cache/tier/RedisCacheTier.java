@@ -0,0 +1,73 @@
+package cn.eastx.practice.middleware.cache.tier;
+
+import cn.eastx.practice.middleware.cache.RedisSlotUtil;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Redis 缓存层级
+ *  序列化使用 RedisTemplate 配置的值序列化器，批量获取在集群模式下按 slot 分组并行执行
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class RedisCacheTier implements CacheTier {
+
+    private final int order;
+    private final CacheTierPolicy policy;
+    private final RedisTemplate<String, Object> template;
+
+    public RedisCacheTier(int order, CacheTierPolicy policy, RedisTemplate<String, Object> template) {
+        this.order = order;
+        this.policy = policy;
+        this.template = template;
+    }
+
+    @Override
+    public String getName() {
+        return "redis";
+    }
+
+    @Override
+    public CacheTierPolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    @Override
+    public Object get(String key) {
+        return template.opsForValue().get(key);
+    }
+
+    @Override
+    public Map<String, Object> get(Collection<String> keys) {
+        List<String> keyList = new ArrayList<>(keys);
+        List<Object> valList = RedisSlotUtil.multiGet(template, keyList);
+
+        Map<String, Object> resultMap = new HashMap<>();
+        for (int i = 0, size = keyList.size(); i < size; i++) {
+            if (valList.get(i) != null) {
+                resultMap.put(keyList.get(i), valList.get(i));
+            }
+        }
+
+        return resultMap;
+    }
+
+    @Override
+    public void set(String key, Object value, long duration) {
+        template.opsForValue().set(key, value, Duration.ofSeconds(duration));
+    }
+
+    @Override
+    public void delete(String key) {
+        template.unlink(key);
+    }
+
+}
@@ -3,14 +3,27 @@ package cn.eastx.practice.middleware.config;
 import cn.eastx.practice.common.util.GeneralUtil;
 import cn.eastx.practice.common.util.JsonUtil;
 import cn.eastx.practice.middleware.cache.*;
+import cn.eastx.practice.middleware.cache.tier.*;
 import cn.eastx.practice.middleware.util.RedisLockUtil;
 import cn.hutool.extra.spring.SpringUtil;
+import com.spotify.folsom.MemcacheClient;
+import com.spotify.folsom.MemcacheClientBuilder;
+import io.lettuce.core.ClientOptions;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.redis.LettuceClientConfigurationBuilderCustomizer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.DependsOn;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -18,10 +31,12 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import javax.annotation.Resource;
 import java.util.Collection;
+import java.util.stream.Collectors;
 
 /**
  * 缓存相关自动配置
@@ -58,13 +73,58 @@ public class CacheAutoConfiguration {
      * 二级缓存工具类，由于使用了 Redis Pub/Sub 所以需要被 Spring IOC 管理
      */
     @Bean("l2CacheUtil")
-    @DependsOn({"redisTemplate", "strRedisTemplate"})
+    @DependsOn({"redisTemplate", "strRedisTemplate", "redisConnectionGuard"})
     public L2CacheUtil l2CacheUtil() {
         RedisUtil.initDefTemplate(redisTemplate());
         RedisUtil.initStrTemplate(strRedisTemplate());
         return new L2CacheUtil();
     }
 
+    /**
+     * Lettuce 客户端配置：在已有配置项（spring.redis 配置生成）上补充 TCP keepalive、断线自动重连、集群拓扑刷新
+     *  静态方法避免连接工厂创建时依赖当前配置类实例
+     */
+    @Bean
+    public static LettuceClientConfigurationBuilderCustomizer cacheLettuceClientCustomizer(
+            CacheProperties cacheProperties, ObjectProvider<RedisProperties> redisProperties) {
+        return builder -> {
+            RedisProperties properties = redisProperties.getIfAvailable();
+            boolean cluster = properties != null && properties.getCluster() != null;
+            ClientOptions base = builder.build().getClientOptions().orElse(null);
+            builder.clientOptions(RedisConnectionGuard.createClientOptions(base, cluster));
+        };
+    }
+
+    /**
+     * Redis 连接模式设置：在 Lettuce 连接工厂初始化（afterPropertiesSet）前设置共享连接及管道刷新策略
+     *  静态方法避免连接工厂创建时依赖当前配置类实例
+     *
+     * @see RedisConnectionGuard#applyMode(LettuceConnectionFactory)
+     */
+    @Bean
+    public static BeanPostProcessor cacheRedisConnectionModeCustomizer(CacheProperties cacheProperties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LettuceConnectionFactory) {
+                    RedisConnectionGuard.applyMode((LettuceConnectionFactory) bean);
+                }
+
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Redis 连接守护，定时健康检查
+     *  替代使用前校验连接，防止长时间未使用连接被服务端关闭导致 Connection reset by peer
+     *  非 Lettuce 连接工厂（如 Jedis、自定义工厂）不设置连接模式，只进行健康检查
+     */
+    @Bean(value = "redisConnectionGuard", initMethod = "start", destroyMethod = "stop")
+    public RedisConnectionGuard redisConnectionGuard(CacheProperties cacheProperties) {
+        return new RedisConnectionGuard(redisConnectionFactory);
+    }
+
     /**
      * Redis 发布订阅监听
      */
@@ -97,6 +157,65 @@ public class CacheAutoConfiguration {
         return new MethodCacheAspect();
     }
 
+    /**
+     * 本地缓存内存压力监控，注入配置保证配置项已绑定
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public LocalCacheMemoryGuard localCacheMemoryGuard(CacheProperties cacheProperties) {
+        return new LocalCacheMemoryGuard();
+    }
+
+    /**
+     * 两级缓存节点分组，需配置 practice.middleware.cache.peer.enabled=true 开启
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @DependsOn("l2CacheUtil")
+    public L2CachePeerGroup l2CachePeerGroup(CacheProperties cacheProperties) {
+        return new L2CachePeerGroup();
+    }
+
+    /**
+     * 两级缓存从节点读取路由，需配置 practice.middleware.cache.replica.enabled=true 开启，仅支持 Lettuce 连接工厂
+     *  只读连接由路由自行创建及关闭，不注册为 Bean ，避免影响默认连接工厂的注入
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @DependsOn("l2CacheUtil")
+    @ConditionalOnProperty(prefix = "practice.middleware.cache.replica", name = "enabled", havingValue = "true")
+    public L2CacheReplicaRouter l2CacheReplicaRouter(CacheProperties cacheProperties) {
+        return new L2CacheReplicaRouter(redisConnectionFactory);
+    }
+
+    /**
+     * 两级缓存服务端辅助失效，需配置 practice.middleware.cache.tracking.enabled=true 开启，仅支持 Lettuce 连接工厂
+     *  跟踪连接由自身创建及关闭，不注册为 Bean
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @DependsOn("l2CacheUtil")
+    @ConditionalOnProperty(prefix = "practice.middleware.cache.tracking", name = "enabled", havingValue = "true")
+    public L2CacheTracking l2CacheTracking(CacheProperties cacheProperties) {
+        return new L2CacheTracking(redisConnectionFactory);
+    }
+
+    /**
+     * 两级缓存失效日志，需配置 practice.middleware.cache.invalidation-log.enabled=true 开启
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @DependsOn("l2CacheUtil")
+    @ConditionalOnProperty(prefix = "practice.middleware.cache.invalidation-log", name = "enabled",
+            havingValue = "true")
+    public L2CacheInvalidationLog l2CacheInvalidationLog(CacheProperties cacheProperties) {
+        return new L2CacheInvalidationLog();
+    }
+
+    /**
+     * 两级缓存访问记录，需配置 practice.middleware.cache.recorder.enabled=true 开启
+     */
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(prefix = "practice.middleware.cache.recorder", name = "enabled", havingValue = "true")
+    public L2CacheAccessRecorder l2CacheAccessRecorder(CacheProperties cacheProperties) {
+        return new L2CacheAccessRecorder();
+    }
+
     /**
      * Redis 锁工具类实例
      */
@@ -107,15 +226,130 @@ public class CacheAutoConfiguration {
     }
 
     /**
-     * 创建redis实例
+     * 缓存指标导出配置，引入 Micrometer 时生效
      */
-    public static RedisTemplate<String, Object> createRedisTemplate(RedisConnectionFactory connectionFactory) {
-        if (connectionFactory instanceof LettuceConnectionFactory) {
-            LettuceConnectionFactory lettuceConnectionFactory = (LettuceConnectionFactory) connectionFactory;
-            // 使用前先校验连接，防止长时间未使用连接被服务端关闭导致 Connection reset by peer
-            lettuceConnectionFactory.setValidateConnection(true);
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class CacheMetricsConfiguration {
+
+        /**
+         * 缓存指标导出到 Micrometer
+         */
+        @Bean
+        public CacheMeterBinder cacheMeterBinder() {
+            return new CacheMeterBinder();
+        }
+
+    }
+
+    /**
+     * 缓存决策跟踪配置，需配置 practice.middleware.cache.trace.enabled=true 且为 Servlet Web 应用时生效
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnProperty(prefix = "practice.middleware.cache.trace", name = "enabled", havingValue = "true")
+    static class CacheTraceConfiguration {
+
+        /**
+         * 跟踪请求过滤器，优先执行以覆盖其它过滤器中的缓存操作
+         */
+        @Bean
+        public FilterRegistrationBean<CacheTraceFilter> cacheTraceFilter(CacheProperties cacheProperties) {
+            FilterRegistrationBean<CacheTraceFilter> registration = new FilterRegistrationBean<>(new CacheTraceFilter());
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+
+        /**
+         * 跟踪记录查询接口
+         */
+        @Bean
+        public CacheTraceController cacheTraceController() {
+            return new CacheTraceController();
+        }
+
+    }
+
+    /**
+     * 多级缓存链配置，需配置 practice.middleware.cache.tier.enabled=true 开启
+     *  层级顺序：Caffeine(0) → Memcached(100) → Redis(200)
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "practice.middleware.cache.tier", name = "enabled", havingValue = "true")
+    static class CacheTierConfiguration {
+
+        /**
+         * Caffeine 本地缓存层级
+         */
+        @Bean
+        public CaffeineCacheTier caffeineCacheTier(CacheProperties cacheProperties) {
+            long localTtl = CacheProperties.getTier().getLocalTtl();
+            return new CaffeineCacheTier(0, CacheTierPolicy.builder().maxTtl(localTtl).promoteTtl(localTtl).build());
+        }
+
+        /**
+         * Redis 缓存层级，作为最底层不需要回填
+         */
+        @Bean
+        @DependsOn("l2CacheUtil")
+        public RedisCacheTier redisCacheTier(RedisTemplate<String, Object> redisTemplate) {
+            return new RedisCacheTier(200, CacheTierPolicy.builder().build(), redisTemplate);
+        }
+
+        /**
+         * 多级缓存链
+         */
+        @Bean
+        public CacheTierChain cacheTierChain(ObjectProvider<CacheTier> tiers) {
+            CacheTierChain chain = new CacheTierChain(tiers.orderedStream().collect(Collectors.toList()));
+            // 注册为默认多级缓存链，供 @MethodCacheable(tier = true) 及 L2CacheUtil 删除时使用
+            CacheTierChain.initDefChain(chain);
+            return chain;
+        }
+
+        /**
+         * Memcached 缓存层级配置，引入 Folsom 且配置 Memcached 地址时生效
+         */
+        @Configuration
+        @ConditionalOnClass(name = "com.spotify.folsom.MemcacheClient")
+        @ConditionalOnProperty(prefix = "practice.middleware.cache.tier", name = "memcached-host")
+        static class MemcachedTierConfiguration {
+
+            /**
+             * 多级缓存链使用的 Memcached 客户端
+             */
+            @Bean(destroyMethod = "shutdown")
+            public MemcacheClient<byte[]> tierMemcacheClient(CacheProperties cacheProperties) {
+                CacheProperties.Tier config = CacheProperties.getTier();
+                return MemcacheClientBuilder.newByteArrayClient()
+                        .withAddress(config.getMemcachedHost(), config.getMemcachedPort())
+                        .withRequestTimeoutMillis(config.getMemcachedTimeout())
+                        .connectBinary();
+            }
+
+            /**
+             * Memcached 缓存层级，序列化与 Redis 保持一致
+             */
+            @Bean
+            public MemcachedCacheTier memcachedCacheTier(MemcacheClient<byte[]> tierMemcacheClient,
+                                                         RedisTemplate<String, Object> redisTemplate) {
+                CacheProperties.Tier config = CacheProperties.getTier();
+                CacheTierPolicy policy = CacheTierPolicy.builder()
+                        .maxTtl(config.getMemcachedMaxTtl())
+                        .promoteTtl(config.getMemcachedPromoteTtl())
+                        .build();
+                return new MemcachedCacheTier(100, policy, tierMemcacheClient,
+                        (RedisSerializer<Object>) redisTemplate.getValueSerializer(), config.getMemcachedTimeout());
+            }
+
         }
 
+    }
+
+    /**
+     * 创建redis实例
+     */
+    public static RedisTemplate<String, Object> createRedisTemplate(RedisConnectionFactory connectionFactory) {
         Jackson2JsonRedisSerializer<Object> valueSerializer =
                 new Jackson2JsonRedisSerializer<>(Object.class);
         valueSerializer.setObjectMapper(JsonUtil.defFacade().getObjectMapper());
@@ -1,6 +1,7 @@
 package cn.eastx.practice.middleware.util;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.expression.common.TemplateParserContext;
@@ -12,6 +13,7 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * AOP 切面工具类
@@ -72,6 +74,25 @@ public class AspectUtil {
                 .getValue(context, desiredResultType);
     }
 
+    /**
+     * 批量转换 SpEL 解析表达式为字符串集合
+     *
+     * @param spelArr   SpEL字符串数组
+     * @param variables 上下文变量 名称与值 对应Map
+     * @return 转换后的字符串集合，排除空值
+     */
+    public static Set<String> parseSpelSet(String[] spelArr, Map<String, Object> variables) {
+        Set<String> resultSet = Sets.newHashSetWithExpectedSize(spelArr.length);
+        for (String spelStr : spelArr) {
+            String val = parseSpel(spelStr, variables, String.class);
+            if (StringUtils.isNotBlank(val)) {
+                resultSet.add(val);
+            }
+        }
+
+        return resultSet;
+    }
+
     /**
      * 查找方法或类上的注解（优先方法，没有则方法所在类）
      *
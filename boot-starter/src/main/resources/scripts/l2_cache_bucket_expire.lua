@@ -0,0 +1,12 @@
+--- 缓存分桶过期字段清除脚本
+
+local bucket_key = KEYS[1];
+local field = ARGV[1];
+--- 读取到的过期值，字段值未被重新写入时才清除
+local expired_val = ARGV[2];
+
+if (redis.call("HGET", bucket_key, field) == expired_val) then
+    return redis.call("HDEL", bucket_key, field);
+end
+
+return 0;
@@ -0,0 +1,41 @@
+--- 缓存分桶写入脚本
+
+local bucket_key = KEYS[1];
+--- 存活时长，单位：毫秒
+local ttl_ms = tonumber(ARGV[1]);
+--- 是否设置字段过期（HPEXPIRE 需 Redis 7.4+）
+local field_expire = ARGV[2] == "1";
+--- 当前时间戳，单位：毫秒，与写入的过期时间使用同一时钟
+local now_ms = tonumber(ARGV[3]);
+--- 每次写入清除过期字段时最多检查的字段数量
+local sweep_count = tonumber(ARGV[4]);
+
+--- 未使用字段过期时，写入前清除分桶中已过期的字段（listpack 编码的分桶 HSCAN 一次返回全部字段）
+if (not field_expire) then
+    local scan = redis.call("HSCAN", bucket_key, 0, "COUNT", sweep_count);
+    local entries = scan[2];
+    for i = 1, #entries, 2 do
+        local envelope = entries[i + 1];
+        local index = string.find(envelope, "|", 1, true);
+        local expire_at = index and tonumber(string.sub(envelope, 1, index - 1), 36);
+        if (expire_at and expire_at <= now_ms) then
+            redis.call("HDEL", bucket_key, entries[i]);
+        end
+    end
+end
+
+--- ARGV[5] 开始依次为 字段、值
+for i = 5, #ARGV, 2 do
+    redis.call("HSET", bucket_key, ARGV[i], ARGV[i + 1]);
+    if (field_expire) then
+        redis.call("HPEXPIRE", bucket_key, ttl_ms, "FIELDS", 1, ARGV[i]);
+    end
+end
+
+--- 分桶存活时长只延长不缩短，保证不早于分桶内字段失效
+local cur_ttl = redis.call("PTTL", bucket_key);
+if (cur_ttl < ttl_ms) then
+    redis.call("PEXPIRE", bucket_key, ttl_ms);
+end
+
+return 1;
@@ -0,0 +1,19 @@
+--- 缓存删除脚本，旧值为分块清单时返回旧值
+
+local key = KEYS[1];
+--- 分块清单类型标识
+local marker = ARGV[1];
+--- 分块清单最大长度，超过的旧值不是分块清单
+local max_size = tonumber(ARGV[2]);
+
+local old_val = nil;
+if (redis.call("TYPE", key).ok == "string") then
+    old_val = redis.call("GET", key);
+end
+
+redis.call("UNLINK", key);
+if (old_val and string.len(old_val) <= max_size and string.find(old_val, marker, 1, true)) then
+    return old_val;
+end
+
+return nil;
@@ -0,0 +1,19 @@
+--- 缓存标签记录脚本
+
+local tag_key = KEYS[1];
+--- 标签存活时长，单位：秒
+local tag_ttl = tonumber(ARGV[1]);
+
+--- SET 保存标签下的缓存 key，ARGV[2] 开始为缓存 key
+for i = 2, #ARGV do
+    redis.call("SADD", tag_key, ARGV[i]);
+end
+
+--- 标签存活时长只延长不缩短，保证不早于标签下缓存 key 失效
+local cur_ttl = redis.call("TTL", tag_key);
+if (cur_ttl < tag_ttl) then
+    redis.call("EXPIRE", tag_key, tag_ttl);
+end
+
+--- 返回标签下缓存 key 数量
+return redis.call("SCARD", tag_key);
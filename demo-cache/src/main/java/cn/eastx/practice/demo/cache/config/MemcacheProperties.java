@@ -2,11 +2,17 @@ package cn.eastx.practice.demo.cache.config;
 
 import cn.eastx.practice.common.response.ResponseEnum;
 import cn.eastx.practice.common.util.GeneralUtil;
+import cn.hutool.core.util.StrUtil;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * 缓存相关配置
+ *  单节点配置 host、port，多节点配置 servers（优先），多节点使用 ketama 一致性哈希分配 key
  */
 @ConfigurationProperties(prefix = "mc")
 @Configuration
@@ -14,9 +20,45 @@ public class MemcacheProperties {
 
     private static String host;
     private static Integer port;
+    /**
+     * 多节点地址，host:port 以逗号分隔，配置后忽略 host、port
+     */
+    private static String servers;
+    /**
+     * 每个节点的连接数（SpyMemcached 不支持，固定为 1）
+     */
+    private static int connections = 1;
+    /**
+     * 操作超时时间，单位毫秒
+     */
+    private static long opTimeout = 3000;
 
     public static void check() {
-        ResponseEnum.SERVER_ERROR.assertTrue(!GeneralUtil.hasEmpty(host, port), "未配置mc缓存");
+        ResponseEnum.SERVER_ERROR.assertTrue(!getServerList().isEmpty(), "未配置mc缓存");
+    }
+
+    /**
+     * 获取节点地址集合
+     *
+     * @return 节点地址集合，元素为 host:port
+     */
+    public static List<String> getServerList() {
+        if (StrUtil.isNotBlank(servers)) {
+            return StrUtil.split(servers, ',', true, true);
+        }
+
+        if (GeneralUtil.hasEmpty(host, port)) {
+            return Collections.emptyList();
+        }
+
+        return Collections.singletonList(host + ":" + port);
+    }
+
+    /**
+     * 获取节点地址，以空格分隔（XMemcached、SpyMemcached AddrUtil 格式）
+     */
+    public static String getServerStr() {
+        return getServerList().stream().collect(Collectors.joining(" "));
     }
 
     public static String getHost() {
@@ -35,4 +77,28 @@ public class MemcacheProperties {
         MemcacheProperties.port = port;
     }
 
+    public static String getServers() {
+        return servers;
+    }
+
+    public void setServers(String servers) {
+        MemcacheProperties.servers = servers;
+    }
+
+    public static int getConnections() {
+        return connections;
+    }
+
+    public void setConnections(int connections) {
+        MemcacheProperties.connections = connections;
+    }
+
+    public static long getOpTimeout() {
+        return opTimeout;
+    }
+
+    public void setOpTimeout(long opTimeout) {
+        MemcacheProperties.opTimeout = opTimeout;
+    }
+
 }
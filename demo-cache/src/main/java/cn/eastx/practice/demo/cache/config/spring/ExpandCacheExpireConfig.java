@@ -3,6 +3,7 @@ package cn.eastx.practice.demo.cache.config.spring;
 import cn.hutool.core.map.MapUtil;
 import cn.hutool.core.util.ArrayUtil;
 import cn.hutool.core.util.ReflectUtil;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
@@ -11,18 +12,29 @@ import org.springframework.util.ReflectionUtils;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.Resource;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Properties;
 
 /**
  * 自定义缓存注解过期时间初始化配置
  *  针对 {@link ExpandCacheable} 注解配置的时间进行处理
+ *  优先使用编译期生成的索引（{@link ExpandCacheIndexProcessor}），创建缓存管理器时通过 {@link #loadIndex()} 读取，
+ *  不存在索引（如未执行注解处理器的编译）时回退为反射获取 Bean 处理
  *  参考：https://mp.weixin.qq.com/s/zzJH-enXlLZovV8h0RCR6Q
  *
  * @author EastX
  * @date 2022/10/22
  */
+@Slf4j
 public class ExpandCacheExpireConfig {
 
     @Resource
@@ -30,12 +42,50 @@ public class ExpandCacheExpireConfig {
     @Resource
     private RedisCacheManager expandRedisCacheManager;
 
+    /**
+     * 读取编译期生成的缓存时长索引，合并类路径下所有索引文件
+     *
+     * @return 缓存空间名称与缓存时长，不存在索引时返回空Map
+     */
+    public static Map<String, Duration> loadIndex() {
+        Map<String, Duration> ttlMap = new LinkedHashMap<>();
+        try {
+            Enumeration<URL> urls = ExpandCacheExpireConfig.class.getClassLoader()
+                    .getResources(ExpandCacheIndexProcessor.INDEX_LOCATION);
+            while (urls.hasMoreElements()) {
+                Properties properties = new Properties();
+                try (Reader reader = new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+
+                for (String cacheName : properties.stringPropertyNames()) {
+                    // 值格式：缓存时长（秒）;声明注解的顶层类
+                    String value = properties.getProperty(cacheName);
+                    int index = value.indexOf(';');
+                    String ttl = index < 0 ? value : value.substring(0, index);
+                    ttlMap.put(cacheName, Duration.ofSeconds(Long.parseLong(ttl.trim())));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("load cache index failed, fallback to bean scanning, e={}", e.toString());
+            ttlMap.clear();
+        }
+
+        return ttlMap;
+    }
+
     /**
      * Spring Bean 加载后处理
-     *  获取所有 @Component 注解的 Bean 判断类中方法是否存在 @SpringCacheable 注解，存在进行过期时间设置
+     *  存在索引时已在创建缓存管理器时处理，直接返回
+     *  否则获取所有 @Component 注解的 Bean 判断类中方法是否存在 @SpringCacheable 注解，存在进行过期时间设置
      */
     @PostConstruct
     public void init() {
+        if (!loadIndex().isEmpty()) {
+            return;
+        }
+
+        log.info("cache index not found, scan beans for @ExpandCacheable");
         Map<String, Object> beanMap = beanFactory.getBeansWithAnnotation(Component.class);
         if (MapUtil.isEmpty(beanMap)) {
             return;
@@ -0,0 +1,224 @@
+package cn.eastx.practice.demo.cache.config.spring;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自定义缓存注解索引生成（编译期注解处理器）
+ *  编译时收集 {@link ExpandCacheable} 配置的缓存空间名称及缓存时长，生成 {@link #INDEX_LOCATION}，
+ *  启动时由 {@link ExpandCacheExpireConfig#loadIndex()} 读取，不再获取全部 Bean 反射遍历方法
+ *
+ * 文件格式（properties）：缓存空间名称=缓存时长（秒）;声明注解的顶层类
+ *
+ * 注意：
+ *  1. 不通过 META-INF/services 注册（避免随 jar 包传递给依赖方），由 pom.xml 中第二次编译的
+ *     annotationProcessors 指定，demo-cache 先单独编译本类，再编译其它类时执行
+ *  2. 本类不依赖项目内其它类，可以单独编译
+ *  3. 同一缓存空间名称配置了不同缓存时长时输出警告，与反射处理一致取后处理的值
+ *  4. 增量编译（IDE）只处理部分类，写入时与已有索引合并（参考 spring-context-indexer）：
+ *     本次编译的类以本次收集为准，未编译的类保留已有条目，已删除的类移除
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+@SupportedAnnotationTypes(ExpandCacheIndexProcessor.ANNOTATION_NAME)
+public class ExpandCacheIndexProcessor extends AbstractProcessor {
+
+    /**
+     * 索引文件位置
+     */
+    public static final String INDEX_LOCATION = "META-INF/expand-cache-index.properties";
+
+    static final String ANNOTATION_NAME = "cn.eastx.practice.demo.cache.config.spring.ExpandCacheable";
+
+    /**
+     * 缓存空间名称与缓存时长（秒），多轮处理汇总后统一写入
+     */
+    private final Map<String, Long> ttlMap = new TreeMap<>();
+    /**
+     * 缓存空间名称与声明注解的顶层类
+     */
+    private final Map<String, String> ownerMap = new TreeMap<>();
+    /**
+     * 本次编译的顶层类
+     */
+    private final Set<String> compiledTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+
+        for (Element rootElement : roundEnv.getRootElements()) {
+            if (rootElement instanceof TypeElement) {
+                compiledTypes.add(((TypeElement) rootElement).getQualifiedName().toString());
+            }
+        }
+
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                    if (annotation.equals(mirror.getAnnotationType().asElement())) {
+                        collect(element, mirror);
+                    }
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * 收集注解配置，参照 {@link ExpandCacheExpireConfig} 反射处理
+     *
+     * @param element 注解的方法
+     * @param mirror 注解
+     */
+    @SuppressWarnings("unchecked")
+    private void collect(Element element, AnnotationMirror mirror) {
+        Map<String, Object> values = new TreeMap<>();
+        Map<? extends ExecutableElement, ? extends AnnotationValue> valueMap =
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror);
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : valueMap.entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+        }
+
+        List<? extends AnnotationValue> cacheNames = (List<? extends AnnotationValue>) values.get("cacheNames");
+        if (cacheNames == null || cacheNames.isEmpty()) {
+            cacheNames = (List<? extends AnnotationValue>) values.get("value");
+        }
+
+        long timeout = (Long) values.get("timeout");
+        String unit = ((VariableElement) values.get("unit")).getSimpleName().toString();
+        long ttl = TimeUnit.valueOf(unit).toSeconds(timeout);
+        String owner = topLevelType(element);
+        for (AnnotationValue cacheName : cacheNames) {
+            String name = (String) cacheName.getValue();
+            ownerMap.put(name, owner);
+            Long previous = ttlMap.put(name, ttl);
+            if (previous != null && !Objects.equals(previous, ttl)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        String.format("cache '%s' has different ttl: %ds, %ds", name, previous, ttl), element);
+            }
+        }
+    }
+
+    /**
+     * 获取元素所在的顶层类
+     */
+    private static String topLevelType(Element element) {
+        Element current = element;
+        while (current.getEnclosingElement() != null
+                && current.getEnclosingElement().getKind() != ElementKind.PACKAGE) {
+            current = current.getEnclosingElement();
+        }
+
+        return ((TypeElement) current).getQualifiedName().toString();
+    }
+
+    /**
+     * 与已有索引合并后写入索引文件，不存在注解及已有索引时不生成
+     */
+    private void writeIndex() {
+        Map<String, String> entryMap = new TreeMap<>();
+        Properties existing = readExistingIndex();
+        for (String name : existing.stringPropertyNames()) {
+            String value = existing.getProperty(name);
+            int index = value.indexOf(';');
+            String owner = index < 0 ? null : value.substring(index + 1);
+            // 本次编译的类以本次收集为准，已删除的类不保留
+            if (owner != null && !compiledTypes.contains(owner)
+                    && processingEnv.getElementUtils().getTypeElement(owner) != null) {
+                entryMap.put(name, value);
+            }
+        }
+
+        for (Map.Entry<String, Long> entry : ttlMap.entrySet()) {
+            entryMap.put(entry.getKey(), entry.getValue() + ";" + ownerMap.get(entry.getKey()));
+        }
+
+        if (entryMap.isEmpty() && existing.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, String> entry : entryMap.entrySet()) {
+                    writer.write(escape(entry.getKey()) + "=" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "write " + INDEX_LOCATION + " failed: " + e);
+        }
+    }
+
+    /**
+     * 读取编译输出目录中已有的索引，不存在返回空
+     */
+    private Properties readExistingIndex() {
+        Properties properties = new Properties();
+        try {
+            FileObject file = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Reader reader = new InputStreamReader(file.openInputStream(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        } catch (IOException e) {
+            // 首次编译或已清理，不存在已有索引
+        }
+
+        return properties;
+    }
+
+    /**
+     * 转义 properties key 中的特殊字符（如 name#ttl 中的 #）
+     */
+    private static String escape(String key) {
+        StringBuilder sb = new StringBuilder(key.length());
+        for (char c : key.toCharArray()) {
+            if ("\\:=#! ".indexOf(c) >= 0) {
+                sb.append('\\');
+            }
+            sb.append(c);
+        }
+
+        return sb.toString();
+    }
+
+}
@@ -2,7 +2,6 @@ package cn.eastx.practice.demo.cache.config.spring;
 
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.annotation.AliasFor;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
 
 import java.lang.annotation.*;
 import java.util.concurrent.TimeUnit;
@@ -11,7 +10,7 @@ import java.util.concurrent.TimeUnit;
  * 自定义缓存注解
  *  扩展 @Cacheable ，支持 Spring Cache 处理
  *  默认自定义缓存管理器
- *      {@link ExpandRedisConfig#expandRedisCacheManager(RedisConnectionFactory)}
+ *      {@link ExpandRedisConfig#expandRedisCacheManager}
  *      {@link ExpandRedisCacheManager}
  *      指定缓存时长 {@link cn.eastx.practice.demo.cache.util.TimeUtil#parseDuration(String)} ，注意会增加随机值防止缓存雪崩问题
  *  默认自定义 key 生成器
@@ -52,7 +51,8 @@ public @interface ExpandCacheable {
     String keyGenerator() default ExpandRedisConfig.BEAN_KEY_GENERATOR;
     /**
      * 缓存管理器
-     *  此处指定默认为自定义 {@link ExpandRedisConfig#expandRedisCacheManager(RedisConnectionFactory)}
+     *  此处指定默认为自定义 {@link ExpandRedisConfig#expandRedisCacheManager}，
+     *  返回值不会被修改时可指定两级缓存 {@link ExpandRedisConfig#BEAN_NEAR_CACHE_MANAGER}
      */
     @AliasFor(annotation = Cacheable.class, attribute = "cacheManager")
     String cacheManager() default ExpandRedisConfig.BEAN_REDIS_CACHE_MANAGER;
@@ -3,35 +3,211 @@ package cn.eastx.practice.demo.cache.config.spring;
 import cn.eastx.practice.demo.cache.util.AspectUtil;
 import cn.hutool.core.util.StrUtil;
 import cn.hutool.json.JSONUtil;
+import com.google.common.hash.Hashing;
 import org.springframework.cache.interceptor.KeyGenerator;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.lang.Nullable;
 
+import java.lang.reflect.Array;
 import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 自定义 key 生成器
  *  默认使用 类名 + # + 方法名 + (param)
  *  可与自定义缓存注解 {@link ExpandCacheable} 搭配使用支持 SpEL key 生成
+ *  每个方法首次生成时解析注解、编译 SpEL、获取参数名称并缓存，之后直接使用
+ *  参数为 null、整数、布尔值、普通字符串及其数组时直接拼接，其它类型使用 JSON 转换，两者生成的 key 一致
+ *  可选：key 长度超过上限时使用 类名 + # + 方法名 + # + key 的哈希值
  *
  * @author EastX
  * @date 2022/10/22
  */
 public class ExpandKeyGenerator implements KeyGenerator {
 
+    /**
+     * SpEL 解析器，可编译的表达式执行多次后编译为字节码
+     */
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser(
+            new SpelParserConfiguration(SpelCompilerMode.MIXED, ExpandKeyGenerator.class.getClassLoader()));
+    /**
+     * SpEL 解析模板
+     */
+    private static final TemplateParserContext TEMPLATE = new TemplateParserContext("${", "}");
+
+    /**
+     * 方法与 key 生成计划
+     */
+    private final Map<Method, KeyPlan> planMap = new ConcurrentHashMap<>();
+    /**
+     * key 长度上限，超过时使用哈希值，0 不限制
+     */
+    private final int maxKeyLength;
+
+    public ExpandKeyGenerator() {
+        this(0);
+    }
+
+    public ExpandKeyGenerator(int maxKeyLength) {
+        if (maxKeyLength < 0) {
+            throw new IllegalArgumentException("maxKeyLength should not be less than 0");
+        }
+        this.maxKeyLength = maxKeyLength;
+    }
+
     @Override
     public Object generate(Object target, Method method, Object... params) {
-        ExpandCacheable annotation =
-                AnnotatedElementUtils.findMergedAnnotation(method, ExpandCacheable.class);
-        if (Objects.isNull(annotation) || StrUtil.isBlank(annotation.spelKey())) {
-            String paramStr = JSONUtil.toJsonStr(params).replace("\"", "");
-            return AspectUtil.getMethodKey(method, paramStr);
+        KeyPlan plan = planMap.computeIfAbsent(method, KeyPlan::new);
+        String key;
+        if (plan.expression == null) {
+            key = plan.methodKey + "(" + formatParams(params) + ")";
+        } else {
+            // SpEL 支持
+            StandardEvaluationContext context = new StandardEvaluationContext();
+            for (int i = 0; i < plan.paramNames.length; i++) {
+                context.setVariable(plan.paramNames[i], params[i]);
+            }
+            key = plan.expression.getValue(context, String.class);
+        }
+
+        if (maxKeyLength > 0 && key != null && key.length() > maxKeyLength) {
+            return plan.methodKey + "#" + Hashing.murmur3_128().hashString(key, StandardCharsets.UTF_8);
+        }
+
+        return key;
+    }
+
+    /**
+     * 格式化参数，与 JSONUtil.toJsonStr(params).replace("\"", "") 结果一致
+     *
+     * @param params 方法参数
+     * @return 格式化后的参数
+     */
+    static String formatParams(Object[] params) {
+        for (Object param : params) {
+            if (!isDirectFormat(param)) {
+                return JSONUtil.toJsonStr(params).replace("\"", "");
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        appendArray(sb, params);
+        return sb.toString();
+    }
+
+    /**
+     * 是否可以直接拼接
+     */
+    private static boolean isDirectFormat(@Nullable Object param) {
+        if (param == null || param instanceof Integer || param instanceof Long || param instanceof Short
+                || param instanceof Byte || param instanceof Boolean) {
+            return true;
         }
 
-        // SpEL 支持
-        Map<String, Object> spelVars = AspectUtil.buildSpelVars(method, params);
-        return AspectUtil.parseSpel(annotation.spelKey(), spelVars, String.class);
+        if (param instanceof String) {
+            return isPlainString((String) param);
+        }
+
+        if (param instanceof int[] || param instanceof long[] || param instanceof short[]
+                || param instanceof boolean[]) {
+            return true;
+        }
+
+        if (param instanceof Object[]) {
+            for (Object item : (Object[]) param) {
+                if (!isDirectFormat(item)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * 是否为不需要 JSON 转义的字符串
+     */
+    private static boolean isPlainString(String str) {
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\' || c == '/' || c == '<' || c > 0x7E) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void appendValue(StringBuilder sb, Object value) {
+        if (value.getClass().isArray()) {
+            appendArray(sb, value);
+        } else {
+            sb.append(value);
+        }
+    }
+
+    private static void appendArray(StringBuilder sb, Object array) {
+        sb.append('[');
+        int length = Array.getLength(array);
+        boolean first = true;
+        for (int i = 0; i < length; i++) {
+            Object value = Array.get(array, i);
+            if (value == null) {
+                // 与 JSON 转换一致，忽略 null 值
+                continue;
+            }
+
+            if (!first) {
+                sb.append(',');
+            }
+            appendValue(sb, value);
+            first = false;
+        }
+        sb.append(']');
+    }
+
+    /**
+     * 方法 key 生成计划
+     */
+    private static class KeyPlan {
+        /**
+         * 类名 + # + 方法名
+         */
+        private final String methodKey;
+        /**
+         * 编译后的 SpEL key，未指定时为 null
+         */
+        @Nullable
+        private final Expression expression;
+        /**
+         * 方法参数名称
+         */
+        private final String[] paramNames;
+
+        KeyPlan(Method method) {
+            this.methodKey = AspectUtil.getMethodKey(method, null);
+            ExpandCacheable annotation =
+                    AnnotatedElementUtils.findMergedAnnotation(method, ExpandCacheable.class);
+            this.expression = Objects.isNull(annotation) || StrUtil.isBlank(annotation.spelKey())
+                    ? null : PARSER.parseExpression(annotation.spelKey(), TEMPLATE);
+
+            Parameter[] parameters = method.getParameters();
+            this.paramNames = new String[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                this.paramNames[i] = parameters[i].getName();
+            }
+        }
     }
 
 }
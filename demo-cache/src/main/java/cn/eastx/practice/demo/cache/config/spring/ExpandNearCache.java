@@ -0,0 +1,235 @@
+package cn.eastx.practice.demo.cache.config.spring;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 自定义两级缓存处理器（Caffeine 本地缓存 + {@link ExpandRedisCache}）
+ *  读取优先本地缓存，不存在读取 Redis 并写入本地缓存
+ *  写入、删除、清空同时处理本地缓存及 Redis，并通过发布订阅通知其它节点清除本地缓存
+ *  本地缓存时长取 Redis 缓存时长（包括 name#ttl 及 {@link ExpandCacheable} 配置）与本地缓存时长上限的较小值
+ *  读取 Redis 前登记 key 的版本号，清除本地缓存时移除登记，写入本地缓存前校验版本号未变化，
+ *  避免读取 Redis 与写入本地缓存之间收到的失效通知丢失（写入旧值）
+ *
+ * 注意：本地缓存返回同一对象实例，调用方不要修改返回值，因此需显式指定缓存管理器使用
+ *
+ * @see ExpandNearCacheManager 两级缓存管理器
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+@Slf4j
+public class ExpandNearCache implements Cache {
+
+    private final ExpandRedisCache target;
+    private final ExpandNearCacheManager manager;
+    /**
+     * 本地缓存，key 为 Redis 中的缓存 key，值为存储值（null 存储为 NullValue）
+     */
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    /**
+     * 正在读取 Redis 或写入的 key 与版本号，清除本地缓存时移除，仅包含进行中的操作
+     */
+    private final ConcurrentMap<String, Long> pendingMap = new ConcurrentHashMap<>();
+    /**
+     * 版本号序列
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    ExpandNearCache(ExpandRedisCache target, ExpandNearCacheManager manager, long maxSize, Duration maxTtl) {
+        this.target = target;
+        this.manager = manager;
+        Duration ttl = target.getCacheConfiguration().getTtl();
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl.isZero() || ttl.compareTo(maxTtl) > 0 ? maxTtl : ttl)
+                .build();
+    }
+
+    /**
+     * 获取被包装的 Redis 缓存
+     */
+    public ExpandRedisCache getTarget() {
+        return target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target;
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper get(Object key) {
+        String cacheKey = target.getCacheKey(key);
+        Object storeValue = localCache.getIfPresent(cacheKey);
+        if (storeValue != null) {
+            return new SimpleValueWrapper(fromStoreValue(storeValue));
+        }
+
+        long version = register(cacheKey);
+        try {
+            ValueWrapper wrapper = target.get(key);
+            if (wrapper != null) {
+                fill(cacheKey, version, wrapper.get());
+            }
+
+            return wrapper;
+        } finally {
+            pendingMap.remove(cacheKey, version);
+        }
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, @Nullable Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    @Nullable
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = target.getCacheKey(key);
+        Object storeValue = localCache.getIfPresent(cacheKey);
+        if (storeValue != null) {
+            return (T) fromStoreValue(storeValue);
+        }
+
+        long version = register(cacheKey);
+        try {
+            T value = target.get(key, valueLoader);
+            fill(cacheKey, version, value);
+            return value;
+        } finally {
+            pendingMap.remove(cacheKey, version);
+        }
+    }
+
+    @Override
+    public void put(Object key, @Nullable Object value) {
+        String cacheKey = target.getCacheKey(key);
+        long version = register(cacheKey);
+        try {
+            target.put(key, value);
+            fill(cacheKey, version, value);
+        } finally {
+            pendingMap.remove(cacheKey, version);
+        }
+        manager.publishEvict(getName(), cacheKey);
+    }
+
+    @Override
+    @Nullable
+    public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+        String cacheKey = target.getCacheKey(key);
+        long version = register(cacheKey);
+        try {
+            ValueWrapper existing = target.putIfAbsent(key, value);
+            if (existing == null) {
+                // 写入成功，通知其它节点
+                manager.publishEvict(getName(), cacheKey);
+            }
+
+            fill(cacheKey, version, existing == null ? value : existing.get());
+            return existing;
+        } finally {
+            pendingMap.remove(cacheKey, version);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        target.evict(key);
+        String cacheKey = target.getCacheKey(key);
+        evictLocal(cacheKey);
+        manager.publishEvict(getName(), cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+        evictLocal(null);
+        manager.publishEvict(getName(), null);
+    }
+
+    /**
+     * 清除本地缓存，收到其它节点通知时调用
+     *
+     * @param cacheKey Redis 中的缓存 key，为 null 时清空
+     */
+    void evictLocal(@Nullable String cacheKey) {
+        // 先移除登记的版本号，进行中的读取不再写入本地缓存
+        if (cacheKey == null) {
+            pendingMap.clear();
+            localCache.invalidateAll();
+        } else {
+            pendingMap.remove(cacheKey);
+            localCache.invalidate(cacheKey);
+        }
+
+        log.debug("near evict local, name={}, cacheKey={}", getName(), cacheKey);
+    }
+
+    /**
+     * 登记 key 的版本号，读取 Redis 或写入前调用
+     *
+     * @param cacheKey Redis 中的缓存 key
+     * @return 版本号
+     */
+    private long register(String cacheKey) {
+        long version = sequence.incrementAndGet();
+        pendingMap.put(cacheKey, version);
+        return version;
+    }
+
+    /**
+     * 写入本地缓存，登记后被清除或被其它操作重新登记时不写入
+     *  校验与写入在同一 key 的 compute 中执行，与清除时移除登记互斥
+     *
+     * @param cacheKey Redis 中的缓存 key
+     * @param version 登记的版本号
+     * @param value 缓存值
+     */
+    private void fill(String cacheKey, long version, @Nullable Object value) {
+        pendingMap.computeIfPresent(cacheKey, (k, current) -> {
+            if (current != version) {
+                return current;
+            }
+
+            localCache.put(cacheKey, toStoreValue(value));
+            return null;
+        });
+    }
+
+    private static Object toStoreValue(@Nullable Object value) {
+        return value == null ? NullValue.INSTANCE : value;
+    }
+
+    @Nullable
+    private static Object fromStoreValue(Object storeValue) {
+        return storeValue == NullValue.INSTANCE ? null : storeValue;
+    }
+
+}
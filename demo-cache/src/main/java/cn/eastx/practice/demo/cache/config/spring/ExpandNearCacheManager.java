@@ -0,0 +1,144 @@
+package cn.eastx.practice.demo.cache.config.spring;
+
+import cn.eastx.practice.demo.cache.config.RedisSubscriber;
+import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 自定义两级缓存管理器
+ *  将 {@link ExpandRedisCacheManager} 创建的每个 {@link ExpandRedisCache} 包装为 {@link ExpandNearCache}，
+ *  缓存名称、name#ttl 语法、{@link ExpandCacheable} 配置的缓存时长及随机失效时间均由 Redis 缓存管理器处理
+ *  数据变更通过 Redis 发布订阅通知其它节点清除本地缓存，忽略当前节点发出的消息
+ *  非默认缓存管理器，需通过 cacheManager 显式指定，如 {@link ExpandCacheable#cacheManager()}
+ *
+ * @see ExpandRedisConfig#expandNearCacheManager 注入
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+@Slf4j
+public class ExpandNearCacheManager implements CacheManager, RedisSubscriber {
+
+    /**
+     * 本地缓存失效通知通道
+     */
+    private static final String EVICT_TOPIC = "topic:spring:near:cache";
+    /**
+     * 消息字段：发送节点、缓存名称、Redis 中的缓存 key（为空表示清空）
+     */
+    private static final String FIELD_SENDER = "sender";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_KEY = "key";
+
+    /**
+     * 当前节点标识
+     */
+    private final String instanceId = UUID.randomUUID().toString();
+    /**
+     * 请求的缓存名称（可能包含 #ttl） 与 两级缓存 对应
+     */
+    private final Map<String, ExpandNearCache> cacheMap = new ConcurrentHashMap<>();
+
+    private final RedisCacheManager redisCacheManager;
+    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * 每个缓存空间的本地缓存最大数量
+     */
+    private final long localMaxSize;
+    /**
+     * 本地缓存时长上限
+     */
+    private final Duration localMaxTtl;
+
+    public ExpandNearCacheManager(RedisCacheManager redisCacheManager, RedisTemplate<String, Object> redisTemplate,
+                                  long localMaxSize, Duration localMaxTtl) {
+        this.redisCacheManager = redisCacheManager;
+        this.redisTemplate = redisTemplate;
+        this.localMaxSize = localMaxSize;
+        this.localMaxTtl = localMaxTtl;
+    }
+
+    @Override
+    @Nullable
+    public Cache getCache(String name) {
+        Cache cache = redisCacheManager.getCache(name);
+        if (!(cache instanceof ExpandRedisCache)) {
+            return cache;
+        }
+
+        // Redis 缓存管理器重新初始化（如 ExpandCacheExpireConfig）后重新包装
+        ExpandNearCache nearCache = cacheMap.get(name);
+        if (nearCache == null || nearCache.getTarget() != cache) {
+            nearCache = new ExpandNearCache((ExpandRedisCache) cache, this, localMaxSize, localMaxTtl);
+            cacheMap.put(name, nearCache);
+        }
+
+        return nearCache;
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * 通知其它节点清除本地缓存
+     *
+     * @param name 缓存名称
+     * @param cacheKey Redis 中的缓存 key，为 null 时清空
+     */
+    void publishEvict(String name, @Nullable String cacheKey) {
+        Map<String, String> message = Maps.newHashMapWithExpectedSize(3);
+        message.put(FIELD_SENDER, instanceId);
+        message.put(FIELD_NAME, name);
+        message.put(FIELD_KEY, cacheKey);
+        redisTemplate.convertAndSend(EVICT_TOPIC, message);
+    }
+
+    /**
+     * 清除当前节点的本地缓存，不通知其它节点
+     *
+     * @param cacheKey Redis 中的缓存 key，为 null 时清空全部缓存空间
+     */
+    public void evictLocal(@Nullable String cacheKey) {
+        for (ExpandNearCache nearCache : cacheMap.values()) {
+            nearCache.evictLocal(cacheKey);
+        }
+    }
+
+    @Override
+    public String getTopic() {
+        return EVICT_TOPIC;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Map<String, String> body = (Map<String, String>) redisTemplate.getValueSerializer()
+                .deserialize(message.getBody());
+        if (body == null || instanceId.equals(body.get(FIELD_SENDER))) {
+            return;
+        }
+
+        // 同一实际名称可能对应多个请求名称（如 name 与 name#ttl）
+        String name = body.get(FIELD_NAME);
+        for (ExpandNearCache nearCache : cacheMap.values()) {
+            if (Objects.equals(name, nearCache.getName())) {
+                nearCache.evictLocal(body.get(FIELD_KEY));
+            }
+        }
+    }
+
+}
@@ -1,6 +1,8 @@
 package cn.eastx.practice.demo.cache.config.spring;
 
 import cn.hutool.core.util.RandomUtil;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.support.NullValue;
 import org.springframework.cache.support.SimpleValueWrapper;
@@ -9,11 +11,27 @@ import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.lang.Nullable;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 自定义 Redis 缓存处理器
  *  在 put 方法中随机生成失效时间
+ *  同步加载（@Cacheable(sync = true)）跨节点只由一个节点加载，见 {@link #get(Object, Callable)}
  *  参考：https://blog.csdn.net/yang_wen_wu/article/details/120348727
  *
  * @author EastX
@@ -31,12 +49,53 @@ public class ExpandRedisCache extends RedisCache {
      */
     private final int maxRandomSecond;
 
+    /**
+     * 加载租约 key 后缀
+     */
+    private static final String LEASE_SUFFIX = "::lease";
+    /**
+     * 默认加载租约时长，需大于加载方法执行时长
+     */
+    public static final Duration DEFAULT_LEASE_TTL = Duration.ofSeconds(10);
+    /**
+     * 未获取租约时轮询缓存间隔，单位毫秒
+     */
+    private static final long LEASE_POLL_MILLIS = 50;
+    /**
+     * 未获取租约时重新尝试获取租约间隔，单位毫秒
+     */
+    private static final long LEASE_RETRY_MILLIS = 1000;
+    /**
+     * 加载租约续期线程，持有租约加载期间每 1/3 租约时长续期一次
+     */
+    private static final ScheduledExecutorService LEASE_RENEW_SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("redis-cache-lease-renew").setDaemon(true).build());
+
+    /**
+     * 加载租约时长，加载期间自动续期，持有者异常退出时过期释放
+     */
+    private final Duration leaseTtl;
+    /**
+     * 未获取租约时最长等待时间，不小于租约时长
+     */
+    private final Duration leaseWait;
+
+    /**
+     * 本节点加载中的缓存 key 与 加载结果
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> loadingMap = new ConcurrentHashMap<>();
+
     private String name;
     private RedisCacheWriter cacheWriter;
     private RedisCacheConfiguration cacheConfig;
 
     protected ExpandRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfig,
                                int minSecond, int maxSecond) {
+        this(name, cacheWriter, cacheConfig, minSecond, maxSecond, DEFAULT_LEASE_TTL, DEFAULT_LEASE_TTL);
+    }
+
+    protected ExpandRedisCache(String name, RedisCacheWriter cacheWriter, RedisCacheConfiguration cacheConfig,
+                               int minSecond, int maxSecond, Duration leaseTtl, Duration leaseWait) {
         super(name, cacheWriter, cacheConfig);
         if (minSecond <= 0) {
             throw new IllegalArgumentException("minSecond should be bigger than 0");
@@ -44,8 +103,16 @@ public class ExpandRedisCache extends RedisCache {
         if (minSecond > maxSecond) {
             throw new IllegalArgumentException("maxSecond should be bigger than minSecond");
         }
+        if (leaseTtl.isNegative() || leaseTtl.isZero()) {
+            throw new IllegalArgumentException("leaseTtl should be bigger than 0");
+        }
+        if (leaseWait.compareTo(leaseTtl) < 0) {
+            throw new IllegalArgumentException("leaseWait should not be less than leaseTtl");
+        }
         this.minRandomSecond = minSecond;
         this.maxRandomSecond = maxSecond;
+        this.leaseTtl = leaseTtl;
+        this.leaseWait = leaseWait;
         this.name = name;
         this.cacheWriter = cacheWriter;
         this.cacheConfig = cacheConfig;
@@ -93,6 +160,219 @@ public class ExpandRedisCache extends RedisCache {
         return new SimpleValueWrapper(fromStoreValue(deserializeCacheValue(result)));
     }
 
+    /**
+     * 同步加载（@Cacheable(sync = true)）
+     *  1. 同一节点相同 key 只有一个线程执行加载，其它线程等待其结果
+     *  2. 使用 {@link ExpandRedisCacheWriter} 时通过 Redis 租约协调多个节点，持有者加载期间定时续期租约，
+     *  未获取租约的节点只轮询缓存值，每隔 {@link #LEASE_RETRY_MILLIS} 重新尝试获取租约，
+     *  持有者异常退出时租约过期后由等待的节点获取并加载，
+     *  等待时长不小于租约时长，超过等待时长仍未写入且未获取租约时才自行加载
+     *  3. 加载结果通过 {@link #put(Object, Object)} 写入，保留随机失效时间
+     *
+     * @param key 缓存 key
+     * @param valueLoader 加载方法
+     * @return 缓存值
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        String cacheKey = getCacheKey(key);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> loading = loadingMap.putIfAbsent(cacheKey, future);
+        if (loading != null) {
+            return (T) waitLoading(loading);
+        }
+
+        try {
+            T value = loadWithLease(key, cacheKey, valueLoader);
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // 包括 Error ，避免等待的线程永久阻塞
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loadingMap.remove(cacheKey, future);
+        }
+    }
+
+    /**
+     * 批量获取缓存
+     *  使用 {@link ExpandRedisCacheWriter} 时通过 MGET 一次获取，否则逐个获取
+     *
+     * @param keys 缓存 key 集合
+     * @return 缓存 key 与 值 对应Map，不包含不存在的 key ，缓存的 null 值对应 null
+     */
+    public Map<Object, Object> getAll(Collection<?> keys) {
+        Map<Object, Object> resultMap = Maps.newHashMapWithExpectedSize(keys.size());
+        if (!(cacheWriter instanceof ExpandRedisCacheWriter)) {
+            for (Object key : keys) {
+                ValueWrapper wrapper = get(key);
+                if (wrapper != null) {
+                    resultMap.put(key, wrapper.get());
+                }
+            }
+
+            return resultMap;
+        }
+
+        List<Object> keyList = new ArrayList<>(keys);
+        List<byte[]> cacheKeys = new ArrayList<>(keyList.size());
+        for (Object key : keyList) {
+            cacheKeys.add(createAndConvertCacheKey(key));
+        }
+
+        List<byte[]> values = ((ExpandRedisCacheWriter) cacheWriter).get(name, cacheKeys);
+        for (int i = 0; i < keyList.size(); i++) {
+            if (values.get(i) != null) {
+                resultMap.put(keyList.get(i), fromStoreValue(deserializeCacheValue(values.get(i))));
+            }
+        }
+
+        return resultMap;
+    }
+
+    /**
+     * 获取租约后加载，未获取租约时等待其它节点写入
+     *
+     * @param key 缓存 key
+     * @param cacheKey Redis 中的缓存 key
+     * @param valueLoader 加载方法
+     * @return 缓存值
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T loadWithLease(Object key, String cacheKey, Callable<T> valueLoader) {
+        if (!(cacheWriter instanceof ExpandRedisCacheWriter)) {
+            return load(key, valueLoader);
+        }
+
+        ExpandRedisCacheWriter leaseWriter = (ExpandRedisCacheWriter) cacheWriter;
+        byte[] leaseKey = super.serializeCacheKey(cacheKey + LEASE_SUFFIX);
+        byte[] token = UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8);
+        long now = System.currentTimeMillis();
+        long deadline = now + leaseWait.toMillis();
+        long nextLeaseTime = now + LEASE_RETRY_MILLIS;
+        boolean leased = leaseWriter.tryLease(leaseKey, token, leaseTtl);
+        while (!leased) {
+            if (System.currentTimeMillis() >= deadline) {
+                log.warn("redis lease wait timeout, load directly, name={}, key={}", name, key);
+                return load(key, valueLoader);
+            }
+
+            try {
+                Thread.sleep(LEASE_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+
+            ValueWrapper wrapper = get(key);
+            if (wrapper != null) {
+                return (T) wrapper.get();
+            }
+
+            // 持有者异常退出时租约过期，重新尝试获取
+            now = System.currentTimeMillis();
+            if (now >= nextLeaseTime) {
+                leased = leaseWriter.tryLease(leaseKey, token, leaseTtl);
+                nextLeaseTime = now + LEASE_RETRY_MILLIS;
+            }
+        }
+
+        ScheduledFuture<?> renewal = scheduleRenewal(leaseWriter, leaseKey, token, key);
+        try {
+            // 获取租约前其它节点可能已写入
+            ValueWrapper wrapper = get(key);
+            if (wrapper != null) {
+                return (T) wrapper.get();
+            }
+
+            return load(key, valueLoader);
+        } finally {
+            renewal.cancel(false);
+            leaseWriter.releaseLease(leaseKey, token);
+        }
+    }
+
+    /**
+     * 定时续期加载租约，加载耗时超过租约时长时其它节点不会重复加载
+     *
+     * @param leaseWriter 缓存写入器
+     * @param leaseKey 租约 key
+     * @param token 租约持有者标识
+     * @param key 缓存 key
+     * @return 续期任务，加载结束后取消
+     */
+    private ScheduledFuture<?> scheduleRenewal(ExpandRedisCacheWriter leaseWriter, byte[] leaseKey, byte[] token,
+                                               Object key) {
+        long period = Math.max(1L, leaseTtl.toMillis() / 3);
+        return LEASE_RENEW_SCHEDULER.scheduleAtFixedRate(() -> {
+            try {
+                if (!leaseWriter.renewLease(leaseKey, token, leaseTtl)) {
+                    log.warn("redis lease lost while loading, name={}, key={}", name, key);
+                }
+            } catch (RuntimeException e) {
+                log.warn("redis lease renew failed, name={}, key={}, e={}", name, key, e.toString());
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 执行加载方法并写入缓存
+     *
+     * @param key 缓存 key
+     * @param valueLoader 加载方法
+     * @return 缓存值
+     */
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * 等待本节点其它线程的加载结果
+     *
+     * @param loading 加载中的结果
+     * @return 缓存值
+     */
+    private static Object waitLoading(CompletableFuture<Object> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * 获取 Redis 中的缓存 key（包含前缀）
+     *
+     * @param key 缓存 key
+     * @return Redis 中的缓存 key
+     */
+    public String getCacheKey(Object key) {
+        return super.createCacheKey(key);
+    }
+
     /**
      * 参照父类实现
      * @see RedisCache#createAndConvertCacheKey(Object)
@@ -34,6 +34,14 @@ public class ExpandRedisCacheManager extends RedisCacheManager {
      * 最大随机失效时间，单位秒
      */
     private final int maxRandomSecond;
+    /**
+     * 同步加载租约时长
+     */
+    private final Duration leaseTtl;
+    /**
+     * 同步加载未获取租约时最长等待时间
+     */
+    private final Duration leaseWait;
 
     private RedisCacheWriter cacheWriter;
 
@@ -41,10 +49,21 @@ public class ExpandRedisCacheManager extends RedisCacheManager {
                                    RedisCacheConfiguration defaultCacheConfiguration,
                                    Map<String, RedisCacheConfiguration> initialCacheConfigurations,
                                    int minRandomSecond, int maxRandomSecond) {
+        this(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations, minRandomSecond, maxRandomSecond,
+                ExpandRedisCache.DEFAULT_LEASE_TTL, ExpandRedisCache.DEFAULT_LEASE_TTL);
+    }
+
+    public ExpandRedisCacheManager(RedisCacheWriter cacheWriter,
+                                   RedisCacheConfiguration defaultCacheConfiguration,
+                                   Map<String, RedisCacheConfiguration> initialCacheConfigurations,
+                                   int minRandomSecond, int maxRandomSecond,
+                                   Duration leaseTtl, Duration leaseWait) {
         super(cacheWriter, defaultCacheConfiguration, initialCacheConfigurations, true);
         this.cacheWriter = cacheWriter;
         this.minRandomSecond = minRandomSecond;
         this.maxRandomSecond = maxRandomSecond;
+        this.leaseTtl = leaseTtl;
+        this.leaseWait = leaseWait;
     }
 
     @Override
@@ -62,7 +81,7 @@ public class ExpandRedisCacheManager extends RedisCacheManager {
 
         // 使用自定义缓存处理器附带自定义参数随机时间，将注入的随机时间传递
         return new ExpandRedisCache(theName, cacheWriter, cacheConfig, this.minRandomSecond,
-                this.maxRandomSecond);
+                this.maxRandomSecond, this.leaseTtl, this.leaseWait);
     }
 
 }
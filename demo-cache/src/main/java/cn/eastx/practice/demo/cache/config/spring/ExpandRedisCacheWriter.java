@@ -0,0 +1,277 @@
+package cn.eastx.practice.demo.cache.config.spring;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.cache.CacheStatistics;
+import org.springframework.data.redis.cache.CacheStatisticsCollector;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * 自定义 Redis 缓存写入器（不加锁）
+ *  替代 {@link RedisCacheWriter#lockingRedisCacheWriter(RedisConnectionFactory)}：
+ *  1. 写入、清空不使用 Redis 锁，putIfAbsent 使用 SET NX PX 一条命令写入值及时长，与读取旧值通过管道一次发送
+ *  2. 清空使用 SCAN 分批获取 key 并 UNLINK 异步删除，不使用 KEYS，集群模式逐个主节点 SCAN
+ *  3. 支持批量读取 {@link #get(String, List)}（MGET）
+ *  4. 提供跨节点加载租约 {@link #tryLease}、{@link #renewLease}、{@link #releaseLease}，供 {@link ExpandRedisCache#get(Object, Callable)} 使用
+ *  缓存时长由调用方传入，{@link ExpandRedisCache} 的随机失效时间不受影响
+ *
+ * @see ExpandRedisConfig#expandRedisCacheManager 注入
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+@Slf4j
+public class ExpandRedisCacheWriter implements RedisCacheWriter {
+
+    /**
+     * 释放租约脚本，值与持有者标识一致时删除
+     */
+    private static final byte[] RELEASE_LEASE_SCRIPT = ("if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('del', KEYS[1]) else return 0 end").getBytes(StandardCharsets.UTF_8);
+    /**
+     * 续期租约脚本，值与持有者标识一致时重新设置时长（毫秒）
+     */
+    private static final byte[] RENEW_LEASE_SCRIPT = ("if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end").getBytes(StandardCharsets.UTF_8);
+
+    private final RedisConnectionFactory connectionFactory;
+    /**
+     * 清空时每批 SCAN 及 UNLINK 的 key 数量
+     */
+    private final int batchSize;
+    private final CacheStatisticsCollector statistics;
+
+    public ExpandRedisCacheWriter(RedisConnectionFactory connectionFactory, int batchSize) {
+        this(connectionFactory, batchSize, CacheStatisticsCollector.none());
+    }
+
+    private ExpandRedisCacheWriter(RedisConnectionFactory connectionFactory, int batchSize,
+                                   CacheStatisticsCollector statistics) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be bigger than 0");
+        }
+        this.connectionFactory = connectionFactory;
+        this.batchSize = batchSize;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public void put(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        execute(connection -> connection.stringCommands()
+                .set(key, value, toExpiration(ttl), RedisStringCommands.SetOption.upsert()));
+        statistics.incPuts(name);
+    }
+
+    @Override
+    @Nullable
+    public byte[] get(String name, byte[] key) {
+        byte[] result = execute(connection -> connection.stringCommands().get(key));
+        statistics.incGets(name);
+        if (result == null) {
+            statistics.incMisses(name);
+        } else {
+            statistics.incHits(name);
+        }
+
+        return result;
+    }
+
+    /**
+     * 批量读取
+     *
+     * @param name 缓存名称
+     * @param keys 缓存 key 集合
+     * @return 缓存值集合，与 key 顺序一致，不存在的为 null
+     */
+    public List<byte[]> get(String name, List<byte[]> keys) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<byte[]> results = execute(connection -> connection.stringCommands().mGet(keys.toArray(new byte[0][])));
+        if (results == null) {
+            results = Collections.nCopies(keys.size(), null);
+        }
+
+        for (byte[] result : results) {
+            statistics.incGets(name);
+            if (result == null) {
+                statistics.incMisses(name);
+            } else {
+                statistics.incHits(name);
+            }
+        }
+
+        return results;
+    }
+
+    @Override
+    @Nullable
+    public byte[] putIfAbsent(String name, byte[] key, byte[] value, @Nullable Duration ttl) {
+        byte[] existing = execute(connection -> {
+            Expiration expiration = toExpiration(ttl);
+            if (connection instanceof RedisClusterConnection) {
+                // 集群连接不支持管道
+                Boolean absent = connection.stringCommands()
+                        .set(key, value, expiration, RedisStringCommands.SetOption.ifAbsent());
+                return Boolean.TRUE.equals(absent) ? null : connection.stringCommands().get(key);
+            }
+
+            connection.openPipeline();
+            connection.stringCommands().set(key, value, expiration, RedisStringCommands.SetOption.ifAbsent());
+            connection.stringCommands().get(key);
+            List<Object> results = connection.closePipeline();
+            return Boolean.TRUE.equals(results.get(0)) ? null : (byte[]) results.get(1);
+        });
+
+        if (existing == null) {
+            statistics.incPuts(name);
+        }
+
+        return existing;
+    }
+
+    /**
+     * 尝试获取加载租约
+     *
+     * @param key 租约 key
+     * @param token 租约持有者标识
+     * @param ttl 租约时长
+     * @return 是否获取成功
+     */
+    public boolean tryLease(byte[] key, byte[] token, Duration ttl) {
+        return Boolean.TRUE.equals(execute(connection -> connection.stringCommands()
+                .set(key, token, Expiration.from(ttl), RedisStringCommands.SetOption.ifAbsent())));
+    }
+
+    /**
+     * 续期加载租约，仅持有者可以续期
+     *
+     * @param key 租约 key
+     * @param token 租约持有者标识
+     * @param ttl 租约时长
+     * @return 是否续期成功，租约已过期或被其它节点持有时返回 false
+     */
+    public boolean renewLease(byte[] key, byte[] token, Duration ttl) {
+        Long result = execute(connection -> connection.scriptingCommands().eval(RENEW_LEASE_SCRIPT,
+                ReturnType.INTEGER, 1, key, token,
+                String.valueOf(ttl.toMillis()).getBytes(StandardCharsets.UTF_8)));
+        return result != null && result == 1L;
+    }
+
+    /**
+     * 释放加载租约，仅持有者可以释放
+     *
+     * @param key 租约 key
+     * @param token 租约持有者标识
+     */
+    public void releaseLease(byte[] key, byte[] token) {
+        execute(connection -> connection.scriptingCommands()
+                .eval(RELEASE_LEASE_SCRIPT, ReturnType.INTEGER, 1, key, token));
+    }
+
+    @Override
+    public void remove(String name, byte[] key) {
+        execute(connection -> connection.keyCommands().unlink(key));
+        statistics.incDeletes(name);
+    }
+
+    @Override
+    public void clean(String name, byte[] pattern) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(batchSize).build();
+        long deleted = execute(connection -> {
+            if (!(connection instanceof RedisClusterConnection)) {
+                return scanAndUnlink(connection, connection.keyCommands().scan(options));
+            }
+
+            RedisClusterConnection clusterConnection = (RedisClusterConnection) connection;
+            long count = 0;
+            for (RedisClusterNode node : clusterConnection.clusterGetNodes()) {
+                if (node.isMaster()) {
+                    count += scanAndUnlink(connection, clusterConnection.scan(node, options));
+                }
+            }
+
+            return count;
+        });
+
+        statistics.incDeletesBy(name, (int) deleted);
+        log.debug("redis clean, name={}, deleted={}", name, deleted);
+    }
+
+    @Override
+    public void clearStatistics(String name) {
+        statistics.reset(name);
+    }
+
+    @Override
+    public RedisCacheWriter withStatisticsCollector(CacheStatisticsCollector cacheStatisticsCollector) {
+        return new ExpandRedisCacheWriter(connectionFactory, batchSize, cacheStatisticsCollector);
+    }
+
+    @Override
+    public CacheStatistics getCacheStatistics(String cacheName) {
+        return statistics.getCacheStatistics(cacheName);
+    }
+
+    /**
+     * 遍历 SCAN 结果分批 UNLINK
+     *
+     * @param connection Redis 连接
+     * @param cursor SCAN 游标
+     * @return 删除数量
+     */
+    private long scanAndUnlink(RedisConnection connection, Cursor<byte[]> cursor) {
+        long count = 0;
+        List<byte[]> batch = new ArrayList<>(batchSize);
+        try (Cursor<byte[]> keys = cursor) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() >= batchSize) {
+                    count += unlink(connection, batch);
+                }
+            }
+        }
+
+        return count + unlink(connection, batch);
+    }
+
+    private long unlink(RedisConnection connection, List<byte[]> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Long count = connection.keyCommands().unlink(batch.toArray(new byte[0][]));
+        batch.clear();
+        return count == null ? 0 : count;
+    }
+
+    private static Expiration toExpiration(@Nullable Duration ttl) {
+        return ttl == null || ttl.isZero() || ttl.isNegative()
+                ? Expiration.persistent() : Expiration.from(ttl);
+    }
+
+    private <T> T execute(Function<RedisConnection, T> callback) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            return callback.apply(connection);
+        }
+    }
+
+}
@@ -3,14 +3,17 @@ package cn.eastx.practice.demo.cache.config.spring;
 import cn.eastx.practice.common.util.JsonUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.Maps;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -36,6 +39,10 @@ public class ExpandRedisConfig {
      * 自定义 Redis 缓存管理实例 BeanName
      */
     public static final String BEAN_REDIS_CACHE_MANAGER = "expandRedisCacheManager";
+    /**
+     * 自定义两级缓存管理实例 BeanName
+     */
+    public static final String BEAN_NEAR_CACHE_MANAGER = "expandNearCacheManager";
     /**
      * 自定义缓存的 key 生成器实例 BeanName
      */
@@ -47,6 +54,31 @@ public class ExpandRedisConfig {
      */
     @Value("#{${expand-cache-config.ttl-map:null}}")
     private Map<String, Long> ttlMap;
+    /**
+     * 两级缓存每个缓存空间的本地缓存最大数量
+     */
+    @Value("${expand-cache-config.near.max-size:1000}")
+    private long nearMaxSize;
+    /**
+     * 两级缓存本地缓存时长上限，单位秒
+     */
+    @Value("${expand-cache-config.near.max-ttl:60}")
+    private long nearMaxTtl;
+    /**
+     * 缓存 key 长度上限，超过时使用哈希值，0 不限制
+     */
+    @Value("${expand-cache-config.key.max-length:0}")
+    private int keyMaxLength;
+    /**
+     * 同步加载（sync = true）租约时长，需大于加载方法执行时长，单位秒
+     */
+    @Value("${expand-cache-config.lease.ttl:10}")
+    private long leaseTtl;
+    /**
+     * 同步加载未获取租约时最长等待时间，不小于租约时长，单位秒
+     */
+    @Value("${expand-cache-config.lease.wait:10}")
+    private long leaseWait;
 
     /**
      * 自定义 Redis 缓存管理实例
@@ -54,6 +86,7 @@ public class ExpandRedisConfig {
      * @param factory redis 连接工厂
      */
     @Bean(BEAN_REDIS_CACHE_MANAGER)
+    @Primary
     public RedisCacheManager expandRedisCacheManager(RedisConnectionFactory factory) {
         /*
             使用 Jackson 作为值序列化处理器
@@ -83,10 +116,29 @@ public class ExpandRedisConfig {
             // 指定特定缓存空间对应的过期时间
             configMap.put(entry.getKey(), config.entryTtl(Duration.ofSeconds(entry.getValue())));
         }
+        // @ExpandCacheable 配置的缓存时长，读取编译期生成的索引，不存在时由 ExpandCacheExpireConfig 反射处理
+        ExpandCacheExpireConfig.loadIndex().forEach((name, ttl) -> configMap.put(name, config.entryTtl(ttl)));
 
-        RedisCacheWriter redisCacheWriter = RedisCacheWriter.lockingRedisCacheWriter(factory);
+        // 不加锁写入，清空使用 SCAN + UNLINK 分批删除
+        RedisCacheWriter redisCacheWriter = new ExpandRedisCacheWriter(factory, 1000);
         // 使用自定义缓存管理器附带自定义参数随机时间，注意此处为全局设定，5-最小随机秒，30-最大随机秒
-        return new ExpandRedisCacheManager(redisCacheWriter, config, configMap, 5, 30);
+        return new ExpandRedisCacheManager(redisCacheWriter, config, configMap, 5, 30,
+                Duration.ofSeconds(leaseTtl), Duration.ofSeconds(leaseWait));
+    }
+
+    /**
+     * 自定义两级缓存管理实例（Caffeine 本地缓存 + Redis）
+     *  本地缓存返回同一对象实例，需通过 cacheManager 显式指定使用，不作为默认缓存管理器
+     *
+     * @param redisCacheManager 自定义 Redis 缓存管理实例
+     * @param redisTemplate Redis 模板实例，用于发布订阅
+     */
+    @Bean(BEAN_NEAR_CACHE_MANAGER)
+    public ExpandNearCacheManager expandNearCacheManager(
+            @Qualifier(BEAN_REDIS_CACHE_MANAGER) RedisCacheManager redisCacheManager,
+            @Qualifier("redisTemplate") RedisTemplate<String, Object> redisTemplate) {
+        return new ExpandNearCacheManager(redisCacheManager, redisTemplate, nearMaxSize,
+                Duration.ofSeconds(nearMaxTtl));
     }
 
     /**
@@ -97,12 +149,12 @@ public class ExpandRedisConfig {
      */
     @Bean(BEAN_KEY_GENERATOR)
     public ExpandKeyGenerator expandKeyGenerator() {
-        return new ExpandKeyGenerator();
+        return new ExpandKeyGenerator(keyMaxLength);
     }
 
     /**
      * Spring Cache 过期时间配置初始化
-     *  注意：反射执行获取 @Component 注解的 Bean 进行配置缓存时间的修改
+     *  注意：不存在编译期索引时，反射执行获取 @Component 注解的 Bean 进行配置缓存时间的修改
      */
     @Bean("expandCacheExpireConfig")
     public ExpandCacheExpireConfig expandCacheExpireConfig() {
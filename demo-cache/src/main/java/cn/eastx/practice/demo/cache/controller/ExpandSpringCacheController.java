@@ -118,4 +118,20 @@ public class ExpandSpringCacheController {
         return ResponseResult.success("hello:ttl3:" + id);
     }
 
+    /**
+     * 测试两级缓存（Caffeine 本地缓存 + Redis）
+     * key=spring:cache:near::hello-near-1008617
+     *
+     * @param id 传入id
+     * @return 返回结果
+     */
+    @GetMapping("/near")
+    @ExpandCacheable(cacheNames = "near", spelKey = "hello-near-${#id}",
+            cacheManager = ExpandRedisConfig.BEAN_NEAR_CACHE_MANAGER)
+    public ResponseResult<String> near(Long id) {
+        id += RandomUtil.randomLong();
+        log.info("hello:near:{}", id);
+        return ResponseResult.success("hello:near:" + id);
+    }
+
 }
@@ -2,19 +2,29 @@ package cn.eastx.practice.demo.cache.util.mc;
 
 import cn.eastx.practice.common.util.GeneralUtil;
 import cn.eastx.practice.demo.cache.config.MemcacheProperties;
+import com.google.common.collect.Maps;
+import com.spotify.folsom.GetResult;
 import com.spotify.folsom.MemcacheClient;
 import com.spotify.folsom.MemcacheClientBuilder;
 import com.spotify.folsom.MemcacheStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.concurrent.ExecutionException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 /**
  * Folsom Memcached 工具类（推荐使用）
  * 注意：需要引入依赖 com.spotify.folsom
+ * 使用字节数组客户端，字符串以 UTF-8 编码（与 Folsom 字符串客户端一致，flags 为 0），
+ * 异步方法直接返回客户端的 CompletionStage，多节点时 Folsom 使用 ketama 一致性哈希
  *
  * <a href="https://colobu.com/2016/03/17/spymemcached-vs-xmemcached-vs-Folsom/"> memcached 客户端对比 </a>
  * <a href="https://github.com/spotify/folsom"> Folsom（github） </a>
@@ -26,7 +36,7 @@ public class FolsomMemcachedUtil {
 
     private static final Logger logger = LoggerFactory.getLogger(FolsomMemcachedUtil.class);
 
-    private static volatile MemcacheClient<String> memcachedClient;
+    private static volatile MemcacheClient<byte[]> memcachedClient;
 
     static {
         // JVM关闭时的钩子函数
@@ -45,16 +55,22 @@ public class FolsomMemcachedUtil {
     /**
      * 获取 MemcachedClient
      */
-    public static MemcacheClient<String> getMcClient() {
+    public static MemcacheClient<byte[]> getMcClient() {
         if (memcachedClient == null) {
             synchronized (FolsomMemcachedUtil.class) {
                 if (memcachedClient == null) {
                     MemcacheProperties.check();
 
                     try {
-                        memcachedClient = MemcacheClientBuilder.newStringClient()
-                                .withAddress(MemcacheProperties.getHost(), MemcacheProperties.getPort())
-                                .connectBinary();
+                        MemcacheClientBuilder<byte[]> builder = MemcacheClientBuilder.newByteArrayClient()
+                                .withConnections(MemcacheProperties.getConnections())
+                                .withRequestTimeoutMillis(MemcacheProperties.getOpTimeout());
+                        for (String server : MemcacheProperties.getServerList()) {
+                            String[] hostPort = server.split(":");
+                            builder.withAddress(hostPort[0], Integer.parseInt(hostPort[1]));
+                        }
+
+                        memcachedClient = builder.connectBinary();
                         memcachedClient.awaitConnected(10, TimeUnit.SECONDS);
                     } catch (TimeoutException | InterruptedException e) {
                         logger.error("[FolsomMemcachedUtil]memcachedClient初始化异常", e);
@@ -77,11 +93,13 @@ public class FolsomMemcachedUtil {
             return null;
         }
 
-        MemcacheClient<String> client = getMcClient();
+        MemcacheClient<byte[]> client = getMcClient();
 
         try {
-            return client.get(key).toCompletableFuture().get();
-        } catch (InterruptedException | ExecutionException e) {
+            byte[] value = client.get(key).toCompletableFuture()
+                    .get(MemcacheProperties.getOpTimeout(), TimeUnit.MILLISECONDS);
+            return value == null ? null : new String(value, StandardCharsets.UTF_8);
+        } catch (Exception e) {
             logger.error(GeneralUtil.formatMsg(
                     "[FolsomMemcachedUtil]获取值出现异常, key={}", key), e);
         }
@@ -102,10 +120,11 @@ public class FolsomMemcachedUtil {
             return false;
         }
 
-        MemcacheClient<String> client = getMcClient();
+        MemcacheClient<byte[]> client = getMcClient();
 
         try {
-            MemcacheStatus mcState = client.set(key, value, expire).toCompletableFuture().get();
+            MemcacheStatus mcState = client.set(key, value.getBytes(StandardCharsets.UTF_8), expire)
+                    .toCompletableFuture().get(MemcacheProperties.getOpTimeout(), TimeUnit.MILLISECONDS);
             if (MemcacheStatus.OK.equals(mcState)) {
                 return true;
             }
@@ -133,10 +152,11 @@ public class FolsomMemcachedUtil {
             return false;
         }
 
-        MemcacheClient<String> client = getMcClient();
+        MemcacheClient<byte[]> client = getMcClient();
 
         try {
-            MemcacheStatus mcState = client.delete(key).toCompletableFuture().get();
+            MemcacheStatus mcState = client.delete(key).toCompletableFuture()
+                    .get(MemcacheProperties.getOpTimeout(), TimeUnit.MILLISECONDS);
             if (MemcacheStatus.OK.equals(mcState)) {
                 return true;
             }
@@ -152,4 +172,98 @@ public class FolsomMemcachedUtil {
         return false;
     }
 
+    /**
+     * 异步获取原始值（包含 flags、CAS）
+     *
+     * @param key 缓存Key
+     * @return 缓存值，不存在为 null
+     */
+    public static CompletableFuture<McValue> getBytesAsync(String key) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return getMcClient().casGet(key).toCompletableFuture().thenApply(FolsomMemcachedUtil::toMcValue);
+    }
+
+    /**
+     * 异步批量获取原始值（包含 flags、CAS）
+     *
+     * @param keys 缓存Key集合
+     * @return 缓存Key与缓存值对应Map，不包含不存在的Key
+     */
+    public static CompletableFuture<Map<String, McValue>> getBulkAsync(Collection<String> keys) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        List<String> keyList = new ArrayList<>(keys);
+        return getMcClient().casGet(keyList).toCompletableFuture().thenApply(results -> {
+            Map<String, McValue> resultMap = Maps.newHashMapWithExpectedSize(keyList.size());
+            for (int i = 0; i < keyList.size(); i++) {
+                McValue value = toMcValue(results.get(i));
+                if (value != null) {
+                    resultMap.put(keyList.get(i), value);
+                }
+            }
+
+            return resultMap;
+        });
+    }
+
+    /**
+     * 异步设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @return 是否设值成功
+     */
+    public static CompletableFuture<Boolean> setBytesAsync(String key, byte[] value, int flags, int expire) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return getMcClient().set(key, value, expire, flags).toCompletableFuture()
+                .thenApply(MemcacheStatus.OK::equals);
+    }
+
+    /**
+     * 异步 CAS 设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @param cas    获取时的 CAS 值
+     * @return 是否设值成功，CAS 值不一致或Key不存在时为 false
+     */
+    public static CompletableFuture<Boolean> casAsync(String key, byte[] value, int flags, int expire, long cas) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return getMcClient().set(key, value, expire, cas, flags).toCompletableFuture()
+                .thenApply(MemcacheStatus.OK::equals);
+    }
+
+    /**
+     * 异步删除key
+     *
+     * @param key 缓存Key
+     * @return 是否删除成功
+     */
+    public static CompletableFuture<Boolean> deleteAsync(String key) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return getMcClient().delete(key).toCompletableFuture().thenApply(MemcacheStatus.OK::equals);
+    }
+
+    private static McValue toMcValue(GetResult<byte[]> result) {
+        return result == null ? null : new McValue(result.getValue(), result.getFlags(), result.getCas());
+    }
+
 }
@@ -1,15 +1,23 @@
 package cn.eastx.practice.demo.cache.util.mc;
 
 import cn.eastx.practice.common.util.GeneralUtil;
+import cn.eastx.practice.demo.cache.config.MemcacheProperties;
 import cn.hutool.core.util.StrUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 /**
  * 通用 Memcached 工具类
  * 判断依赖使用相应工具类
+ * 原始值（字节数组 + flags）支持批量获取、CAS 及异步操作，同步方法等待异步结果，超时时间为 {@link MemcacheProperties#getOpTimeout()}
+ * 多节点配置见 {@link MemcacheProperties}，各客户端均使用 ketama 一致性哈希
  * <a href="https://colobu.com/2016/03/17/spymemcached-vs-xmemcached-vs-Folsom/"> memcached 客户端对比 </a>
  *
  * @see FolsomMemcachedUtil 推荐
@@ -68,6 +76,134 @@ public class GeneralMcUtil {
         return MC_TYPE.delete(key);
     }
 
+    /**
+     * 获取原始值（包含 flags、CAS）
+     *
+     * @param key 缓存Key
+     * @return 缓存值，不存在为 null
+     */
+    public static McValue getBytes(String key) {
+        return await(getBytesAsync(key), null, "获取原始值", key);
+    }
+
+    /**
+     * 异步获取原始值（包含 flags、CAS）
+     *
+     * @param key 缓存Key
+     * @return 缓存值，不存在为 null
+     */
+    public static CompletableFuture<McValue> getBytesAsync(String key) {
+        return MC_TYPE.getBytesAsync(key);
+    }
+
+    /**
+     * 批量获取原始值
+     *
+     * @param keys 缓存Key集合
+     * @return 缓存Key与缓存值对应Map，不包含不存在的Key
+     */
+    public static Map<String, McValue> getBulk(Collection<String> keys) {
+        return await(getBulkAsync(keys), Collections.emptyMap(), "批量获取原始值", keys);
+    }
+
+    /**
+     * 异步批量获取原始值
+     *  注意：SpyMemcached 不返回 CAS 值
+     *
+     * @param keys 缓存Key集合
+     * @return 缓存Key与缓存值对应Map，不包含不存在的Key
+     */
+    public static CompletableFuture<Map<String, McValue>> getBulkAsync(Collection<String> keys) {
+        return MC_TYPE.getBulkAsync(keys);
+    }
+
+    /**
+     * 设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @return 是否设值成功
+     */
+    public static boolean setBytes(String key, byte[] value, int flags, int expire) {
+        return await(setBytesAsync(key, value, flags, expire), false, "设置原始值", key);
+    }
+
+    /**
+     * 异步设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @return 是否设值成功
+     */
+    public static CompletableFuture<Boolean> setBytesAsync(String key, byte[] value, int flags, int expire) {
+        return MC_TYPE.setBytesAsync(key, value, flags, expire);
+    }
+
+    /**
+     * CAS 设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @param cas    获取时的 CAS 值，{@link McValue#getCas()}
+     * @return 是否设值成功，CAS 值不一致或Key不存在时为 false
+     */
+    public static boolean cas(String key, byte[] value, int flags, int expire, long cas) {
+        return await(casAsync(key, value, flags, expire, cas), false, "CAS设置原始值", key);
+    }
+
+    /**
+     * 异步 CAS 设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @param cas    获取时的 CAS 值，{@link McValue#getCas()}
+     * @return 是否设值成功，CAS 值不一致或Key不存在时为 false
+     */
+    public static CompletableFuture<Boolean> casAsync(String key, byte[] value, int flags, int expire, long cas) {
+        return MC_TYPE.casAsync(key, value, flags, expire, cas);
+    }
+
+    /**
+     * 异步删除key
+     *
+     * @param key 缓存Key
+     * @return 是否删除成功
+     */
+    public static CompletableFuture<Boolean> deleteAsync(String key) {
+        return MC_TYPE.deleteAsync(key);
+    }
+
+    /**
+     * 等待异步结果
+     *
+     * @param future       异步结果
+     * @param defaultValue 异常或超时时的默认值
+     * @param action       操作名称
+     * @param key          缓存Key或Key集合
+     * @return 结果
+     */
+    private static <T> T await(CompletableFuture<T> future, T defaultValue, String action, Object key) {
+        try {
+            return future.get(MemcacheProperties.getOpTimeout(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error(GeneralUtil.formatMsg(
+                    "[GeneralMcUtil]{}出现异常, MC_TYPE={}, key={}", action, MC_TYPE, key), e);
+        }
+
+        future.cancel(false);
+        return defaultValue;
+    }
+
     enum TypeEnum {
         /** 未配置 Memcache 依赖，不支持使用 Memcache */
         NON(null),
@@ -86,6 +222,31 @@ public class GeneralMcUtil {
             public boolean delete(String key) {
                 return FolsomMemcachedUtil.delete(key);
             }
+
+            @Override
+            public CompletableFuture<McValue> getBytesAsync(String key) {
+                return FolsomMemcachedUtil.getBytesAsync(key);
+            }
+
+            @Override
+            public CompletableFuture<Map<String, McValue>> getBulkAsync(Collection<String> keys) {
+                return FolsomMemcachedUtil.getBulkAsync(keys);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> setBytesAsync(String key, byte[] value, int flags, int expire) {
+                return FolsomMemcachedUtil.setBytesAsync(key, value, flags, expire);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> casAsync(String key, byte[] value, int flags, int expire, long cas) {
+                return FolsomMemcachedUtil.casAsync(key, value, flags, expire, cas);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> deleteAsync(String key) {
+                return FolsomMemcachedUtil.deleteAsync(key);
+            }
         },
         XMC ("net.rubyeye.xmemcached.MemcachedClient") {
             @Override
@@ -102,6 +263,31 @@ public class GeneralMcUtil {
             public boolean delete(String key) {
                 return XMemcachedUtil.delete(key);
             }
+
+            @Override
+            public CompletableFuture<McValue> getBytesAsync(String key) {
+                return XMemcachedUtil.getBytesAsync(key);
+            }
+
+            @Override
+            public CompletableFuture<Map<String, McValue>> getBulkAsync(Collection<String> keys) {
+                return XMemcachedUtil.getBulkAsync(keys);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> setBytesAsync(String key, byte[] value, int flags, int expire) {
+                return XMemcachedUtil.setBytesAsync(key, value, flags, expire);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> casAsync(String key, byte[] value, int flags, int expire, long cas) {
+                return XMemcachedUtil.casAsync(key, value, flags, expire, cas);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> deleteAsync(String key) {
+                return XMemcachedUtil.deleteAsync(key);
+            }
         },
         SPY ("net.spy.memcached.MemcachedClient") {
             @Override
@@ -118,6 +304,31 @@ public class GeneralMcUtil {
             public boolean delete(String key) {
                 return SpyMemcachedUtil.delete(key);
             }
+
+            @Override
+            public CompletableFuture<McValue> getBytesAsync(String key) {
+                return SpyMemcachedUtil.getBytesAsync(key);
+            }
+
+            @Override
+            public CompletableFuture<Map<String, McValue>> getBulkAsync(Collection<String> keys) {
+                return SpyMemcachedUtil.getBulkAsync(keys);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> setBytesAsync(String key, byte[] value, int flags, int expire) {
+                return SpyMemcachedUtil.setBytesAsync(key, value, flags, expire);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> casAsync(String key, byte[] value, int flags, int expire, long cas) {
+                return SpyMemcachedUtil.casAsync(key, value, flags, expire, cas);
+            }
+
+            @Override
+            public CompletableFuture<Boolean> deleteAsync(String key) {
+                return SpyMemcachedUtil.deleteAsync(key);
+            }
         },
         ;
 
@@ -180,6 +391,70 @@ public class GeneralMcUtil {
             return false;
         }
 
+        /**
+         * 异步获取原始值（包含 flags、CAS）
+         *
+         * @param key 缓存Key
+         * @return 缓存值，不存在为 null
+         */
+        public CompletableFuture<McValue> getBytesAsync(String key) {
+            logger.error("[GeneralMcUtil]不支持获取原始值, MC_TYPE={}, key={}", this, key);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        /**
+         * 异步批量获取原始值
+         *
+         * @param keys 缓存Key集合
+         * @return 缓存Key与缓存值对应Map，不包含不存在的Key
+         */
+        public CompletableFuture<Map<String, McValue>> getBulkAsync(Collection<String> keys) {
+            logger.error("[GeneralMcUtil]不支持批量获取原始值, MC_TYPE={}, keys={}", this, keys);
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        /**
+         * 异步设置原始值
+         *
+         * @param key    缓存Key
+         * @param value  缓存值
+         * @param flags  标识
+         * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+         * @return 是否设值成功
+         */
+        public CompletableFuture<Boolean> setBytesAsync(String key, byte[] value, int flags, int expire) {
+            logger.error("[GeneralMcUtil]不支持设置原始值, MC_TYPE={}, key={}, flags={}, exp={}",
+                    this, key, flags, expire);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        /**
+         * 异步 CAS 设置原始值
+         *
+         * @param key    缓存Key
+         * @param value  缓存值
+         * @param flags  标识
+         * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+         * @param cas    获取时的 CAS 值
+         * @return 是否设值成功
+         */
+        public CompletableFuture<Boolean> casAsync(String key, byte[] value, int flags, int expire, long cas) {
+            logger.error("[GeneralMcUtil]不支持CAS设置原始值, MC_TYPE={}, key={}, flags={}, exp={}, cas={}",
+                    this, key, flags, expire, cas);
+            return CompletableFuture.completedFuture(false);
+        }
+
+        /**
+         * 异步删除key
+         *
+         * @param key 缓存Key
+         * @return 是否删除成功
+         */
+        public CompletableFuture<Boolean> deleteAsync(String key) {
+            logger.error("[GeneralMcUtil]不支持删除key, MC_TYPE={}, key={}", this, key);
+            return CompletableFuture.completedFuture(false);
+        }
+
         @Override
         public String toString() {
             String str = this.name();
@@ -0,0 +1,62 @@
+package cn.eastx.practice.demo.cache.util.mc;
+
+/**
+ * Memcached 原始缓存值
+ *  字节数组及标识（flags）由调用方编解码，如自定义的缓存值封装格式
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class McValue {
+
+    /**
+     * 缓存值
+     */
+    private final byte[] value;
+    /**
+     * 标识
+     */
+    private final int flags;
+    /**
+     * CAS 值，0 表示未获取（如 SpyMemcached 批量获取）
+     */
+    private final long cas;
+
+    public McValue(byte[] value, int flags) {
+        this(value, flags, 0);
+    }
+
+    public McValue(byte[] value, int flags, long cas) {
+        this.value = value;
+        this.flags = flags;
+        this.cas = cas;
+    }
+
+    /**
+     * 替换 CAS 值
+     *
+     * @param cas CAS 值
+     * @return 新的缓存值
+     */
+    public McValue withCas(long cas) {
+        return new McValue(value, flags, cas);
+    }
+
+    public byte[] getValue() {
+        return value;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public long getCas() {
+        return cas;
+    }
+
+    @Override
+    public String toString() {
+        return "McValue{length=" + (value == null ? 0 : value.length) + ", flags=" + flags + ", cas=" + cas + "}";
+    }
+
+}
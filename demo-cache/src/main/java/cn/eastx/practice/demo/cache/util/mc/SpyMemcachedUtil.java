@@ -4,17 +4,23 @@ import cn.eastx.practice.common.util.GeneralUtil;
 import cn.eastx.practice.demo.cache.config.MemcacheProperties;
 import cn.hutool.core.util.ObjectUtil;
 import net.spy.memcached.*;
+import net.spy.memcached.internal.OperationFuture;
 import net.spy.memcached.transcoders.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 /**
  * SpyMemcached 工具类
  * 注意：需要引入依赖 net.spy.memcached
+ * 异步方法通过 Future 监听器转换为 CompletableFuture，每个节点只有一个连接，批量获取不返回 CAS 值
  *
  * <a href="https://colobu.com/2016/03/17/spymemcached-vs-xmemcached-vs-Folsom/"> memcached 客户端对比 </a>
  *
@@ -26,6 +32,10 @@ public class SpyMemcachedUtil {
     private static final Logger logger = LoggerFactory.getLogger(SpyMemcachedUtil.class);
 
     private static volatile MemcachedClient memcachedClient;
+    /**
+     * 原始值转码器
+     */
+    private static final Transcoder<McValue> MC_VALUE_TRANSCODER = new McValueTranscoder();
 
     static {
         // JVM关闭时的钩子函数
@@ -55,7 +65,7 @@ public class SpyMemcachedUtil {
                                 // 以毫秒为单位设置默认的操作超时时间
                                 .setProtocol(ConnectionFactoryBuilder.Protocol.BINARY)
                                 // 以毫秒为单位设置默认的操作超时时间
-                                .setOpTimeout(3000)
+                                .setOpTimeout(MemcacheProperties.getOpTimeout())
                                 // 设置最大超时异常阈值
                                 .setTimeoutExceptionThreshold(5998)
                                 // 设置哈希算法
@@ -67,8 +77,7 @@ public class SpyMemcachedUtil {
                                 // 不使用Nagle算法
                                 .setUseNagleAlgorithm(false)
                                 .build();
-                        String mcServer = MemcacheProperties.getHost()
-                                + ":" + MemcacheProperties.getPort();
+                        String mcServer = MemcacheProperties.getServerStr();
                         memcachedClient = new MemcachedClient(connectionFactory, AddrUtil.getAddresses(mcServer));
                     } catch (IOException e) {
                         logger.error("[SpyMemcachedUtil]memcachedClient初始化异常", e);
@@ -161,6 +170,127 @@ public class SpyMemcachedUtil {
         return false;
     }
 
+    /**
+     * 异步获取原始值（包含 flags、CAS）
+     *
+     * @param key 缓存Key
+     * @return 缓存值，不存在为 null
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<McValue> getBytesAsync(String key) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        CompletableFuture<McValue> future = new CompletableFuture<>();
+        getMcClient().asyncGets(key, MC_VALUE_TRANSCODER).addListener(f -> {
+            try {
+                CASValue<McValue> casValue = (CASValue<McValue>) f.get();
+                future.complete(casValue == null ? null : casValue.getValue().withCas(casValue.getCas()));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * 异步批量获取原始值（包含 flags，不包含 CAS）
+     *
+     * @param keys 缓存Key集合
+     * @return 缓存Key与缓存值对应Map，不包含不存在的Key
+     */
+    @SuppressWarnings("unchecked")
+    public static CompletableFuture<Map<String, McValue>> getBulkAsync(Collection<String> keys) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        CompletableFuture<Map<String, McValue>> future = new CompletableFuture<>();
+        getMcClient().asyncGetBulk(keys, MC_VALUE_TRANSCODER).addListener(f -> {
+            try {
+                future.complete((Map<String, McValue>) f.get());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * 异步设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @return 是否设值成功
+     */
+    public static CompletableFuture<Boolean> setBytesAsync(String key, byte[] value, int flags, int expire) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return toCompletableFuture(getMcClient().set(key, expire, new McValue(value, flags), MC_VALUE_TRANSCODER),
+                Boolean.TRUE);
+    }
+
+    /**
+     * 异步 CAS 设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @param cas    获取时的 CAS 值
+     * @return 是否设值成功，CAS 值不一致或Key不存在时为 false
+     */
+    public static CompletableFuture<Boolean> casAsync(String key, byte[] value, int flags, int expire, long cas) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return toCompletableFuture(
+                getMcClient().asyncCAS(key, cas, expire, new McValue(value, flags), MC_VALUE_TRANSCODER),
+                CASResponse.OK);
+    }
+
+    /**
+     * 异步删除key
+     *
+     * @param key 缓存Key
+     * @return 是否删除成功
+     */
+    public static CompletableFuture<Boolean> deleteAsync(String key) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return toCompletableFuture(getMcClient().delete(key), Boolean.TRUE);
+    }
+
+    /**
+     * 操作结果转换为 CompletableFuture
+     *
+     * @param operationFuture 操作结果
+     * @param success 成功时的结果值
+     * @return 是否成功
+     */
+    private static <T> CompletableFuture<Boolean> toCompletableFuture(OperationFuture<T> operationFuture, T success) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        operationFuture.addListener(f -> {
+            try {
+                future.complete(success.equals(f.get()));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
     private static boolean getBooleanValue(Future<Boolean> f) {
         try {
             Boolean bool = f.get(5, TimeUnit.SECONDS);
@@ -171,6 +301,33 @@ public class SpyMemcachedUtil {
         }
     }
 
+    /**
+     * 原始值转码器，字节数组及 flags 原样读写
+     */
+    private static class McValueTranscoder implements Transcoder<McValue> {
+
+        @Override
+        public boolean asyncDecode(CachedData data) {
+            return false;
+        }
+
+        @Override
+        public CachedData encode(McValue value) {
+            return new CachedData(value.getFlags(), value.getValue(), getMaxSize());
+        }
+
+        @Override
+        public McValue decode(CachedData data) {
+            return new McValue(data.getData(), data.getFlags());
+        }
+
+        @Override
+        public int getMaxSize() {
+            return CachedData.MAX_SIZE;
+        }
+
+    }
+
     /**
      * 转码器枚举
      */
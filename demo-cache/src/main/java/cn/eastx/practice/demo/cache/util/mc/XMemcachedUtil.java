@@ -3,6 +3,9 @@ package cn.eastx.practice.demo.cache.util.mc;
 import cn.eastx.practice.common.util.GeneralUtil;
 import cn.eastx.practice.demo.cache.config.MemcacheProperties;
 import cn.hutool.core.util.ObjectUtil;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.rubyeye.xmemcached.GetsResponse;
 import net.rubyeye.xmemcached.MemcachedClient;
 import net.rubyeye.xmemcached.MemcachedClientBuilder;
 import net.rubyeye.xmemcached.XMemcachedClientBuilder;
@@ -14,10 +17,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * XMemcached 工具类
  * 注意：需要引入依赖 com.googlecode.xmemcached.xmemcached
+ * XMemcached 只提供同步接口，异步方法在独立线程池中执行同步调用
  *
  * <a href="https://colobu.com/2016/03/17/spymemcached-vs-xmemcached-vs-Folsom/"> memcached 客户端对比 </a>
  * <a href="https://github.com/killme2008/xmemcached/wiki/Xmemcached-%E4%B8%AD%E6%96%87%E7%94%A8%E6%88%B7%E6%8C%87%E5%8D%97"> XMemcached 用户指南 </a>
@@ -30,6 +41,16 @@ public class XMemcachedUtil {
     private static final Logger logger = LoggerFactory.getLogger(XMemcachedUtil.class);
 
     private static volatile MemcachedClient memcachedClient;
+    /**
+     * 原始值转码器
+     */
+    private static final Transcoder<McValue> MC_VALUE_TRANSCODER = new McValueTranscoder();
+    /**
+     * 异步执行线程池
+     */
+    private static final ExecutorService ASYNC_EXECUTOR = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors() * 2,
+            new ThreadFactoryBuilder().setNameFormat("xmemcached-async-%d").setDaemon(true).build());
 
     static {
         // JVM关闭时的钩子函数
@@ -55,8 +76,7 @@ public class XMemcachedUtil {
                     MemcacheProperties.check();
 
                     try {
-                        String mcServer = MemcacheProperties.getHost()
-                                + ":" + MemcacheProperties.getPort();
+                        String mcServer = MemcacheProperties.getServerStr();
                         MemcachedClientBuilder builder = new XMemcachedClientBuilder(AddrUtil.getAddresses(mcServer));
                         /*
                          * 下面这样是配置主从
@@ -66,8 +86,8 @@ public class XMemcachedUtil {
                          * 注意：使用主从配置的前提是builder.setFailureMode(true)
                          */
                         // MemcachedClientBuilder builder = new XMemcachedClientBuilder(AddrUtil.getAddressMap("127.0.0.1:11211,127.0.0.1:11212"));
-                        // 这个默认也是1
-                        // builder.setConnectionPoolSize(1);
+                        // 每个节点的连接数，默认1
+                        builder.setConnectionPoolSize(MemcacheProperties.getConnections());
                         // 使用一致性hash算法
                         builder.setSessionLocator(new KetamaMemcachedSessionLocator(true));
                         // 命令工厂
@@ -75,7 +95,7 @@ public class XMemcachedUtil {
                         // 设置failure模式
                         // builder.setFailureMode(true);
                         // 操作超时时间，默认5s
-                        builder.setOpTimeout(3000);
+                        builder.setOpTimeout(MemcacheProperties.getOpTimeout());
                         memcachedClient = builder.build();
                     } catch (IOException e) {
                         logger.error("[XMemcachedUtil]memcachedClient初始化异常", e);
@@ -166,6 +186,162 @@ public class XMemcachedUtil {
         return false;
     }
 
+    /**
+     * 异步获取原始值（包含 flags、CAS）
+     *
+     * @param key 缓存Key
+     * @return 缓存值，不存在为 null
+     */
+    public static CompletableFuture<McValue> getBytesAsync(String key) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return supplyAsync(() -> {
+            GetsResponse<McValue> response = getMcClient().gets(key, MC_VALUE_TRANSCODER);
+            return response == null ? null : response.getValue().withCas(response.getCas());
+        });
+    }
+
+    /**
+     * 异步批量获取原始值（包含 flags、CAS）
+     *
+     * @param keys 缓存Key集合
+     * @return 缓存Key与缓存值对应Map，不包含不存在的Key
+     */
+    public static CompletableFuture<Map<String, McValue>> getBulkAsync(Collection<String> keys) {
+        if (GeneralUtil.isEmpty(keys)) {
+            return CompletableFuture.completedFuture(Collections.emptyMap());
+        }
+
+        return supplyAsync(() -> {
+            Map<String, GetsResponse<McValue>> responseMap = getMcClient().gets(keys, MC_VALUE_TRANSCODER);
+            if (responseMap == null) {
+                return Collections.<String, McValue>emptyMap();
+            }
+
+            Map<String, McValue> resultMap = Maps.newHashMapWithExpectedSize(responseMap.size());
+            responseMap.forEach((key, response) ->
+                    resultMap.put(key, response.getValue().withCas(response.getCas())));
+            return resultMap;
+        });
+    }
+
+    /**
+     * 异步设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @return 是否设值成功
+     */
+    public static CompletableFuture<Boolean> setBytesAsync(String key, byte[] value, int flags, int expire) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return supplyAsync(() -> getMcClient().set(key, expire, new McValue(value, flags), MC_VALUE_TRANSCODER));
+    }
+
+    /**
+     * 异步 CAS 设置原始值
+     *
+     * @param key    缓存Key
+     * @param value  缓存值
+     * @param flags  标识
+     * @param expire 过期时间，单位秒，不超过30天（60*60*24*30），超过将被认为是unix时间值
+     * @param cas    获取时的 CAS 值
+     * @return 是否设值成功，CAS 值不一致或Key不存在时为 false
+     */
+    public static CompletableFuture<Boolean> casAsync(String key, byte[] value, int flags, int expire, long cas) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return supplyAsync(() ->
+                getMcClient().cas(key, expire, new McValue(value, flags), MC_VALUE_TRANSCODER, cas));
+    }
+
+    /**
+     * 异步删除key
+     *
+     * @param key 缓存Key
+     * @return 是否删除成功
+     */
+    public static CompletableFuture<Boolean> deleteAsync(String key) {
+        if (GeneralUtil.isEmpty(key)) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return supplyAsync(() -> getMcClient().delete(key));
+    }
+
+    private static <T> CompletableFuture<T> supplyAsync(McCallable<T> callable) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return callable.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, ASYNC_EXECUTOR);
+    }
+
+    /**
+     * 抛出 XMemcached 受检异常的调用
+     */
+    @FunctionalInterface
+    private interface McCallable<T> {
+        T call() throws Exception;
+    }
+
+    /**
+     * 原始值转码器，字节数组及 flags 原样读写
+     */
+    private static class McValueTranscoder implements Transcoder<McValue> {
+
+        @Override
+        public CachedData encode(McValue value) {
+            return new CachedData(value.getFlags(), value.getValue());
+        }
+
+        @Override
+        public McValue decode(CachedData data) {
+            return new McValue(data.getData(), data.getFlag(), data.getCas());
+        }
+
+        @Override
+        public void setPrimitiveAsString(boolean primitiveAsString) {
+            // 不转换
+        }
+
+        @Override
+        public void setPackZeros(boolean packZeros) {
+            // 不转换
+        }
+
+        @Override
+        public void setCompressionThreshold(int to) {
+            // 不压缩
+        }
+
+        @Override
+        public boolean isPrimitiveAsString() {
+            return false;
+        }
+
+        @Override
+        public boolean isPackZeros() {
+            return false;
+        }
+
+        @Override
+        public void setCompressionMode(CompressionMode compressMode) {
+            // 不压缩
+        }
+
+    }
+
     /**
      * 转码器枚举
      */
@@ -0,0 +1,25 @@
+package cn.eastx.practice.demo.cache.config.spring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 自定义缓存注解索引 测试类
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class ExpandCacheIndexTest {
+
+    @Test
+    public void test_load_index() {
+        Map<String, Duration> ttlMap = ExpandCacheExpireConfig.loadIndex();
+        // ExpandSpringCacheController 中 @ExpandCacheable 配置的缓存空间
+        Assert.isTrue(Duration.ofSeconds(100).equals(ttlMap.get("prefix")), "索引缓存时长不一致");
+        Assert.isTrue(Duration.ofMinutes(5).equals(ttlMap.get("prefix#5m")), "转义的缓存空间名称读取失败");
+    }
+
+}
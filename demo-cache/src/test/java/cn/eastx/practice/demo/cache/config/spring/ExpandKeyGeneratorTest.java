@@ -0,0 +1,126 @@
+package cn.eastx.practice.demo.cache.config.spring;
+
+import cn.hutool.json.JSONUtil;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.Hashing;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.Assert;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+
+/**
+ * 自定义 key 生成器 测试类
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class ExpandKeyGeneratorTest {
+
+    @Test
+    public void test_format_params() {
+        Object[][] paramsList = {
+                {},
+                {null},
+                {1, 2L, (short) 3, (byte) 4, true},
+                {"plain", "a b", "x:y-z_1"},
+                {"quote\"", "back\\slash", "sl/ash", "<tag>", "中文", "tab\t", "~"},
+                {new int[]{1, 2}, new long[]{3L}, new short[]{}, new boolean[]{true, false}},
+                {new Object[]{1, null, "a"}, new String[]{"b", null}},
+                {new Object[]{new Object[]{1, 2}, new int[]{3}}},
+                {1.5, 2.0F, 'c'},
+                {Arrays.asList(1, "a"), Collections.singleton("s")},
+                {ImmutableMap.of("k", 1), new Bean("name", 1)},
+                {null, 1, null, "a", null},
+        };
+
+        for (Object[] params : paramsList) {
+            String expected = JSONUtil.toJsonStr(params).replace("\"", "");
+            String actual = ExpandKeyGenerator.formatParams(params);
+            Assert.isTrue(Objects.equals(expected, actual),
+                    "参数格式化与 JSON 转换不一致: expected=" + expected + ", actual=" + actual);
+        }
+    }
+
+    @Test
+    public void test_generate_default() {
+        ExpandKeyGenerator generator = new ExpandKeyGenerator();
+        Object key = generator.generate(this, method("plain"), 10086L, "a");
+        Assert.isTrue(Objects.equals("KeyTarget#plain([10086,a])", key), "默认 key 不一致: " + key);
+    }
+
+    @Test
+    public void test_generate_spel() {
+        ExpandKeyGenerator generator = new ExpandKeyGenerator();
+        Method method = method("spel");
+        // 多次执行（SpEL 达到编译阈值后编译执行）结果一致
+        for (int i = 0; i < 200; i++) {
+            Object key = generator.generate(this, method, (long) i, "b");
+            Assert.isTrue(Objects.equals("hello-" + i + "-b", key), "SpEL key 不一致: " + key);
+        }
+    }
+
+    @Test
+    public void test_generate_hash() {
+        ExpandKeyGenerator generator = new ExpandKeyGenerator(32);
+        Object shortKey = generator.generate(this, method("plain"), 1L, "a");
+        Assert.isTrue(Objects.equals("KeyTarget#plain([1,a])", shortKey), "未超过上限的 key 不应哈希: " + shortKey);
+
+        char[] chars = new char[64];
+        Arrays.fill(chars, 'x');
+        String longParam = new String(chars);
+        Object longKey = generator.generate(this, method("plain"), 1L, longParam);
+        String expected = "KeyTarget#plain#" + Hashing.murmur3_128()
+                .hashString("KeyTarget#plain([1," + longParam + "])", StandardCharsets.UTF_8);
+        Assert.isTrue(Objects.equals(expected, longKey), "超过上限的 key 哈希不一致: " + longKey);
+
+        // SpEL key 超过上限同样哈希
+        Object spelKey = generator.generate(this, method("spel"), 1L, longParam);
+        Assert.isTrue(spelKey.toString().startsWith("KeyTarget#spel#")
+                && spelKey.toString().length() < 64, "超过上限的 SpEL key 未哈希: " + spelKey);
+    }
+
+    private static Method method(String name) {
+        return ReflectionUtils.findMethod(KeyTarget.class, name, Long.class, String.class);
+    }
+
+    /**
+     * 生成 key 的目标方法
+     */
+    static class KeyTarget {
+        public String plain(Long id, String name) {
+            return name + id;
+        }
+
+        @ExpandCacheable(cacheNames = "test", spelKey = "hello-${#id}-${#name}")
+        public String spel(Long id, String name) {
+            return name + id;
+        }
+    }
+
+    /**
+     * 参数对象
+     */
+    public static class Bean {
+        private final String name;
+        private final int age;
+
+        Bean(String name, int age) {
+            this.name = name;
+            this.age = age;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getAge() {
+            return age;
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package cn.eastx.practice.demo.cache.config.spring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+/**
+ * 自定义两级缓存处理器 测试类
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class ExpandNearCacheTest {
+
+    private static final String CACHE_KEY = "spring:cache:near::hello";
+
+    private ExpandRedisCache target;
+    private ExpandNearCache nearCache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        target = Mockito.mock(ExpandRedisCache.class);
+        Mockito.when(target.getName()).thenReturn("near");
+        Mockito.when(target.getCacheKey("hello")).thenReturn(CACHE_KEY);
+        Mockito.when(target.getCacheConfiguration()).thenReturn(RedisCacheConfiguration.defaultCacheConfig());
+        ExpandNearCacheManager manager = new ExpandNearCacheManager(Mockito.mock(RedisCacheManager.class),
+                Mockito.mock(RedisTemplate.class), 100, Duration.ofSeconds(60));
+        nearCache = new ExpandNearCache(target, manager, 100, Duration.ofSeconds(60));
+    }
+
+    @Test
+    public void test_local_hit() {
+        Mockito.when(target.get("hello")).thenReturn(new SimpleValueWrapper("v1"));
+        Assert.isTrue(Objects.equals("v1", nearCache.get("hello", String.class)), "读取 Redis 失败");
+
+        // 本地缓存命中，不再读取 Redis
+        Mockito.when(target.get("hello")).thenReturn(new SimpleValueWrapper("v2"));
+        Assert.isTrue(Objects.equals("v1", nearCache.get("hello", String.class)), "本地缓存未命中");
+        Mockito.verify(target, Mockito.times(1)).get("hello");
+
+        // 收到失效通知后重新读取 Redis
+        nearCache.evictLocal(CACHE_KEY);
+        Assert.isTrue(Objects.equals("v2", nearCache.get("hello", String.class)), "本地缓存未清除");
+    }
+
+    @Test
+    public void test_evict_during_read() {
+        // 读取 Redis 返回旧值后、写入本地缓存前收到失效通知
+        Mockito.when(target.get("hello")).thenAnswer(invocation -> {
+            nearCache.evictLocal(CACHE_KEY);
+            return new SimpleValueWrapper("old");
+        });
+        Assert.isTrue(Objects.equals("old", nearCache.get("hello", String.class)), "读取 Redis 失败");
+
+        // 旧值未写入本地缓存，再次读取 Redis
+        Mockito.doReturn(new SimpleValueWrapper("new")).when(target).get("hello");
+        Assert.isTrue(Objects.equals("new", nearCache.get("hello", String.class)), "失效通知丢失，写入了旧值");
+    }
+
+    @Test
+    public void test_clear_during_load() {
+        Mockito.when(target.get(Mockito.eq("hello"), Mockito.<Callable<String>>any())).thenAnswer(invocation -> {
+            nearCache.evictLocal(null);
+            return "old";
+        });
+        Assert.isTrue(Objects.equals("old", nearCache.get("hello", () -> "old")), "加载失败");
+
+        Mockito.when(target.get("hello")).thenReturn(new SimpleValueWrapper("new"));
+        Assert.isTrue(Objects.equals("new", nearCache.get("hello", String.class)), "清空通知丢失，写入了旧值");
+    }
+
+}
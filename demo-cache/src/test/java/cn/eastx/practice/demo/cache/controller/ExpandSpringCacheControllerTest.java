@@ -1,6 +1,7 @@
 package cn.eastx.practice.demo.cache.controller;
 
 import cn.eastx.practice.common.response.ResponseEnum;
+import cn.eastx.practice.demo.cache.config.spring.ExpandNearCacheManager;
 import cn.eastx.practice.demo.cache.util.LocalCacheUtil;
 import cn.eastx.practice.demo.cache.util.RedisUtil;
 import cn.hutool.json.JSONUtil;
@@ -34,6 +35,8 @@ public class ExpandSpringCacheControllerTest {
 
     @Resource
     private ExpandSpringCacheController expandCacheController;
+    @Resource
+    private ExpandNearCacheManager expandNearCacheManager;
 
     private MockMvc mockMvc;
 
@@ -52,6 +55,22 @@ public class ExpandSpringCacheControllerTest {
         check("spring:cache:world::ExpandSpringCacheController#ttl([1008614])", "/cache/spring/ttl", "1008614");
         check("spring:cache:yml-ttl::ExpandSpringCacheController#ttl2([1008615])", "/cache/spring/ttl2", "1008615");
         check("spring:cache:hello::ExpandSpringCacheController#ttl3([1008616])", "/cache/spring/ttl3", "1008616");
+
+        check("spring:cache:near::hello-near-1008617", "/cache/spring/near", "1008617");
+    }
+
+    @Test
+    public void test_near_cache_evict() throws Exception {
+        String cacheKey = "spring:cache:near::hello-near-1008618";
+        String res1 = check(cacheKey, "/cache/spring/near", "1008618");
+
+        // 仅删除 Redis 时本地缓存仍然命中
+        RedisUtil.defTemplate().delete(cacheKey);
+        Assert.isTrue(Objects.equals(res1, request("/cache/spring/near", "1008618")), "本地缓存未命中");
+
+        // 清除本地缓存后重新执行方法
+        expandNearCacheManager.evictLocal(cacheKey);
+        Assert.isTrue(!Objects.equals(res1, request("/cache/spring/near", "1008618")), "本地缓存未清除");
     }
 
     /**
@@ -60,12 +79,14 @@ public class ExpandSpringCacheControllerTest {
      * @param cacheKey 缓存key
      * @param urlTemplate 请求路由
      * @param param 参数值
+     * @return 请求返回结果
      * @throws Exception 模拟请求可能抛出异常
      */
-    private void check(String cacheKey, String urlTemplate, String param) throws Exception {
+    private String check(String cacheKey, String urlTemplate, String param) throws Exception {
         // 清除缓存
         RedisUtil.defTemplate().delete(cacheKey);
         LocalCacheUtil.delete(cacheKey);
+        expandNearCacheManager.evictLocal(cacheKey);
 
         // 模拟请求
         RequestBuilder request = MockMvcRequestBuilders.get(urlTemplate)
@@ -92,6 +113,23 @@ public class ExpandSpringCacheControllerTest {
 
         String redisCacheData = JSONUtil.toJsonStr(RedisUtil.opsValue().get(cacheKey));
         log.info("redisCacheData={}", redisCacheData);
+        return res1;
+    }
+
+    /**
+     * 模拟请求
+     *
+     * @param urlTemplate 请求路由
+     * @param param 参数值
+     * @return 请求返回结果
+     * @throws Exception 模拟请求可能抛出异常
+     */
+    private String request(String urlTemplate, String param) throws Exception {
+        RequestBuilder request = MockMvcRequestBuilders.get(urlTemplate)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .accept(MediaType.APPLICATION_JSON)
+                .param("id", param);
+        return mockMvc.perform(request).andReturn().getResponse().getContentAsString();
     }
 
 }
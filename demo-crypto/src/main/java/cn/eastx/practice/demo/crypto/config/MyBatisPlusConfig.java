@@ -3,6 +3,7 @@ package cn.eastx.practice.demo.crypto.config;
 import cn.eastx.practice.demo.crypto.config.mp.CommonFieldHandler;
 import cn.eastx.practice.demo.crypto.config.mp.CryptoCondInterceptor;
 import cn.eastx.practice.demo.crypto.config.mp.DefaultStringTypeHandler;
+import cn.eastx.practice.demo.crypto.config.mp.MybatisCacheInterceptor;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,6 +34,14 @@ public class MyBatisPlusConfig {
         return new CryptoCondInterceptor();
     }
 
+    /**
+     * MyBatis 二级缓存表级失效拦截器
+     */
+    @Bean
+    public MybatisCacheInterceptor mybatisCacheInterceptor() {
+        return new MybatisCacheInterceptor();
+    }
+
     /**
      * 自定义默认字符串类型处理器
      */
@@ -0,0 +1,143 @@
+package cn.eastx.practice.demo.crypto.config.mp;
+
+import cn.eastx.practice.middleware.cache.L2CacheUtil;
+import com.google.common.hash.Hashing;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.Cache;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.TreeSet;
+
+/**
+ * MyBatis 二级缓存（两级缓存：本地缓存 + Redis）
+ *  缓存 Key 由 Mapper 命名空间版本号、查询涉及的各表版本号及原缓存 Key 组成并哈希，长度固定
+ *  失效：
+ *  1. 表：写操作提交后递增涉及表的版本号，所有读取过该表的查询（包括其它 Mapper）失效
+ *  2. 命名空间：MyBatis 清除命名空间缓存时递增命名空间版本号
+ *  版本号变更通过发布订阅通知各节点，旧版本缓存不再被访问，等待自然过期
+ *
+ * 使用：Mapper XML 中配置 <cache type="cn.eastx.practice.demo.crypto.config.mp.L2MybatisCache"/>，
+ *  可通过 <property name="ttl" value="600"/> 设置缓存时长，需同时注册 {@link MybatisCacheInterceptor}
+ * 注意：缓存的是解密后的查询结果
+ *
+ * @see MybatisCacheInterceptor 查询表名解析及写操作失效
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+@Slf4j
+public class L2MybatisCache implements Cache {
+
+    /** 缓存 key 前缀 */
+    private static final String KEY_PREFIX = "mybatis:cache:";
+    /** 表版本号命名空间前缀 */
+    private static final String TABLE_NAMESPACE_PREFIX = "mybatis:table:";
+    /** Mapper 命名空间版本号命名空间前缀 */
+    private static final String MAPPER_NAMESPACE_PREFIX = "mybatis:ns:";
+
+    /**
+     * Mapper 命名空间
+     */
+    private final String id;
+    /**
+     * 缓存时长，单位秒
+     */
+    private long ttl = 600L;
+    /**
+     * 两级缓存配置，默认使用本地缓存、开启对象压缩（每次读取反序列化，避免共享可变结果）
+     */
+    private final L2CacheUtil.Config config = L2CacheUtil.Config.builder().build();
+
+    public L2MybatisCache(String id) {
+        this.id = id;
+    }
+
+    /**
+     * 设置缓存时长，MyBatis 根据 <property name="ttl"> 调用
+     *
+     * @param ttl 缓存时长，单位秒
+     */
+    public void setTtl(long ttl) {
+        this.ttl = ttl;
+    }
+
+    /**
+     * 表数据变更，使读取过这些表的查询缓存失效
+     *
+     * @param tableNames 表名集合
+     */
+    public static void evictTables(Collection<String> tableNames) {
+        for (String tableName : tableNames) {
+            L2CacheUtil.invalidateNamespace(TABLE_NAMESPACE_PREFIX + tableName);
+        }
+
+        log.debug("[L2MybatisCache]表缓存失效, tableNames={}", tableNames);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void putObject(Object key, Object value) {
+        String cacheKey = toCacheKey(key);
+        if (cacheKey != null) {
+            L2CacheUtil.set(cacheKey, value, ttl, config);
+        }
+    }
+
+    @Override
+    public Object getObject(Object key) {
+        String cacheKey = toCacheKey(key);
+        return cacheKey == null ? null : L2CacheUtil.get(cacheKey, config);
+    }
+
+    @Override
+    public Object removeObject(Object key) {
+        String cacheKey = toCacheKey(key);
+        if (cacheKey != null) {
+            L2CacheUtil.delete(cacheKey);
+        }
+
+        return null;
+    }
+
+    @Override
+    public void clear() {
+        L2CacheUtil.invalidateNamespace(MAPPER_NAMESPACE_PREFIX + id);
+    }
+
+    /**
+     * 缓存数量无法统计
+     */
+    @Override
+    public int getSize() {
+        return 0;
+    }
+
+    /**
+     * 转换为缓存 key
+     *  未解析出表名的查询无法按表失效，不缓存
+     *
+     * @param key MyBatis 缓存 Key
+     * @return 缓存 key，不缓存时返回 null
+     */
+    private String toCacheKey(Object key) {
+        if (!(key instanceof TableCacheKey) || ((TableCacheKey) key).getTableNames().isEmpty()) {
+            return null;
+        }
+
+        StringBuilder sb = new StringBuilder(id).append(':')
+                .append(L2CacheUtil.getNamespaceGen(MAPPER_NAMESPACE_PREFIX + id));
+        for (String tableName : new TreeSet<>(((TableCacheKey) key).getTableNames())) {
+            sb.append(':').append(tableName).append('=')
+                    .append(L2CacheUtil.getNamespaceGen(TABLE_NAMESPACE_PREFIX + tableName));
+        }
+
+        sb.append(':').append(key);
+        return KEY_PREFIX + Hashing.murmur3_128().hashString(sb, StandardCharsets.UTF_8);
+    }
+
+}
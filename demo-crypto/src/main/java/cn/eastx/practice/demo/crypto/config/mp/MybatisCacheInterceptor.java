@@ -0,0 +1,157 @@
+package cn.eastx.practice.demo.crypto.config.mp;
+
+import cn.eastx.practice.demo.crypto.util.SqlUtil;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MyBatis 二级缓存表级失效拦截器
+ *  查询：解析 SQL 涉及的表名，缓存 Key 替换为携带表名的 {@link TableCacheKey}
+ *  写入：记录 INSERT/UPDATE/DELETE 涉及的表名，提交后使这些表的查询缓存失效，回滚时丢弃
+ *  Spring 事务中 MyBatis 在数据库提交前提交，数据库提交后再失效一次，避免期间读取的旧数据被缓存
+ *
+ * @see L2MybatisCache MyBatis 二级缓存
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+@Slf4j
+@Intercepts(value = {
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class,
+                        BoundSql.class}),
+        @Signature(type = Executor.class, method = "update", args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "commit", args = {boolean.class}),
+        @Signature(type = Executor.class, method = "rollback", args = {boolean.class}),
+        @Signature(type = Executor.class, method = "close", args = {boolean.class})})
+public class MybatisCacheInterceptor implements Interceptor {
+
+    /** SQL 与 表名集合 对应缓存，避免重复解析 */
+    private final Cache<String, Set<String>> tableNameCache = CacheBuilder.newBuilder().maximumSize(1000).build();
+    /** 各执行器（会话）未提交的写操作涉及的表名 */
+    private final Map<Executor, Set<String>> pendingTableNames = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Executor executor = (Executor) invocation.getTarget();
+        switch (invocation.getMethod().getName()) {
+            case "query":
+                return query(invocation, executor);
+            case "update":
+                return update(invocation, executor);
+            case "commit":
+                Object result = invocation.proceed();
+                commit(executor);
+                return result;
+            default:
+                // 回滚、关闭会话时未提交的写操作不生效
+                pendingTableNames.remove(executor);
+                return invocation.proceed();
+        }
+    }
+
+    /**
+     * 查询：缓存 Key 替换为携带表名的缓存 Key
+     */
+    private Object query(Invocation invocation, Executor executor) throws Throwable {
+        Object[] args = invocation.getArgs();
+        MappedStatement ms = (MappedStatement) args[0];
+        if (ms.getCache() == null || !ms.isUseCache() || ms.getSqlCommandType() != SqlCommandType.SELECT
+                || args[3] != null) {
+            return invocation.proceed();
+        }
+
+        BoundSql boundSql = args.length == 6 ? (BoundSql) args[5] : ms.getBoundSql(args[1]);
+        Set<String> tableNames = listTableName(boundSql.getSql());
+        if (tableNames.isEmpty()) {
+            return invocation.proceed();
+        }
+
+        if (args.length == 6) {
+            if (!(args[4] instanceof TableCacheKey)) {
+                args[4] = new TableCacheKey((CacheKey) args[4], tableNames);
+            }
+
+            return invocation.proceed();
+        }
+
+        RowBounds rowBounds = (RowBounds) args[2];
+        CacheKey cacheKey = executor.createCacheKey(ms, args[1], rowBounds, boundSql);
+        return executor.query(ms, args[1], rowBounds, null, new TableCacheKey(cacheKey, tableNames), boundSql);
+    }
+
+    /**
+     * 写入：记录涉及的表名
+     */
+    private Object update(Invocation invocation, Executor executor) throws Throwable {
+        MappedStatement ms = (MappedStatement) invocation.getArgs()[0];
+        Set<String> tableNames = listTableName(ms.getBoundSql(invocation.getArgs()[1]).getSql());
+        if (!tableNames.isEmpty()) {
+            pendingTableNames.computeIfAbsent(executor, k -> ConcurrentHashMap.newKeySet()).addAll(tableNames);
+        }
+
+        return invocation.proceed();
+    }
+
+    /**
+     * 提交：使写操作涉及的表缓存失效
+     */
+    private void commit(Executor executor) {
+        Set<String> tableNames = pendingTableNames.remove(executor);
+        if (tableNames == null || tableNames.isEmpty()) {
+            return;
+        }
+
+        L2MybatisCache.evictTables(tableNames);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    L2MybatisCache.evictTables(tableNames);
+                }
+            });
+        }
+    }
+
+    /**
+     * 获取 SQL 涉及的表名（小写，去除引用符）
+     *
+     * @param sql SQL 语句
+     * @return 表名集合，解析失败返回空集合
+     */
+    private Set<String> listTableName(String sql) {
+        try {
+            return tableNameCache.get(sql, () -> {
+                Set<String> tableNames = new HashSet<>();
+                for (String tableName : SqlUtil.listSqlTableName(sql)) {
+                    tableNames.add(tableName.replace("`", "").toLowerCase(Locale.ROOT));
+                }
+
+                return tableNames;
+            });
+        } catch (Exception e) {
+            log.warn("[MybatisCacheInterceptor]解析表名失败, sql={}, e={}", sql, e.toString());
+            return Collections.emptySet();
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package cn.eastx.practice.demo.crypto.config.mp;
+
+import org.apache.ibatis.cache.CacheKey;
+
+import java.util.Set;
+
+/**
+ * 携带查询表名的 MyBatis 缓存 Key
+ *  以原缓存 Key 作为唯一组成部分，相等性与原缓存 Key 一致（表名由 SQL 解析得到，同一 SQL 表名相同）
+ *
+ * @see MybatisCacheInterceptor 生成
+ * @see L2MybatisCache 使用
+ *
+ * @author EastX
+ * @date 2026/10/19
+ */
+public class TableCacheKey extends CacheKey {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 查询涉及的表名集合
+     */
+    private final Set<String> tableNames;
+
+    public TableCacheKey(CacheKey cacheKey, Set<String> tableNames) {
+        this.tableNames = tableNames;
+        update(cacheKey);
+    }
+
+    public Set<String> getTableNames() {
+        return tableNames;
+    }
+
+}
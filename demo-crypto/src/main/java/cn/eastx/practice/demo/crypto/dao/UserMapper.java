@@ -3,6 +3,7 @@ package cn.eastx.practice.demo.crypto.dao;
 import cn.eastx.practice.demo.crypto.pojo.po.User;
 import cn.eastx.practice.demo.crypto.pojo.vo.UserVO;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.CacheNamespaceRef;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.ResultMap;
 import org.apache.ibatis.annotations.Select;
@@ -10,11 +11,13 @@ import org.springframework.stereotype.Repository;
 
 /**
  * 用户表 Dao 层接口
+ *  注解及 BaseMapper 方法通过 @CacheNamespaceRef 使用 XML 中配置的二级缓存
  *
  * @author EastX
  * @date 2022/11/11
  */
 @Repository
+@CacheNamespaceRef(UserMapper.class)
 public interface UserMapper extends BaseMapper<User> {
 
     /**
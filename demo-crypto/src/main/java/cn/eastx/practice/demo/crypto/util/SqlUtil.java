@@ -14,6 +14,7 @@ import net.sf.jsqlparser.parser.CCJSqlParserUtil;
 import net.sf.jsqlparser.schema.Table;
 import net.sf.jsqlparser.statement.Statement;
 import net.sf.jsqlparser.statement.delete.Delete;
+import net.sf.jsqlparser.statement.insert.Insert;
 import net.sf.jsqlparser.statement.select.*;
 import net.sf.jsqlparser.statement.update.Update;
 import net.sf.jsqlparser.statement.update.UpdateSet;
@@ -358,6 +359,9 @@ public class SqlUtil {
             } else if (statement instanceof Delete) {
                 Delete delete = (Delete) statement;
                 return listSqlTableName(delete.getTable(), delete.getJoins());
+            } else if (statement instanceof Insert) {
+                Insert insert = (Insert) statement;
+                return listSqlTableName(insert.getTable(), null);
             }
 
         } catch (JSQLParserException e) {
@@ -11,10 +11,12 @@ import net.sf.jsqlparser.statement.select.PlainSelect;
 import net.sf.jsqlparser.statement.select.Select;
 import net.sf.jsqlparser.statement.update.Update;
 import net.sf.jsqlparser.statement.update.UpdateSet;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * SQL 处理 相关工具类 测试
@@ -35,6 +37,21 @@ public class SqlUtilTest {
         test_log(sql);
     }
 
+    @Test
+    public void test_listSqlTableName() {
+        String[] sqls = {
+                "SELECT u.id, r.name FROM crypto_user u LEFT JOIN crypto_role r ON u.role_id = r.id WHERE u.id = ?",
+                "INSERT INTO crypto_user (name, phone) VALUES (?, ?)",
+                "UPDATE crypto_user SET name = ? WHERE id = ?",
+                "DELETE FROM crypto_user WHERE id = ?"
+        };
+        for (String sql : sqls) {
+            Set<String> tableNames = SqlUtil.listSqlTableName(sql);
+            log.debug("sql={}, tableNames={}", sql, tableNames);
+            Assertions.assertTrue(tableNames.contains("crypto_user"));
+        }
+    }
+
     /**
      * 测试打印
      *